@@ -0,0 +1,62 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.Random;
+
+/**
+ * Генерация платежных матриц для бенчмарков.
+ */
+final class BenchmarkMatrices {
+
+    /**
+     * Создать матрицу указанной формы и плотности. Одинаковые параметры дают одинаковые матрицы.
+     * @param shape Форма матрицы в виде "строкиxстолбцы", например "1000x1000".
+     * @param density Доля ненулевых элементов от 0 до 1.
+     * @return Матрица с ненулевыми элементами в диапазоне от -10 до 10.
+     */
+    static Matrix create(String shape, double density) {
+        String[] dimensions = shape.split("x");
+        int rowDimension = Integer.parseInt(dimensions[0]);
+        int columnDimension = Integer.parseInt(dimensions[1]);
+        Random random = new Random(SEED);
+        double[] elements = new double[rowDimension * columnDimension];
+        for(int k=0;k<elements.length;k++)
+        {
+            if(random.nextDouble()<density)
+            {
+                elements[k] = random.nextDouble()*20-10;
+            }
+        }
+        return new Matrix(elements, rowDimension);
+    }
+
+    /**
+     * Создать копию матрицы. Нужна там, где {@link Game} изменяет матрицу.
+     * @param matrix Матрица.
+     * @return Копия матрицы.
+     */
+    static Matrix copy(Matrix matrix) {
+        return matrix.subMatrix(range(matrix.getRowDimension()), range(matrix.getColumnDimension()));
+    }
+
+    /**
+     * Получить массив 0, 1, ..., length-1.
+     * @param length Длина массива.
+     * @return Массив номеров.
+     */
+    static int[] range(int length) {
+        int[] result = new int[length];
+        for(int k=0;k<length;k++)
+        {
+            result[k] = k;
+        }
+        return result;
+    }
+
+    private BenchmarkMatrices() {
+    }
+
+    /**
+     * Начальное значение генератора случайных чисел.
+     */
+    private static final long SEED = 20140208L;
+}
@@ -0,0 +1,29 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запуск бенчмарков с профилировщиком сборщика мусора, который добавляет к пропускной способности
+ * скорость выделения памяти (gc.alloc.rate и gc.alloc.rate.norm).
+ * Параметры командной строки JMH, например -p shape=1000x1000 или имя бенчмарка, передаются как есть.
+ * Сборка и запуск: mvn -f benchmarks/pom.xml package; java -jar benchmarks/target/benchmarks.jar
+ */
+public final class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    private BenchmarkRunner() {
+    }
+}
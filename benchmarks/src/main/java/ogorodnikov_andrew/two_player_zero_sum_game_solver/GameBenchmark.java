@@ -0,0 +1,87 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки предварительной обработки и решения игры целиком.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({"50x50", "300x300", "100x1000"})
+    public String shape;
+
+    @Param({"1.0", "0.05"})
+    public double density;
+
+    private Matrix matrix;
+    private Game game;
+
+    @Setup
+    public void setUp() {
+        matrix = BenchmarkMatrices.create(shape, density);
+        game = new Game(matrix);
+    }
+
+    /**
+     * Поиск седловой точки по сводке матрицы, вычисленной при первом вызове.
+     */
+    @Benchmark
+    public SaddlePoint getSaddlePoint() {
+        return game.getSaddlePoint();
+    }
+
+    /**
+     * Вычисление сводки матрицы за один проход без кэша.
+     */
+    @Benchmark
+    public MatrixSummary summarize() {
+        return matrix.getStorage().summarize();
+    }
+
+    /**
+     * Удаление доминируемых стратегий до неподвижной точки.
+     */
+    @Benchmark
+    public int[] dominanceReduction() {
+        DominanceReduction reduction = new DominanceReduction(matrix);
+        reduction.run();
+        return reduction.getActiveRowIndexes();
+    }
+
+    /**
+     * Решение игры целиком. Game изменяет матрицу, поэтому решается ее копия.
+     */
+    @Benchmark
+    public Result getIterationMethodResult(Iterations iterations) {
+        return new Game(BenchmarkMatrices.copy(matrix)).getIterationMethodResult(iterations.numberOfIterations);
+    }
+
+    /**
+     * Количество итераций решения. Отдельное состояние, чтобы параметр перебирался
+     * только для бенчмарка, который его использует.
+     */
+    @State(Scope.Thread)
+    public static class Iterations {
+
+        @Param({"1000", "10000"})
+        public int numberOfIterations;
+    }
+}
@@ -0,0 +1,99 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки одной итерации метода Брауна-Робинсон.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class IterationBenchmark {
+
+    @Param({"100x100", "1000x1000", "200x5000"})
+    public String shape;
+
+    @Param({"1.0", "0.05"})
+    public double density;
+
+    private Matrix matrix;
+    private double[] gains;
+    private double[] losses;
+    private Iteration iteration;
+
+    @Setup
+    public void setUp() {
+        matrix = BenchmarkMatrices.create(shape, density);
+        gains = new double[matrix.getColumnDimension()];
+        losses = new double[matrix.getRowDimension()];
+        iteration = new Iteration(1, matrix, 0, new double[matrix.getColumnDimension()], new double[matrix.getRowDimension()]);
+    }
+
+    /**
+     * Конструктор итерации, обновляющий переданные массивы на месте.
+     */
+    @Benchmark
+    public Iteration iterationConstructor() {
+        return new Iteration(1, matrix, iteration.getFirstPlayerStrategyIndex(), gains, losses);
+    }
+
+    /**
+     * Следующая итерация с копированием массивов выигрышей и проигрышей.
+     */
+    @Benchmark
+    public Iteration nextIteration() {
+        iteration = iteration.nextIteration();
+        return iteration;
+    }
+
+    /**
+     * Следующая итерация с обновлением состояния на месте выбранным ядром.
+     */
+    @Benchmark
+    public int iterationStateNext(KernelState kernelState) {
+        kernelState.state.next();
+        return kernelState.state.getNextIndex();
+    }
+
+    /**
+     * Состояние итерации с выбранным ядром. Отдельное состояние, чтобы ядро перебиралось
+     * только для бенчмарка, который его использует.
+     */
+    @State(Scope.Thread)
+    public static class KernelState {
+
+        @Param({"scalar", "parallel", "vector"})
+        public String kernel;
+
+        private IterationState state;
+
+        @Setup
+        public void setUp(IterationBenchmark benchmark) {
+            IterationKernel iterationKernel;
+            switch(kernel)
+            {
+                case "parallel": iterationKernel = IterationKernel.parallel(); break;
+                case "vector": iterationKernel = IterationKernel.vector(); break;
+                default: iterationKernel = IterationKernel.scalar();
+            }
+            Matrix matrix = benchmark.matrix;
+            state = new IterationState(matrix, 0, 0, new double[matrix.getColumnDimension()], new double[matrix.getRowDimension()],
+                    iterationKernel);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки доступа к элементам матрицы.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class MatrixBenchmark {
+
+    @Param({"100x100", "1000x1000", "200x5000"})
+    public String shape;
+
+    @Param({"1.0", "0.05"})
+    public double density;
+
+    private Matrix matrix;
+    private double[] rowAccumulator;
+    private double[] columnAccumulator;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        matrix = BenchmarkMatrices.create(shape, density);
+        rowAccumulator = new double[matrix.getColumnDimension()];
+        columnAccumulator = new double[matrix.getRowDimension()];
+    }
+
+    /**
+     * Полный обход матрицы поэлементным доступом.
+     */
+    @Benchmark
+    public double get() {
+        double sum = 0;
+        for(int i=0;i<matrix.getRowDimension();i++)
+        {
+            for(int j=0;j<matrix.getColumnDimension();j++)
+            {
+                sum += matrix.get(i, j);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double[] addRowTo() {
+        position = (position + 1) % matrix.getRowDimension();
+        matrix.addRowTo(position, rowAccumulator);
+        return rowAccumulator;
+    }
+
+    @Benchmark
+    public double[] addColumnTo() {
+        position = (position + 1) % matrix.getColumnDimension();
+        matrix.addColumnTo(position, columnAccumulator);
+        return columnAccumulator;
+    }
+}
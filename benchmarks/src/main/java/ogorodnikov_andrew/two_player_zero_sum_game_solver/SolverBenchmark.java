@@ -0,0 +1,67 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Время решения игры разными итеративными методами до заданного зазора двойственности.
+ * Количество итераций ограничено, поэтому медленный метод может не достичь точности:
+ * достигнутый зазор выводится в {@link Result#getDualityGap()} результата.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class SolverBenchmark {
+
+    @Param({"50x50", "300x300"})
+    public String shape;
+
+    @Param({"1.0", "0.05"})
+    public double density;
+
+    @Param({"brown-robinson", "regret-matching-plus", "hedge", "optimistic-mirror-descent"})
+    public String engine;
+
+    @Param({"0.01"})
+    public double epsilon;
+
+    @Param({"1000000"})
+    public int maxNumberOfIterations;
+
+    private Matrix matrix;
+
+    @Setup
+    public void setUp() {
+        matrix = BenchmarkMatrices.create(shape, density);
+    }
+
+    /**
+     * Решение игры целиком. Game изменяет матрицу, поэтому решается ее копия.
+     */
+    @Benchmark
+    public Result solve() {
+        Solver solver;
+        switch(engine)
+        {
+            case "regret-matching-plus": solver = new RegretMatchingPlusSolver(epsilon, maxNumberOfIterations); break;
+            case "hedge": solver = new HedgeSolver(epsilon, maxNumberOfIterations); break;
+            case "optimistic-mirror-descent": solver = new OptimisticMirrorDescentSolver(epsilon, maxNumberOfIterations); break;
+            default: solver = new IterativeSolver(epsilon, maxNumberOfIterations);
+        }
+        return new Game(BenchmarkMatrices.copy(matrix)).getResult(solver);
+    }
+}
@@ -0,0 +1,55 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Результат одной игры из пакета вместе с ее номером в пакете.
+ */
+public final class BatchResult {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Получить номер игры в пакете, начиная с нуля.
+     * @return Номер игры в пакете.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Получить результат игры.
+     * @return Результат игры.
+     */
+    public Result getResult() {
+        return result;
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор.
+     * @param index Номер игры в пакете.
+     * @param result Результат игры.
+     */
+    BatchResult(long index, Result result) {
+        this.index = index;
+        this.result = result;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Номер игры в пакете.
+     */
+    private final long index;
+
+    /**
+     * Результат игры.
+     */
+    private final Result result;
+}
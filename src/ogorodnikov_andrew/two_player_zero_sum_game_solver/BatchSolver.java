@@ -0,0 +1,206 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Параллельное решение пакета независимых игр.
+ * Каждая матрица решается отдельным объектом {@link Game} в пуле потоков с заданным уровнем параллелизма.
+ * Матрицы, как и в {@link Game}, изменяются в ходе решения.
+ * Одновременно решается не больше maxPendingGames игр, поэтому входной поток может быть сколь угодно длинным.
+ */
+public class BatchSolver implements AutoCloseable {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Конструктор.
+     * @param solverFactory Фабрика методов решения. Вызывается для каждой игры, поэтому методы могут хранить состояние.
+     * @param parallelism Количество потоков.
+     */
+    public BatchSolver(Supplier<? extends Solver> solverFactory, int parallelism) {
+        if(parallelism<1)
+        {
+            throw new IllegalArgumentException("Parallelism must be a positive number");
+        }
+        this.solverFactory = solverFactory;
+        this.maxPendingGames = parallelism * 4;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Конструктор с количеством потоков, равным количеству процессоров.
+     * @param solverFactory Фабрика методов решения.
+     */
+    public BatchSolver(Supplier<? extends Solver> solverFactory) {
+        this(solverFactory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Решить пакет игр и передать результаты в порядке следования матриц.
+     * Результаты передаются в вызывающем потоке по мере готовности.
+     * @param games Платежные матрицы.
+     * @param consumer Получатель результатов.
+     * @return Статистика решения пакета.
+     * @throws InterruptedException Поток был прерван во время ожидания результата.
+     */
+    public BatchStatistics solve(Iterable<Matrix> games, Consumer<? super Result> consumer) throws InterruptedException {
+        long start = System.nanoTime();
+        long numberOfGames = 0;
+        ArrayDeque<Future<Result>> pending = new ArrayDeque<Future<Result>>();
+        for(Matrix game : games)
+        {
+            pending.add(pool.submit(() -> solve(game)));
+            if(pending.size()>=maxPendingGames)
+            {
+                consumer.accept(await(pending.poll()));
+                numberOfGames++;
+            }
+        }
+        while(!pending.isEmpty())
+        {
+            consumer.accept(await(pending.poll()));
+            numberOfGames++;
+        }
+        return new BatchStatistics(numberOfGames, System.nanoTime() - start);
+    }
+
+    /**
+     * Решить поток игр и передать результаты в порядке следования матриц.
+     * @param games Поток платежных матриц.
+     * @param consumer Получатель результатов.
+     * @return Статистика решения пакета.
+     * @throws InterruptedException Поток был прерван во время ожидания результата.
+     */
+    public BatchStatistics solve(Stream<Matrix> games, Consumer<? super Result> consumer) throws InterruptedException {
+        Iterator<Matrix> iterator = games.iterator();
+        return solve(() -> iterator, consumer);
+    }
+
+    /**
+     * Решить пакет игр и передать результаты в порядке их готовности.
+     * Номер игры в пакете доступен через {@link BatchResult#getIndex()}.
+     * @param games Платежные матрицы.
+     * @param consumer Получатель результатов.
+     * @return Статистика решения пакета.
+     * @throws InterruptedException Поток был прерван во время ожидания результата.
+     */
+    public BatchStatistics solveInCompletionOrder(Iterable<Matrix> games, Consumer<? super BatchResult> consumer) throws InterruptedException {
+        long start = System.nanoTime();
+        long numberOfGames = 0;
+        CompletionService<BatchResult> completionService = new ExecutorCompletionService<BatchResult>(pool);
+        int pending = 0;
+        long index = 0;
+        for(Matrix game : games)
+        {
+            long gameIndex = index++;
+            completionService.submit(() -> new BatchResult(gameIndex, solve(game)));
+            pending++;
+            if(pending>=maxPendingGames)
+            {
+                consumer.accept(await(completionService.take()));
+                pending--;
+                numberOfGames++;
+            }
+        }
+        for(;pending>0;pending--)
+        {
+            consumer.accept(await(completionService.take()));
+            numberOfGames++;
+        }
+        return new BatchStatistics(numberOfGames, System.nanoTime() - start);
+    }
+
+    /**
+     * Решить поток игр и передать результаты в порядке их готовности.
+     * @param games Поток платежных матриц.
+     * @param consumer Получатель результатов.
+     * @return Статистика решения пакета.
+     * @throws InterruptedException Поток был прерван во время ожидания результата.
+     */
+    public BatchStatistics solveInCompletionOrder(Stream<Matrix> games, Consumer<? super BatchResult> consumer) throws InterruptedException {
+        Iterator<Matrix> iterator = games.iterator();
+        return solveInCompletionOrder(() -> iterator, consumer);
+    }
+
+    /**
+     * Получить количество потоков.
+     * @return Количество потоков.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Остановить пул потоков.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Решить одну игру.
+     * @param game Платежная матрица.
+     * @return Результат игры.
+     */
+    private Result solve(Matrix game) {
+        return new Game(game).getResult(solverFactory.get());
+    }
+
+    /**
+     * Дождаться результата задачи. Исключение, выброшенное при решении игры, пробрасывается дальше.
+     * @param future Задача.
+     * @param <T> Тип результата.
+     * @return Результат задачи.
+     * @throws InterruptedException Поток был прерван во время ожидания.
+     */
+    private static <T> T await(Future<T> future) throws InterruptedException {
+        try
+        {
+            return future.get();
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if(cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Фабрика методов решения.
+     */
+    private final Supplier<? extends Solver> solverFactory;
+
+    /**
+     * Максимальное количество одновременно решаемых игр.
+     */
+    private final int maxPendingGames;
+
+    /**
+     * Пул потоков.
+     */
+    private final ForkJoinPool pool;
+}
@@ -0,0 +1,76 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.text.DecimalFormat;
+
+/**
+ * Статистика решения пакета игр.
+ */
+public final class BatchStatistics {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Получить количество решенных игр.
+     * @return Количество решенных игр.
+     */
+    public long getNumberOfGames() {
+        return numberOfGames;
+    }
+
+    /**
+     * Получить время решения пакета в наносекундах.
+     * @return Время решения пакета в наносекундах.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Получить пропускную способность: количество игр, решенных за секунду.
+     * @return Количество игр в секунду.
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos > 0 ? numberOfGames * 1e9 / elapsedNanos : 0;
+    }
+
+    /**
+     * Преобразовать статистику в строку.
+     * @return Статистика в виде строки.
+     */
+    @Override
+    public String toString() {
+        DecimalFormat decimalFormat = new DecimalFormat("#0.0");
+        return numberOfGames + " games in " + decimalFormat.format(elapsedNanos / 1e6) + " ms ("
+                + decimalFormat.format(getGamesPerSecond()) + " games/s)";
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор.
+     * @param numberOfGames Количество решенных игр.
+     * @param elapsedNanos Время решения пакета в наносекундах.
+     */
+    BatchStatistics(long numberOfGames, long elapsedNanos) {
+        this.numberOfGames = numberOfGames;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Количество решенных игр.
+     */
+    private final long numberOfGames;
+
+    /**
+     * Время решения пакета в наносекундах.
+     */
+    private final long elapsedNanos;
+}
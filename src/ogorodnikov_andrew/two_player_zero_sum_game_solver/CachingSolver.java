@@ -0,0 +1,52 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Метод решения, который берет результаты из кэша {@link ResultCache} и решает указанным методом только новые игры.
+ * Например, game.getResult(new CachingSolver(new SimplexSolver(), cache)).
+ * {@link Game} передает методу матрицу после удаления доминируемых стратегий, поэтому в кэше хранятся результаты
+ * уже уменьшенных матриц. Настройки, которые {@link Game} задает итеративному методу (теплый старт, слушатель итераций),
+ * к обернутому методу не применяются.
+ */
+public class CachingSolver implements Solver {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Конструктор.
+     * @param solver Метод решения новых игр.
+     * @param cache Кэш результатов.
+     */
+    public CachingSolver(Solver solver, ResultCache cache) {
+        this.solver = solver;
+        this.cache = cache;
+    }
+
+    /**
+     * Получить кэш результатов.
+     * @return Кэш результатов.
+     */
+    public ResultCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public Result solve(Matrix payoffMatrix) {
+        return cache.solve(payoffMatrix, solver);
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Метод решения новых игр.
+     */
+    private final Solver solver;
+
+    /**
+     * Кэш результатов.
+     */
+    private final ResultCache cache;
+}
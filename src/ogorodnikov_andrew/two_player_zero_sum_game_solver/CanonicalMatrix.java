@@ -0,0 +1,271 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Каноническая форма платежной матрицы для кэша результатов {@link ResultCache}.
+ * Из элементов вычитается наименьший элемент (то же число, которое прибавляет {@link Game}), и они делятся
+ * на разность наибольшего и наименьшего элементов, поэтому матрицы, отличающиеся положительным множителем
+ * и прибавленным числом, имеют одинаковую форму. Затем строки и столбцы упорядочиваются по содержимому:
+ * сначала по отсортированным элементам, затем по элементам в уже найденном порядке столбцов или строк.
+ * Упорядочивание не гарантирует одинаковую форму для всех перестановок (для этого пришлось бы решать задачу
+ * изоморфизма), но не может дать совпадение разных матриц: совпадение форм проверяется поэлементно.
+ */
+final class CanonicalMatrix {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Построить каноническую форму матрицы.
+     * @param matrix Платежная матрица.
+     * @return Каноническая форма.
+     */
+    static CanonicalMatrix of(Matrix matrix) {
+        int rowDimension = matrix.getRowDimension();
+        int columnDimension = matrix.getColumnDimension();
+        MatrixSummary summary = matrix.getSummary();
+        double shift = summary.getMinElement();
+        double range = summary.getMaxElement() - shift;
+        double scale = range>0 ? range : 1;
+
+        double[][] rows = new double[rowDimension][];
+        double[][] columns = new double[columnDimension][rowDimension];
+        for(int i=0;i<rowDimension;i++)
+        {
+            double[] row = matrix.getRow(i);
+            for(int j=0;j<columnDimension;j++)
+            {
+                row[j] = (row[j] - shift) / scale;
+                columns[j][i] = row[j];
+            }
+            rows[i] = row;
+        }
+
+        //rows first by their sorted elements, which do not depend on the column order
+        Integer[] rowOrder = order(rows, sortedCopies(rows), null);
+        //then columns by their sorted elements and by their elements in that row order
+        Integer[] columnOrder = order(columns, sortedCopies(columns), rowOrder);
+        //and rows again in the found column order
+        rowOrder = order(rows, sortedCopies(rows), columnOrder);
+
+        double[] values = new double[rowDimension * columnDimension];
+        int k = 0;
+        for(int r=0;r<rowDimension;r++)
+        {
+            double[] row = rows[rowOrder[r]];
+            for(int s=0;s<columnDimension;s++)
+            {
+                values[k++] = row[columnOrder[s]];
+            }
+        }
+        return new CanonicalMatrix(rowDimension, columnDimension, unbox(rowOrder), unbox(columnOrder), shift, scale, values);
+    }
+
+    /**
+     * Проверить, совпадает ли каноническая форма с другой с точностью до ошибок округления нормализации.
+     * @param other Другая каноническая форма.
+     * @return true, если размеры совпадают и элементы отличаются не больше чем на {@link #TOLERANCE}.
+     */
+    boolean matches(CanonicalMatrix other) {
+        if(rowDimension!=other.rowDimension || columnDimension!=other.columnDimension)
+        {
+            return false;
+        }
+        for(int k=0;k<values.length;k++)
+        {
+            if(!(Math.abs(values[k] - other.values[k])<=TOLERANCE))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Получить хэш канонической формы. Элементы округляются, поэтому ошибки округления нормализации почти всегда
+     * не меняют хэш.
+     * @return Хэш.
+     */
+    long getHash() {
+        return hash;
+    }
+
+    /**
+     * Получить номера исходных строк в каноническом порядке.
+     * @return Массив, в котором r-й элемент - номер исходной строки, стоящей на r-м месте. Массив не копируется.
+     */
+    int[] getRowOrder() {
+        return rowOrder;
+    }
+
+    /**
+     * Получить номера исходных столбцов в каноническом порядке.
+     * @return Массив, в котором s-й элемент - номер исходного столбца, стоящего на s-м месте. Массив не копируется.
+     */
+    int[] getColumnOrder() {
+        return columnOrder;
+    }
+
+    /**
+     * Получить число, вычтенное из элементов.
+     * @return Наименьший элемент исходной матрицы.
+     */
+    double getShift() {
+        return shift;
+    }
+
+    /**
+     * Получить множитель, на который разделены элементы.
+     * @return Разность наибольшего и наименьшего элементов или 1 для постоянной матрицы.
+     */
+    double getScale() {
+        return scale;
+    }
+
+    /**
+     * Получить размер канонической формы в памяти.
+     * @return Приблизительный размер в байтах.
+     */
+    long getMemorySize() {
+        return (long) values.length * Double.BYTES + (long) (rowDimension + columnDimension) * Integer.BYTES;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Конструктор.
+     */
+    private CanonicalMatrix(int rowDimension, int columnDimension, int[] rowOrder, int[] columnOrder, double shift, double scale,
+                            double[] values) {
+        this.rowDimension = rowDimension;
+        this.columnDimension = columnDimension;
+        this.rowOrder = rowOrder;
+        this.columnOrder = columnOrder;
+        this.shift = shift;
+        this.scale = scale;
+        this.values = values;
+        long hash = 31L * rowDimension + columnDimension;
+        for(double value : values)
+        {
+            hash = hash * 1_000_003L + Math.round(value * HASH_QUANTUM);
+        }
+        this.hash = hash;
+    }
+
+    /**
+     * Упорядочить векторы по отсортированным элементам, а при равенстве - по элементам в указанном порядке.
+     * Сортировка устойчива, поэтому одинаковые векторы остаются в исходном порядке.
+     * @param vectors Векторы (строки или столбцы).
+     * @param sortedVectors Отсортированные копии векторов.
+     * @param order Порядок элементов векторов для второго сравнения или null.
+     * @return Номера векторов в найденном порядке.
+     */
+    private static Integer[] order(double[][] vectors, double[][] sortedVectors, Integer[] order) {
+        Integer[] indexes = new Integer[vectors.length];
+        for(int t=0;t<indexes.length;t++)
+        {
+            indexes[t] = t;
+        }
+        Comparator<Integer> comparator = (a, b) -> Arrays.compare(sortedVectors[a], sortedVectors[b]);
+        if(order!=null)
+        {
+            comparator = comparator.thenComparing((a, b) -> {
+                for(int index : order)
+                {
+                    int c = Double.compare(vectors[a][index], vectors[b][index]);
+                    if(c!=0)
+                    {
+                        return c;
+                    }
+                }
+                return 0;
+            });
+        }
+        Arrays.sort(indexes, comparator);
+        return indexes;
+    }
+
+    /**
+     * Получить отсортированные копии векторов.
+     * @param vectors Векторы.
+     * @return Отсортированные копии.
+     */
+    private static double[][] sortedCopies(double[][] vectors) {
+        double[][] sorted = new double[vectors.length][];
+        for(int t=0;t<vectors.length;t++)
+        {
+            sorted[t] = vectors[t].clone();
+            Arrays.sort(sorted[t]);
+        }
+        return sorted;
+    }
+
+    /**
+     * Преобразовать массив номеров в массив примитивов.
+     * @param indexes Номера.
+     * @return Массив номеров.
+     */
+    private static int[] unbox(Integer[] indexes) {
+        int[] result = new int[indexes.length];
+        for(int t=0;t<indexes.length;t++)
+        {
+            result[t] = indexes[t];
+        }
+        return result;
+    }
+
+    /**
+     * Допустимая разность нормализованных элементов совпадающих форм.
+     */
+    private static final double TOLERANCE = 1e-12;
+
+    /**
+     * Множитель нормализованных элементов перед округлением для хэша.
+     */
+    private static final double HASH_QUANTUM = 1 << 30;
+
+    /**
+     * Количество строк.
+     */
+    private final int rowDimension;
+
+    /**
+     * Количество столбцов.
+     */
+    private final int columnDimension;
+
+    /**
+     * Номера исходных строк в каноническом порядке.
+     */
+    private final int[] rowOrder;
+
+    /**
+     * Номера исходных столбцов в каноническом порядке.
+     */
+    private final int[] columnOrder;
+
+    /**
+     * Число, вычтенное из элементов.
+     */
+    private final double shift;
+
+    /**
+     * Множитель, на который разделены элементы.
+     */
+    private final double scale;
+
+    /**
+     * Нормализованные элементы в каноническом порядке построчно.
+     */
+    private final double[] values;
+
+    /**
+     * Хэш.
+     */
+    private final long hash;
+}
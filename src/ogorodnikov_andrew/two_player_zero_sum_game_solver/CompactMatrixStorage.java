@@ -0,0 +1,294 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Хранилище элементов в куче в компактном виде: числа одинарной точности или целые числа с множителем
+ * (см. {@link MatrixFile.ElementType}). Элементы записаны построчно в одном массиве нужного типа
+ * и преобразуются в числа двойной точности при чтении, поэтому накопленные массивы итерации остаются точными,
+ * а проходы по строкам и столбцам читают в 2-4 раза меньше памяти.
+ * Число, добавленное к элементам, хранится отдельно и прибавляется при чтении.
+ */
+final class CompactMatrixStorage extends MatrixStorage {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Создать компактное хранилище из строк другой матрицы.
+     * @param source Исходная матрица.
+     * @param elementType Тип элементов. Для целых типов множитель подбирается по элементам.
+     * @return Хранилище.
+     */
+    static CompactMatrixStorage of(Matrix source, MatrixFile.ElementType elementType)
+    {
+        int rowDimension = source.getRowDimension();
+        int columnDimension = source.getColumnDimension();
+        double scale = elementType.chooseScale(rowDimension, source::getRow);
+        CompactMatrixStorage storage = new CompactMatrixStorage(elementType, scale, rowDimension, columnDimension);
+        for(int i=0;i<rowDimension;i++)
+        {
+            double[] row = source.getRow(i);
+            for(int j=0;j<columnDimension;j++)
+            {
+                storage.set(i * columnDimension + j, row[j]);
+            }
+        }
+        return storage;
+    }
+
+    @Override
+    int getRowDimension()
+    {
+        return rowDimension;
+    }
+
+    @Override
+    int getColumnDimension()
+    {
+        return columnDimension;
+    }
+
+    @Override
+    double get(int rowPosition, int columnPosition)
+    {
+        return read(rowPosition * columnDimension + columnPosition) + shift;
+    }
+
+    @Override
+    void addRowTo(int rowPosition, double[] target, int from, int to)
+    {
+        int offset = rowPosition * columnDimension;
+        //the type is checked once per row, so the loops stay simple enough to be vectorized
+        switch(elementType)
+        {
+            case FLOAT:
+                for(int j=from;j<to;j++)
+                {
+                    target[j] += floats[offset + j] + shift;
+                }
+                break;
+            case INT:
+                for(int j=from;j<to;j++)
+                {
+                    target[j] += ints[offset + j] * scale + shift;
+                }
+                break;
+            default:
+                for(int j=from;j<to;j++)
+                {
+                    target[j] += shorts[offset + j] * scale + shift;
+                }
+        }
+    }
+
+    @Override
+    void addColumnTo(int columnPosition, double[] target, int from, int to)
+    {
+        int k = from * columnDimension + columnPosition;
+        switch(elementType)
+        {
+            case FLOAT:
+                for(int i=from;i<to;i++, k+=columnDimension)
+                {
+                    target[i] += floats[k] + shift;
+                }
+                break;
+            case INT:
+                for(int i=from;i<to;i++, k+=columnDimension)
+                {
+                    target[i] += ints[k] * scale + shift;
+                }
+                break;
+            default:
+                for(int i=from;i<to;i++, k+=columnDimension)
+                {
+                    target[i] += shorts[k] * scale + shift;
+                }
+        }
+    }
+
+    @Override
+    void copyRowTo(int rowPosition, double[] target)
+    {
+        int offset = rowPosition * columnDimension;
+        switch(elementType)
+        {
+            case FLOAT:
+                for(int j=0;j<columnDimension;j++)
+                {
+                    target[j] = floats[offset + j] + shift;
+                }
+                break;
+            case INT:
+                for(int j=0;j<columnDimension;j++)
+                {
+                    target[j] = ints[offset + j] * scale + shift;
+                }
+                break;
+            default:
+                for(int j=0;j<columnDimension;j++)
+                {
+                    target[j] = shorts[offset + j] * scale + shift;
+                }
+        }
+    }
+
+    @Override
+    long getMemorySize()
+    {
+        return (long) rowDimension * columnDimension * elementType.getSize();
+    }
+
+    @Override
+    void addConstValue(double value)
+    {
+        shift += value;
+    }
+
+    @Override
+    MatrixStorage removeRow(int rowPosition)
+    {
+        return subStorage(rangeWithout(rowDimension, rowPosition), rangeWithout(columnDimension, -1));
+    }
+
+    @Override
+    MatrixStorage removeColumn(int columnPosition)
+    {
+        return subStorage(rangeWithout(rowDimension, -1), rangeWithout(columnDimension, columnPosition));
+    }
+
+    /**
+     * Получить хранилище из указанных строк и столбцов того же типа с тем же множителем и добавленным числом.
+     */
+    @Override
+    MatrixStorage subStorage(int[] rowPositions, int[] columnPositions)
+    {
+        CompactMatrixStorage storage = new CompactMatrixStorage(elementType, scale, rowPositions.length, columnPositions.length);
+        storage.shift = shift;
+        int k = 0;
+        for(int i : rowPositions)
+        {
+            int offset = i * columnDimension;
+            for(int j : columnPositions)
+            {
+                switch(elementType)
+                {
+                    case FLOAT:
+                        storage.floats[k++] = floats[offset + j];
+                        break;
+                    case INT:
+                        storage.ints[k++] = ints[offset + j];
+                        break;
+                    default:
+                        storage.shorts[k++] = shorts[offset + j];
+                }
+            }
+        }
+        return storage;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Конструктор пустого хранилища.
+     * @param elementType Тип элементов.
+     * @param scale Множитель элементов целого типа.
+     * @param rowDimension Количество строк.
+     * @param columnDimension Количество столбцов.
+     */
+    private CompactMatrixStorage(MatrixFile.ElementType elementType, double scale, int rowDimension, int columnDimension)
+    {
+        if(elementType==MatrixFile.ElementType.DOUBLE)
+        {
+            throw new IllegalArgumentException("Compact storage does not hold double elements.");
+        }
+        int size = Math.multiplyExact(rowDimension, columnDimension);
+        this.elementType = elementType;
+        this.scale = scale;
+        this.rowDimension = rowDimension;
+        this.columnDimension = columnDimension;
+        this.floats = elementType==MatrixFile.ElementType.FLOAT ? new float[size] : null;
+        this.ints = elementType==MatrixFile.ElementType.INT ? new int[size] : null;
+        this.shorts = elementType==MatrixFile.ElementType.SHORT ? new short[size] : null;
+    }
+
+    /**
+     * Прочитать элемент без добавленного числа.
+     * @param index Номер элемента в построчной записи.
+     * @return Элемент.
+     */
+    private double read(int index)
+    {
+        switch(elementType)
+        {
+            case FLOAT:
+                return floats[index];
+            case INT:
+                return ints[index] * scale;
+            default:
+                return shorts[index] * scale;
+        }
+    }
+
+    /**
+     * Записать элемент.
+     * @param index Номер элемента в построчной записи.
+     * @param element Элемент.
+     */
+    private void set(int index, double element)
+    {
+        switch(elementType)
+        {
+            case FLOAT:
+                floats[index] = (float) element;
+                break;
+            case INT:
+                ints[index] = elementType.quantize(element, scale);
+                break;
+            default:
+                shorts[index] = (short) elementType.quantize(element, scale);
+        }
+    }
+
+    /**
+     * Тип элементов.
+     */
+    private final MatrixFile.ElementType elementType;
+
+    /**
+     * Множитель элементов целого типа.
+     */
+    private final double scale;
+
+    /**
+     * Количество строк.
+     */
+    private final int rowDimension;
+
+    /**
+     * Количество столбцов.
+     */
+    private final int columnDimension;
+
+    /**
+     * Элементы одинарной точности или null.
+     */
+    private final float[] floats;
+
+    /**
+     * Целые элементы типа int или null.
+     */
+    private final int[] ints;
+
+    /**
+     * Целые элементы типа short или null.
+     */
+    private final short[] shorts;
+
+    /**
+     * Число, добавляемое к элементам при чтении.
+     */
+    private double shift;
+}
@@ -0,0 +1,208 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.Arrays;
+
+/**
+ * Хранилище элементов в куче: элементы записаны построчно в одном непрерывном массиве.
+ * Удаление строк и столбцов сдвигает элементы в том же массиве.
+ */
+final class DenseMatrixStorage extends MatrixStorage {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор хранилища. Массив не копируется.
+     * @param elements Элементы, записанные построчно.
+     * @param rowDimension Количество строк.
+     * @param columnDimension Количество столбцов.
+     */
+    DenseMatrixStorage(double[] elements, int rowDimension, int columnDimension)
+    {
+        this.elements = elements;
+        this.rowDimension = rowDimension;
+        this.columnDimension = columnDimension;
+    }
+
+    @Override
+    int getRowDimension()
+    {
+        return rowDimension;
+    }
+
+    @Override
+    int getColumnDimension()
+    {
+        return columnDimension;
+    }
+
+    @Override
+    double get(int rowPosition, int columnPosition)
+    {
+        return elements[rowPosition * columnDimension + columnPosition];
+    }
+
+    @Override
+    void addRowTo(int rowPosition, double[] target, int from, int to)
+    {
+        int offset = rowPosition * columnDimension;
+        for(int j=from;j<to;j++)
+        {
+            target[j] += elements[offset + j];
+        }
+    }
+
+    @Override
+    void addColumnTo(int columnPosition, double[] target, int from, int to)
+    {
+        for(int i=from, k=from*columnDimension+columnPosition;i<to;i++, k+=columnDimension)
+        {
+            target[i] += elements[k];
+        }
+    }
+
+    @Override
+    void copyRowTo(int rowPosition, double[] target)
+    {
+        System.arraycopy(elements, rowPosition * columnDimension, target, 0, columnDimension);
+    }
+
+    @Override
+    void summarizeRows(int from, int to, double[] rowMinima, double[] columnMaxima)
+    {
+        System.arraycopy(elements, from * columnDimension, columnMaxima, 0, columnDimension);
+        for(int i=from;i<to;i++)
+        {
+            int offset = i * columnDimension;
+            double min = elements[offset];
+            for(int j=0;j<columnDimension;j++)
+            {
+                double element = elements[offset + j];
+                if(element<min)
+                {
+                    min = element;
+                }
+                if(element>columnMaxima[j])
+                {
+                    columnMaxima[j] = element;
+                }
+            }
+            rowMinima[i] = min;
+        }
+    }
+
+    @Override
+    void multiplyLeft(double[] vector, double[] target)
+    {
+        Arrays.fill(target, 0);
+        for(int i=0;i<rowDimension;i++)
+        {
+            double weight = vector[i];
+            if(weight!=0)
+            {
+                int offset = i * columnDimension;
+                for(int j=0;j<columnDimension;j++)
+                {
+                    target[j] += weight * elements[offset + j];
+                }
+            }
+        }
+    }
+
+    @Override
+    void multiplyRight(double[] vector, double[] target)
+    {
+        for(int i=0;i<rowDimension;i++)
+        {
+            int offset = i * columnDimension;
+            double sum = 0;
+            for(int j=0;j<columnDimension;j++)
+            {
+                sum += elements[offset + j] * vector[j];
+            }
+            target[i] = sum;
+        }
+    }
+
+    @Override
+    long getMemorySize()
+    {
+        return (long) elements.length * Double.BYTES;
+    }
+
+    @Override
+    void addConstValue(double value)
+    {
+        int size = rowDimension * columnDimension;
+        for(int k=0;k<size;k++) {
+            elements[k] += value;
+        }
+    }
+
+    @Override
+    MatrixStorage removeRow(int rowPosition)
+    {
+        int from = (rowPosition + 1) * columnDimension;
+        System.arraycopy(elements, from, elements, rowPosition * columnDimension, rowDimension * columnDimension - from);
+        rowDimension--;
+        return this;
+    }
+
+    @Override
+    MatrixStorage removeColumn(int columnPosition)
+    {
+        int newColumnDimension = columnDimension - 1;
+        //Сдвигаем элементы за один проход, пропуская удаляемый столбец в каждой строке
+        for(int i=0;i<rowDimension;i++)
+        {
+            int source = i * columnDimension;
+            int destination = i * newColumnDimension;
+            System.arraycopy(elements, source, elements, destination, columnPosition);
+            System.arraycopy(elements, source + columnPosition + 1, elements, destination + columnPosition, newColumnDimension - columnPosition);
+        }
+        columnDimension = newColumnDimension;
+        return this;
+    }
+
+    @Override
+    MatrixStorage subStorage(int[] rowPositions, int[] columnPositions)
+    {
+        double[] subElements = new double[rowPositions.length * columnPositions.length];
+        int k = 0;
+        for(int i : rowPositions)
+        {
+            int offset = i * columnDimension;
+            for(int j : columnPositions)
+            {
+                subElements[k++] = elements[offset + j];
+            }
+        }
+        return new DenseMatrixStorage(subElements, rowPositions.length, columnPositions.length);
+    }
+
+    @Override
+    double[] getElements()
+    {
+        return elements;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Элементы матрицы, записанные построчно: элемент (i,j) находится по индексу i*columnDimension+j.
+     */
+    private final double[] elements;
+
+    /**
+     * Количество строк.
+     */
+    private int rowDimension;
+
+    /**
+     * Количество столбцов.
+     */
+    private int columnDimension;
+}
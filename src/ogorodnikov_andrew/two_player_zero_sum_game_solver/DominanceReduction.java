@@ -0,0 +1,722 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Удаление доминируемых стратегий до неподвижной точки.
+ * Строка i доминируется строкой k, если a(i,j) &lt;= a(k,j) во всех оставшихся столбцах и хотя бы в одном строго.
+ * Столбец j доминируется столбцом k, если a(i,j) &gt;= a(i,k) во всех оставшихся строках и хотя бы в одной строго.
+ * Матрица не изменяется: оставшиеся строки и столбцы хранятся в битовых множествах.
+ * После удаления части столбцов проверяются только те пары строк, которым мешал доминировать удаленный столбец,
+ * и наоборот. Все строки, доминируемые за один проход, удаляются одновременно: доминирование - строгий частичный
+ * порядок, поэтому у каждой из них остается доминирующая строка.
+ * Для разреженной матрицы пары сравниваются только по ненулевым элементам, а доминирующими кандидатами
+ * строки считаются только строки с ненулевым элементом в столбце, где у нее положительный элемент (и наоборот для столбцов).
+ * Если положительных элементов у строки нет, кандидаты - строки, все отрицательные элементы которых лежат в ненулевых
+ * столбцах проверяемой строки: они находятся подсчетом по столбцам строки, а неотрицательные строки представлены двумя строками.
+ * Поэтому стоимость проверки пропорциональна количеству ненулевых элементов, а не квадрату размера матрицы.
+ * Добавленное к разреженной матрице число на доминирование не влияет и при сравнении не учитывается.
+ */
+final class DominanceReduction {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор.
+     * @param payoffMatrix Платежная матрица.
+     */
+    DominanceReduction(Matrix payoffMatrix) {
+        this.payoffMatrix = payoffMatrix;
+        MatrixStorage storage = payoffMatrix.getStorage();
+        this.sparseStorage = storage instanceof SparseMatrixStorage ? (SparseMatrixStorage) storage : null;
+        this.activeRows = new BitSet(payoffMatrix.getRowDimension());
+        this.activeColumns = new BitSet(payoffMatrix.getColumnDimension());
+        activeRows.set(0, payoffMatrix.getRowDimension());
+        activeColumns.set(0, payoffMatrix.getColumnDimension());
+    }
+
+    /**
+     * Удалять доминируемые строки и столбцы, пока они есть.
+     */
+    void run() {
+        run(null);
+    }
+
+    /**
+     * Удалять доминируемые строки и столбцы, пока они есть или пока не истечет срок.
+     * После истечения срока строки и столбцы больше не проверяются. Удаленной может оказаться только часть
+     * доминируемых строк, но недоминируемые строки не удаляются никогда, поэтому у каждой удаленной строки
+     * остается доминирующая, и цена игры не меняется.
+     * @param deadline Срок решения или null.
+     */
+    void run(SolveDeadline deadline) {
+        this.deadline = deadline;
+        //the first pass checks every pair
+        int[] removedRows = removeDominatedRows(null);
+        int[] removedColumns = removeDominatedColumns(null);
+        while(removedColumns.length>0 && !isExpired())
+        {
+            removedRows = removeDominatedRows(removedColumns);
+            removedColumns = removeDominatedColumns(removedRows);
+        }
+    }
+
+    /**
+     * Получить номера оставшихся строк по возрастанию.
+     * @return Номера оставшихся строк.
+     */
+    int[] getActiveRowIndexes() {
+        return activeRows.stream().toArray();
+    }
+
+    /**
+     * Получить номера оставшихся столбцов по возрастанию.
+     * @return Номера оставшихся столбцов.
+     */
+    int[] getActiveColumnIndexes() {
+        return activeColumns.stream().toArray();
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Проверить, истек ли срок решения.
+     * @return true, если срок задан и истек.
+     */
+    private boolean isExpired() {
+        return deadline!=null && deadline.isExpired();
+    }
+
+    /**
+     * Удалить строки, доминируемые другими оставшимися строками.
+     * @param removedColumns Столбцы, удаленные на предыдущем шаге. Если null, проверяются все пары строк.
+     * @return Номера удаленных строк.
+     */
+    private int[] removeDominatedRows(int[] removedColumns) {
+        if(removedColumns!=null && removedColumns.length==0)
+        {
+            return new int[0];
+        }
+        int[] rows = getActiveRowIndexes();
+        int[] columns = getActiveColumnIndexes();
+        if(sparseStorage!=null)
+        {
+            countRowSigns(rows);
+        }
+        boolean[] dominated = new boolean[rows.length];
+        IntStream candidates = IntStream.range(0, rows.length);
+        if((long) rows.length * rows.length * columns.length>=PARALLEL_THRESHOLD)
+        {
+            candidates = candidates.parallel();
+        }
+        candidates.forEach(t -> {
+            if(isExpired())
+            {
+                return;
+            }
+            int i = rows[t];
+            for(int k : sparseStorage!=null ? dominatingRowCandidates(i) : rows)
+            {
+                if(k!=i && (removedColumns==null || isRowPairAffected(i, k, removedColumns)) && isRowDominated(i, k, columns))
+                {
+                    dominated[t] = true;
+                    return;
+                }
+            }
+        });
+        return remove(activeRows, rows, dominated);
+    }
+
+    /**
+     * Удалить столбцы, доминируемые другими оставшимися столбцами.
+     * @param removedRows Строки, удаленные на предыдущем шаге. Если null, проверяются все пары столбцов.
+     * @return Номера удаленных столбцов.
+     */
+    private int[] removeDominatedColumns(int[] removedRows) {
+        if(removedRows!=null && removedRows.length==0)
+        {
+            return new int[0];
+        }
+        int[] rows = getActiveRowIndexes();
+        int[] columns = getActiveColumnIndexes();
+        if(sparseStorage!=null)
+        {
+            countColumnSigns(columns);
+        }
+        boolean[] dominated = new boolean[columns.length];
+        IntStream candidates = IntStream.range(0, columns.length);
+        if((long) columns.length * columns.length * rows.length>=PARALLEL_THRESHOLD)
+        {
+            candidates = candidates.parallel();
+        }
+        candidates.forEach(t -> {
+            if(isExpired())
+            {
+                return;
+            }
+            int j = columns[t];
+            for(int k : sparseStorage!=null ? dominatingColumnCandidates(j) : columns)
+            {
+                if(k!=j && (removedRows==null || isColumnPairAffected(j, k, removedRows)) && isColumnDominated(j, k, rows))
+                {
+                    dominated[t] = true;
+                    return;
+                }
+            }
+        });
+        return remove(activeColumns, columns, dominated);
+    }
+
+    /**
+     * Проверить, доминируется ли строка i строкой k на указанных столбцах.
+     * @param i Проверяемая строка.
+     * @param k Доминирующая строка.
+     * @param columns Оставшиеся столбцы.
+     * @return true, если строка i доминируется строкой k.
+     */
+    private boolean isRowDominated(int i, int k, int[] columns) {
+        if(sparseStorage!=null)
+        {
+            return isRowDominatedSparse(i, k);
+        }
+        boolean strict = false;
+        for(int j : columns)
+        {
+            double a = payoffMatrix.get(i, j);
+            double b = payoffMatrix.get(k, j);
+            if(a>b)
+            {
+                return false;
+            }
+            if(a<b)
+            {
+                strict = true;
+            }
+        }
+        return strict;
+    }
+
+    /**
+     * Проверить, доминируется ли столбец j столбцом k на указанных строках.
+     * @param j Проверяемый столбец.
+     * @param k Доминирующий столбец.
+     * @param rows Оставшиеся строки.
+     * @return true, если столбец j доминируется столбцом k.
+     */
+    private boolean isColumnDominated(int j, int k, int[] rows) {
+        if(sparseStorage!=null)
+        {
+            return isColumnDominatedSparse(j, k);
+        }
+        boolean strict = false;
+        for(int i : rows)
+        {
+            double a = payoffMatrix.get(i, j);
+            double b = payoffMatrix.get(i, k);
+            if(a<b)
+            {
+                return false;
+            }
+            if(a>b)
+            {
+                strict = true;
+            }
+        }
+        return strict;
+    }
+
+    /**
+     * Проверить, мешал ли один из удаленных столбцов строке k доминировать строку i.
+     * @param i Проверяемая строка.
+     * @param k Доминирующая строка.
+     * @param removedColumns Удаленные столбцы.
+     * @return true, если пару нужно проверить заново.
+     */
+    private boolean isRowPairAffected(int i, int k, int[] removedColumns) {
+        for(int j : removedColumns)
+        {
+            if(element(i, j)>element(k, j))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверить, мешала ли одна из удаленных строк столбцу k доминировать столбец j.
+     * @param j Проверяемый столбец.
+     * @param k Доминирующий столбец.
+     * @param removedRows Удаленные строки.
+     * @return true, если пару нужно проверить заново.
+     */
+    private boolean isColumnPairAffected(int j, int k, int[] removedRows) {
+        for(int i : removedRows)
+        {
+            if(element(i, j)<element(i, k))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Получить элемент матрицы для сравнения. Для разреженной матрицы - без добавленного числа.
+     * @param i Номер строки.
+     * @param j Номер столбца.
+     * @return Элемент.
+     */
+    private double element(int i, int j) {
+        return sparseStorage!=null ? sparseStorage.getWithoutShift(i, j) : payoffMatrix.get(i, j);
+    }
+
+    /**
+     * Получить строки разреженной матрицы, которые могут доминировать строку i.
+     * Если у строки i есть положительный элемент в оставшемся столбце, доминирующая строка обязана иметь
+     * в этом столбце ненулевой элемент, поэтому кандидаты берутся из самого короткого такого столбца.
+     * Иначе кандидаты выбираются по ненулевым столбцам строки (см. {@link #dominatingRowCandidatesBySupport(int)}).
+     * @param i Проверяемая строка.
+     * @return Номера оставшихся строк-кандидатов.
+     */
+    private int[] dominatingRowCandidates(int i) {
+        int[] rowPointers = sparseStorage.getRowPointers();
+        int[] columnIndexes = sparseStorage.getColumnIndexes();
+        double[] rowValues = sparseStorage.getRowValues();
+        int[] columnPointers = sparseStorage.getColumnPointers();
+        int best = -1;
+        for(int k=rowPointers[i];k<rowPointers[i + 1];k++)
+        {
+            int j = columnIndexes[k];
+            if(rowValues[k]>0 && activeColumns.get(j)
+                    && (best<0 || columnPointers[j + 1] - columnPointers[j]<columnPointers[best + 1] - columnPointers[best]))
+            {
+                best = j;
+            }
+        }
+        if(best<0)
+        {
+            return dominatingRowCandidatesBySupport(i);
+        }
+        return Arrays.stream(sparseStorage.getRowIndexes(), columnPointers[best], columnPointers[best + 1]).filter(activeRows::get).toArray();
+    }
+
+    /**
+     * Получить столбцы разреженной матрицы, которые могут доминировать столбец j.
+     * Если у столбца j есть отрицательный элемент в оставшейся строке, доминирующий столбец обязан иметь
+     * в этой строке ненулевой элемент, поэтому кандидаты берутся из самой короткой такой строки.
+     * Иначе кандидаты выбираются по ненулевым строкам столбца (см. {@link #dominatingColumnCandidatesBySupport(int)}).
+     * @param j Проверяемый столбец.
+     * @return Номера оставшихся столбцов-кандидатов.
+     */
+    private int[] dominatingColumnCandidates(int j) {
+        int[] columnPointers = sparseStorage.getColumnPointers();
+        int[] rowIndexes = sparseStorage.getRowIndexes();
+        double[] columnValues = sparseStorage.getColumnValues();
+        int[] rowPointers = sparseStorage.getRowPointers();
+        int best = -1;
+        for(int k=columnPointers[j];k<columnPointers[j + 1];k++)
+        {
+            int i = rowIndexes[k];
+            if(columnValues[k]<0 && activeRows.get(i)
+                    && (best<0 || rowPointers[i + 1] - rowPointers[i]<rowPointers[best + 1] - rowPointers[best]))
+            {
+                best = i;
+            }
+        }
+        if(best<0)
+        {
+            return dominatingColumnCandidatesBySupport(j);
+        }
+        return Arrays.stream(sparseStorage.getColumnIndexes(), rowPointers[best], rowPointers[best + 1]).filter(activeColumns::get).toArray();
+    }
+
+    /**
+     * Получить строки, которые могут доминировать строку i без положительных элементов в оставшихся столбцах.
+     * Вне ненулевых столбцов строки i ее элементы равны нулю, поэтому у доминирующей строки там нет отрицательных элементов.
+     * Строки с отрицательными элементами находятся подсчетом: строка - кандидат, если все ее отрицательные элементы
+     * встретились в ненулевых столбцах строки i. Неотрицательную строку доминирует любая неотрицательная строка,
+     * если у строки i есть отрицательный элемент, или любая неотрицательная строка с положительным элементом,
+     * поэтому из неотрицательных строк достаточно двух представителей.
+     * @param i Проверяемая строка.
+     * @return Номера оставшихся строк-кандидатов.
+     */
+    private int[] dominatingRowCandidatesBySupport(int i) {
+        int[] rowPointers = sparseStorage.getRowPointers();
+        int[] columnIndexes = sparseStorage.getColumnIndexes();
+        int[] columnPointers = sparseStorage.getColumnPointers();
+        int[] rowIndexes = sparseStorage.getRowIndexes();
+        double[] columnValues = sparseStorage.getColumnValues();
+        int length = 0;
+        for(int k=rowPointers[i];k<rowPointers[i + 1];k++)
+        {
+            int j = columnIndexes[k];
+            if(activeColumns.get(j))
+            {
+                length += columnPointers[j + 1] - columnPointers[j];
+            }
+        }
+        int[] hits = new int[length];
+        int count = 0;
+        for(int k=rowPointers[i];k<rowPointers[i + 1];k++)
+        {
+            int j = columnIndexes[k];
+            if(activeColumns.get(j))
+            {
+                for(int t=columnPointers[j];t<columnPointers[j + 1];t++)
+                {
+                    if(columnValues[t]<0 && activeRows.get(rowIndexes[t]))
+                    {
+                        hits[count++] = rowIndexes[t];
+                    }
+                }
+            }
+        }
+        return collectCandidates(hits, count, rowNegativeCounts, nonNegativeRow, nonNegativeRowWithPositive);
+    }
+
+    /**
+     * Получить столбцы, которые могут доминировать столбец j без отрицательных элементов в оставшихся строках.
+     * Вне ненулевых строк столбца j его элементы равны нулю, поэтому у доминирующего столбца там нет положительных элементов.
+     * Столбцы с положительными элементами находятся подсчетом, а из неположительных столбцов достаточно двух представителей
+     * (см. {@link #dominatingRowCandidatesBySupport(int)}).
+     * @param j Проверяемый столбец.
+     * @return Номера оставшихся столбцов-кандидатов.
+     */
+    private int[] dominatingColumnCandidatesBySupport(int j) {
+        int[] columnPointers = sparseStorage.getColumnPointers();
+        int[] rowIndexes = sparseStorage.getRowIndexes();
+        int[] rowPointers = sparseStorage.getRowPointers();
+        int[] columnIndexes = sparseStorage.getColumnIndexes();
+        double[] rowValues = sparseStorage.getRowValues();
+        int length = 0;
+        for(int k=columnPointers[j];k<columnPointers[j + 1];k++)
+        {
+            int i = rowIndexes[k];
+            if(activeRows.get(i))
+            {
+                length += rowPointers[i + 1] - rowPointers[i];
+            }
+        }
+        int[] hits = new int[length];
+        int count = 0;
+        for(int k=columnPointers[j];k<columnPointers[j + 1];k++)
+        {
+            int i = rowIndexes[k];
+            if(activeRows.get(i))
+            {
+                for(int t=rowPointers[i];t<rowPointers[i + 1];t++)
+                {
+                    if(rowValues[t]>0 && activeColumns.get(columnIndexes[t]))
+                    {
+                        hits[count++] = columnIndexes[t];
+                    }
+                }
+            }
+        }
+        return collectCandidates(hits, count, columnPositiveCounts, nonPositiveColumn, nonPositiveColumnWithNegative);
+    }
+
+    /**
+     * Отобрать номера, которые встретились столько раз, сколько у них элементов нужного знака, и добавить представителей.
+     * @param hits Встреченные номера.
+     * @param count Количество встреченных номеров.
+     * @param signCounts Количества элементов нужного знака по номерам.
+     * @param representative Представитель векторов без элементов нужного знака или -1.
+     * @param strictRepresentative Такой представитель с ненулевым элементом или -1.
+     * @return Номера кандидатов.
+     */
+    private static int[] collectCandidates(int[] hits, int count, int[] signCounts, int representative, int strictRepresentative) {
+        Arrays.sort(hits, 0, count);
+        int[] candidates = new int[count + 2];
+        int size = 0;
+        for(int s=0;s<count;)
+        {
+            int t = s;
+            while(t<count && hits[t]==hits[s])
+            {
+                t++;
+            }
+            if(t - s==signCounts[hits[s]])
+            {
+                candidates[size++] = hits[s];
+            }
+            s = t;
+        }
+        if(representative>=0)
+        {
+            candidates[size++] = representative;
+        }
+        if(strictRepresentative>=0 && strictRepresentative!=representative)
+        {
+            candidates[size++] = strictRepresentative;
+        }
+        return Arrays.copyOf(candidates, size);
+    }
+
+    /**
+     * Подсчитать отрицательные элементы оставшихся строк в оставшихся столбцах и выбрать представителей неотрицательных строк.
+     * @param rows Оставшиеся строки.
+     */
+    private void countRowSigns(int[] rows) {
+        int[] columnPointers = sparseStorage.getColumnPointers();
+        int[] rowIndexes = sparseStorage.getRowIndexes();
+        double[] columnValues = sparseStorage.getColumnValues();
+        int[] negativeCounts = new int[payoffMatrix.getRowDimension()];
+        boolean[] hasPositive = new boolean[payoffMatrix.getRowDimension()];
+        for(int j=activeColumns.nextSetBit(0);j>=0;j=activeColumns.nextSetBit(j + 1))
+        {
+            for(int t=columnPointers[j];t<columnPointers[j + 1];t++)
+            {
+                if(columnValues[t]<0)
+                {
+                    negativeCounts[rowIndexes[t]]++;
+                }
+                else if(columnValues[t]>0)
+                {
+                    hasPositive[rowIndexes[t]] = true;
+                }
+            }
+        }
+        rowNegativeCounts = negativeCounts;
+        nonNegativeRow = -1;
+        nonNegativeRowWithPositive = -1;
+        for(int i : rows)
+        {
+            if(negativeCounts[i]==0)
+            {
+                if(nonNegativeRow<0)
+                {
+                    nonNegativeRow = i;
+                }
+                if(hasPositive[i])
+                {
+                    nonNegativeRowWithPositive = i;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Подсчитать положительные элементы оставшихся столбцов в оставшихся строках и выбрать представителей неположительных столбцов.
+     * @param columns Оставшиеся столбцы.
+     */
+    private void countColumnSigns(int[] columns) {
+        int[] rowPointers = sparseStorage.getRowPointers();
+        int[] columnIndexes = sparseStorage.getColumnIndexes();
+        double[] rowValues = sparseStorage.getRowValues();
+        int[] positiveCounts = new int[payoffMatrix.getColumnDimension()];
+        boolean[] hasNegative = new boolean[payoffMatrix.getColumnDimension()];
+        for(int i=activeRows.nextSetBit(0);i>=0;i=activeRows.nextSetBit(i + 1))
+        {
+            for(int t=rowPointers[i];t<rowPointers[i + 1];t++)
+            {
+                if(rowValues[t]>0)
+                {
+                    positiveCounts[columnIndexes[t]]++;
+                }
+                else if(rowValues[t]<0)
+                {
+                    hasNegative[columnIndexes[t]] = true;
+                }
+            }
+        }
+        columnPositiveCounts = positiveCounts;
+        nonPositiveColumn = -1;
+        nonPositiveColumnWithNegative = -1;
+        for(int j : columns)
+        {
+            if(positiveCounts[j]==0)
+            {
+                if(nonPositiveColumn<0)
+                {
+                    nonPositiveColumn = j;
+                }
+                if(hasNegative[j])
+                {
+                    nonPositiveColumnWithNegative = j;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Проверить, доминируется ли строка i строкой k разреженной матрицы, слиянием их ненулевых элементов
+     * в оставшихся столбцах. В столбцах, где обе строки равны нулю, элементы равны.
+     * @param i Проверяемая строка.
+     * @param k Доминирующая строка.
+     * @return true, если строка i доминируется строкой k.
+     */
+    private boolean isRowDominatedSparse(int i, int k) {
+        int[] rowPointers = sparseStorage.getRowPointers();
+        int[] columnIndexes = sparseStorage.getColumnIndexes();
+        double[] rowValues = sparseStorage.getRowValues();
+        return isDominatedSparse(columnIndexes, rowValues, rowPointers[i], rowPointers[i + 1], rowPointers[k], rowPointers[k + 1],
+                activeColumns, 1);
+    }
+
+    /**
+     * Проверить, доминируется ли столбец j столбцом k разреженной матрицы, слиянием их ненулевых элементов
+     * в оставшихся строках.
+     * @param j Проверяемый столбец.
+     * @param k Доминирующий столбец.
+     * @return true, если столбец j доминируется столбцом k.
+     */
+    private boolean isColumnDominatedSparse(int j, int k) {
+        int[] columnPointers = sparseStorage.getColumnPointers();
+        int[] rowIndexes = sparseStorage.getRowIndexes();
+        double[] columnValues = sparseStorage.getColumnValues();
+        return isDominatedSparse(rowIndexes, columnValues, columnPointers[j], columnPointers[j + 1], columnPointers[k], columnPointers[k + 1],
+                activeRows, -1);
+    }
+
+    /**
+     * Проверить доминирование одного разреженного вектора другим слиянием ненулевых элементов.
+     * @param indexes Номера ненулевых элементов, упорядоченные внутри векторов.
+     * @param values Ненулевые элементы.
+     * @param from Начало проверяемого вектора.
+     * @param to Конец проверяемого вектора.
+     * @param dominatingFrom Начало доминирующего вектора.
+     * @param dominatingTo Конец доминирующего вектора.
+     * @param active Учитываемые номера.
+     * @param sign 1, если доминирующий вектор должен быть не меньше проверяемого, -1 - если не больше.
+     * @return true, если проверяемый вектор доминируется.
+     */
+    private static boolean isDominatedSparse(int[] indexes, double[] values, int from, int to, int dominatingFrom, int dominatingTo,
+                                             BitSet active, int sign) {
+        boolean strict = false;
+        int s = from;
+        int t = dominatingFrom;
+        while(s<to || t<dominatingTo)
+        {
+            int index;
+            double a = 0;
+            double b = 0;
+            if(t>=dominatingTo || (s<to && indexes[s]<indexes[t]))
+            {
+                index = indexes[s];
+                a = values[s++];
+            }
+            else if(s>=to || indexes[t]<indexes[s])
+            {
+                index = indexes[t];
+                b = values[t++];
+            }
+            else
+            {
+                index = indexes[s];
+                a = values[s++];
+                b = values[t++];
+            }
+            if(!active.get(index))
+            {
+                continue;
+            }
+            if(sign>0 ? a>b : a<b)
+            {
+                return false;
+            }
+            if(sign>0 ? a<b : a>b)
+            {
+                strict = true;
+            }
+        }
+        return strict;
+    }
+
+    /**
+     * Снять отмеченные номера с битового множества.
+     * @param active Битовое множество оставшихся номеров.
+     * @param indexes Оставшиеся номера.
+     * @param removed Отметки удаляемых номеров.
+     * @return Удаленные номера.
+     */
+    private static int[] remove(BitSet active, int[] indexes, boolean[] removed) {
+        int count = 0;
+        for(boolean r : removed)
+        {
+            if(r)
+            {
+                count++;
+            }
+        }
+        int[] result = new int[count];
+        for(int t=0, k=0;t<indexes.length;t++)
+        {
+            if(removed[t])
+            {
+                active.clear(indexes[t]);
+                result[k++] = indexes[t];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Количество сравнений элементов, начиная с которого пары проверяются параллельно.
+     */
+    private static final long PARALLEL_THRESHOLD = 1L << 22;
+
+    /**
+     * Платежная матрица.
+     */
+    private final Matrix payoffMatrix;
+
+    /**
+     * Хранилище разреженной матрицы или null, если матрица не разреженная.
+     */
+    private final SparseMatrixStorage sparseStorage;
+
+    /**
+     * Оставшиеся строки.
+     */
+    private final BitSet activeRows;
+
+    /**
+     * Оставшиеся столбцы.
+     */
+    private final BitSet activeColumns;
+
+    /**
+     * Срок решения или null.
+     */
+    private SolveDeadline deadline;
+
+    /**
+     * Количества отрицательных элементов строк разреженной матрицы в оставшихся столбцах.
+     */
+    private int[] rowNegativeCounts;
+
+    /**
+     * Оставшаяся строка без отрицательных элементов или -1.
+     */
+    private int nonNegativeRow;
+
+    /**
+     * Оставшаяся строка без отрицательных элементов и с положительным элементом или -1.
+     */
+    private int nonNegativeRowWithPositive;
+
+    /**
+     * Количества положительных элементов столбцов разреженной матрицы в оставшихся строках.
+     */
+    private int[] columnPositiveCounts;
+
+    /**
+     * Оставшийся столбец без положительных элементов или -1.
+     */
+    private int nonPositiveColumn;
+
+    /**
+     * Оставшийся столбец без положительных элементов и с отрицательным элементом или -1.
+     */
+    private int nonPositiveColumnWithNegative;
+}
@@ -0,0 +1,253 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Метод двойного оракула. Игра решается на подматрице из небольшого множества стратегий,
+ * которое растет, пока стратегии подматрицы не станут почти оптимальными во всей игре.
+ * На каждой итерации подматрица решается точно симплекс-методом, затем для ее решения (p, q) ищутся лучшие ответы
+ * по всем стратегиям: строка с наибольшим элементом A*q и столбец с наименьшим элементом p^T*A.
+ * Эти элементы - верхняя и нижняя границы цены всей игры; если их разность не больше epsilon, решение найдено,
+ * иначе лучшие ответы добавляются в подматрицу.
+ * Оптимальные стратегии обычно используют малую часть всех стратегий, поэтому из матрицы читаются только строки и столбцы
+ * подматрицы. Метод подходит и для матриц, вычисляемых по запросу ({@link Matrix#fromOracle(PayoffOracle, long)}),
+ * в том числе через {@link Game}, который передает такую матрицу методу без просмотра ее целиком.
+ */
+public class DoubleOracleSolver implements Solver {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Конструктор метода с заданной точностью. Количество итераций не ограничено: каждая итерация, кроме последней,
+     * добавляет в подматрицу хотя бы одну стратегию, поэтому их не больше суммы размеров матрицы.
+     * @param epsilon Допустимая разность границ цены игры.
+     */
+    public DoubleOracleSolver(double epsilon) {
+        this(epsilon, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Конструктор метода с заданной точностью и ограничением количества итераций.
+     * @param epsilon Допустимая разность границ цены игры. Может быть равна нулю для точного решения.
+     * @param maxNumberOfIterations Максимальное количество итераций.
+     */
+    public DoubleOracleSolver(double epsilon, int maxNumberOfIterations) {
+        if(!(epsilon>=0))
+        {
+            throw new IllegalArgumentException("Epsilon must be a non-negative number");
+        }
+        if(maxNumberOfIterations<1)
+        {
+            throw new IllegalArgumentException("Number of iterations must be a positive number");
+        }
+        this.epsilon = epsilon;
+        this.maxNumberOfIterations = maxNumberOfIterations;
+    }
+
+    /**
+     * Получить количество итераций, выполненных при последнем решении.
+     * @return Количество итераций.
+     */
+    public int getNumberOfIterations() {
+        return numberOfIterations;
+    }
+
+    /**
+     * Получить размер подматрицы при последнем решении.
+     * @return Массив из количества строк и количества столбцов подматрицы.
+     */
+    public int[] getRestrictedGameSize() {
+        return new int[]{restrictedRowDimension, restrictedColumnDimension};
+    }
+
+    /**
+     * Решить игру методом двойного оракула.
+     * @param payoffMatrix Платежная матрица.
+     * @return Результат игры: стратегии подматрицы, дополненные нулями, и границы цены игры по лучшим ответам на них.
+     * Цена игры равна середине отрезка между границами.
+     */
+    @Override
+    public Result solve(Matrix payoffMatrix) {
+        int rowDimension = payoffMatrix.getRowDimension();
+        int columnDimension = payoffMatrix.getColumnDimension();
+
+        //strategies of the restricted game with their whole rows and columns
+        ArrayList<Integer> rows = new ArrayList<Integer>();
+        ArrayList<Integer> columns = new ArrayList<Integer>();
+        ArrayList<double[]> rowVectors = new ArrayList<double[]>();
+        ArrayList<double[]> columnVectors = new ArrayList<double[]>();
+        boolean[] inRows = new boolean[rowDimension];
+        boolean[] inColumns = new boolean[columnDimension];
+
+        //start from the pure strategies of the lower and upper bounds of the game value
+        int firstRow;
+        int firstColumn;
+        if(payoffMatrix.getStorage().isComputedOnDemand())
+        {
+            firstRow = 0;
+            firstColumn = ScalarIterationKernel.findMin(payoffMatrix.getRow(0), 0, columnDimension);
+        }
+        else
+        {
+            MatrixSummary summary = payoffMatrix.getSummary();
+            firstRow = summary.getMaximinIndex();
+            firstColumn = summary.getMinimaxIndex();
+        }
+        addRow(payoffMatrix, firstRow, rows, rowVectors, inRows);
+        addColumn(payoffMatrix, firstColumn, columns, columnVectors, inColumns);
+
+        double[] losses = new double[rowDimension];
+        double[] gains = new double[columnDimension];
+        double[] p;
+        double[] q;
+        double lowerBound;
+        double upperBound;
+        int iterationNumber = 0;
+        while(true)
+        {
+            iterationNumber++;
+            Result restricted = solveRestricted(rows, columns, rowVectors);
+            p = restricted.getFirstPlayerStrategy();
+            q = restricted.getSecondPlayerStrategy();
+
+            //best responses over all strategies to the restricted solution
+            Arrays.fill(gains, 0);
+            for(int a=0;a<p.length;a++)
+            {
+                if(p[a]!=0)
+                {
+                    double[] row = rowVectors.get(a);
+                    for(int j=0;j<columnDimension;j++)
+                    {
+                        gains[j] += p[a] * row[j];
+                    }
+                }
+            }
+            Arrays.fill(losses, 0);
+            for(int b=0;b<q.length;b++)
+            {
+                if(q[b]!=0)
+                {
+                    double[] column = columnVectors.get(b);
+                    for(int i=0;i<rowDimension;i++)
+                    {
+                        losses[i] += q[b] * column[i];
+                    }
+                }
+            }
+            int bestColumn = ScalarIterationKernel.findMin(gains, 0, columnDimension);
+            int bestRow = ScalarIterationKernel.findMax(losses, 0, rowDimension);
+            lowerBound = gains[bestColumn];
+            upperBound = losses[bestRow];
+            if(upperBound-lowerBound<=epsilon || iterationNumber>=maxNumberOfIterations)
+            {
+                break;
+            }
+            //with no new best response the restricted solution is optimal up to rounding errors
+            boolean grown = false;
+            if(!inRows[bestRow])
+            {
+                addRow(payoffMatrix, bestRow, rows, rowVectors, inRows);
+                grown = true;
+            }
+            if(!inColumns[bestColumn])
+            {
+                addColumn(payoffMatrix, bestColumn, columns, columnVectors, inColumns);
+                grown = true;
+            }
+            if(!grown)
+            {
+                break;
+            }
+        }
+        numberOfIterations = iterationNumber;
+        restrictedRowDimension = rows.size();
+        restrictedColumnDimension = columns.size();
+
+        double[] firstPlayerStrategy = new double[rowDimension];
+        double[] secondPlayerStrategy = new double[columnDimension];
+        for(int a=0;a<p.length;a++)
+        {
+            firstPlayerStrategy[rows.get(a)] = p[a];
+        }
+        for(int b=0;b<q.length;b++)
+        {
+            secondPlayerStrategy[columns.get(b)] = q[b];
+        }
+        return new Result(firstPlayerStrategy, secondPlayerStrategy, (lowerBound+upperBound) / 2, lowerBound, upperBound,
+                numberOfIterations);
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Решить подматрицу симплекс-методом.
+     * @param rows Номера строк подматрицы.
+     * @param columns Номера столбцов подматрицы.
+     * @param rowVectors Строки подматрицы целиком.
+     * @return Результат подматрицы в ее индексах.
+     */
+    private static Result solveRestricted(ArrayList<Integer> rows, ArrayList<Integer> columns, ArrayList<double[]> rowVectors) {
+        int rowDimension = rows.size();
+        int columnDimension = columns.size();
+        double[] elements = new double[rowDimension * columnDimension];
+        for(int a=0;a<rowDimension;a++)
+        {
+            double[] row = rowVectors.get(a);
+            for(int b=0;b<columnDimension;b++)
+            {
+                elements[a * columnDimension + b] = row[columns.get(b)];
+            }
+        }
+        return new SimplexSolver().solve(new Matrix(new DenseMatrixStorage(elements, rowDimension, columnDimension)));
+    }
+
+    /**
+     * Добавить строку в подматрицу.
+     */
+    private static void addRow(Matrix payoffMatrix, int i, ArrayList<Integer> rows, ArrayList<double[]> rowVectors, boolean[] inRows) {
+        rows.add(i);
+        rowVectors.add(payoffMatrix.getRow(i));
+        inRows[i] = true;
+    }
+
+    /**
+     * Добавить столбец в подматрицу.
+     */
+    private static void addColumn(Matrix payoffMatrix, int j, ArrayList<Integer> columns, ArrayList<double[]> columnVectors,
+                                  boolean[] inColumns) {
+        columns.add(j);
+        columnVectors.add(payoffMatrix.getColumn(j));
+        inColumns[j] = true;
+    }
+
+    /**
+     * Допустимая разность границ цены игры.
+     */
+    private final double epsilon;
+
+    /**
+     * Максимальное количество итераций.
+     */
+    private final int maxNumberOfIterations;
+
+    /**
+     * Количество итераций, выполненных при последнем решении.
+     */
+    private int numberOfIterations;
+
+    /**
+     * Количество строк подматрицы при последнем решении.
+     */
+    private int restrictedRowDimension;
+
+    /**
+     * Количество столбцов подматрицы при последнем решении.
+     */
+    private int restrictedColumnDimension;
+}
@@ -0,0 +1,189 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Хранилище элементов в куче в двух копиях: построчно и по столбцам.
+ * В одной раскладке итерация читает либо строку, либо столбец с шагом в длину строки, и на большой матрице
+ * каждый элемент столбца - промах кэша. Здесь строки читаются из построчной копии, а столбцы - из копии по столбцам,
+ * поэтому обе половины итерации читают память последовательно ценой удвоенной памяти.
+ * Обе копии содержат одни и те же числа и изменяются одинаково, поэтому результаты совпадают с построчным хранилищем.
+ */
+final class DualLayoutMatrixStorage extends MatrixStorage {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор. Копия по столбцам строится транспонированием по блокам.
+     * @param rows Построчное хранилище. Не копируется и становится частью этого хранилища.
+     */
+    DualLayoutMatrixStorage(DenseMatrixStorage rows)
+    {
+        this(rows, transpose(rows));
+    }
+
+    @Override
+    int getRowDimension()
+    {
+        return rows.getRowDimension();
+    }
+
+    @Override
+    int getColumnDimension()
+    {
+        return rows.getColumnDimension();
+    }
+
+    @Override
+    double get(int rowPosition, int columnPosition)
+    {
+        return rows.get(rowPosition, columnPosition);
+    }
+
+    @Override
+    void addRowTo(int rowPosition, double[] target, int from, int to)
+    {
+        rows.addRowTo(rowPosition, target, from, to);
+    }
+
+    @Override
+    void addColumnTo(int columnPosition, double[] target, int from, int to)
+    {
+        columns.addRowTo(columnPosition, target, from, to);
+    }
+
+    @Override
+    void copyRowTo(int rowPosition, double[] target)
+    {
+        rows.copyRowTo(rowPosition, target);
+    }
+
+    @Override
+    void summarizeRows(int from, int to, double[] rowMinima, double[] columnMaxima)
+    {
+        rows.summarizeRows(from, to, rowMinima, columnMaxima);
+    }
+
+    @Override
+    void multiplyLeft(double[] vector, double[] target)
+    {
+        rows.multiplyLeft(vector, target);
+    }
+
+    @Override
+    void multiplyRight(double[] vector, double[] target)
+    {
+        rows.multiplyRight(vector, target);
+    }
+
+    @Override
+    long getMemorySize()
+    {
+        return rows.getMemorySize() + columns.getMemorySize();
+    }
+
+    @Override
+    void addConstValue(double value)
+    {
+        rows.addConstValue(value);
+        columns.addConstValue(value);
+    }
+
+    @Override
+    MatrixStorage removeRow(int rowPosition)
+    {
+        rows.removeRow(rowPosition);
+        columns.removeColumn(rowPosition);
+        return this;
+    }
+
+    @Override
+    MatrixStorage removeColumn(int columnPosition)
+    {
+        rows.removeColumn(columnPosition);
+        columns.removeRow(columnPosition);
+        return this;
+    }
+
+    @Override
+    MatrixStorage subStorage(int[] rowPositions, int[] columnPositions)
+    {
+        return new DualLayoutMatrixStorage((DenseMatrixStorage) rows.subStorage(rowPositions, columnPositions),
+                (DenseMatrixStorage) columns.subStorage(columnPositions, rowPositions));
+    }
+
+    @Override
+    double[] getElements()
+    {
+        return rows.getElements();
+    }
+
+    /**
+     * Элемент (i,j) находится по индексу j*rowDimension+i.
+     */
+    @Override
+    double[] getColumnMajorElements()
+    {
+        return columns.getElements();
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Конструктор по двум копиям.
+     * @param rows Построчная копия.
+     * @param columns Копия по столбцам: транспонированная матрица, записанная построчно.
+     */
+    private DualLayoutMatrixStorage(DenseMatrixStorage rows, DenseMatrixStorage columns)
+    {
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Транспонировать матрицу по квадратным блокам, чтобы и чтение, и запись оставались в кэше.
+     * @param rows Построчное хранилище.
+     * @return Транспонированная матрица, записанная построчно.
+     */
+    private static DenseMatrixStorage transpose(DenseMatrixStorage rows)
+    {
+        int rowDimension = rows.getRowDimension();
+        int columnDimension = rows.getColumnDimension();
+        double[] elements = rows.getElements();
+        double[] transposed = new double[rowDimension * columnDimension];
+        for(int i0=0;i0<rowDimension;i0+=TRANSPOSE_BLOCK_SIZE)
+        {
+            int i1 = Math.min(i0 + TRANSPOSE_BLOCK_SIZE, rowDimension);
+            for(int j0=0;j0<columnDimension;j0+=TRANSPOSE_BLOCK_SIZE)
+            {
+                int j1 = Math.min(j0 + TRANSPOSE_BLOCK_SIZE, columnDimension);
+                for(int i=i0;i<i1;i++)
+                {
+                    int offset = i * columnDimension;
+                    for(int j=j0;j<j1;j++)
+                    {
+                        transposed[j * rowDimension + i] = elements[offset + j];
+                    }
+                }
+            }
+        }
+        return new DenseMatrixStorage(transposed, columnDimension, rowDimension);
+    }
+
+    /**
+     * Сторона блока транспонирования: блок из 64x64 чисел двойной точности занимает 32 КБ.
+     */
+    private static final int TRANSPOSE_BLOCK_SIZE = 64;
+
+    /**
+     * Построчная копия.
+     */
+    private final DenseMatrixStorage rows;
+
+    /**
+     * Копия по столбцам.
+     */
+    private final DenseMatrixStorage columns;
+}
@@ -0,0 +1,261 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * Объединение одинаковых строк и одинаковых столбцов. Одинаковые строки не доминируют друг друга строго,
+ * поэтому {@link DominanceReduction} их не удаляет. Из каждой группы одинаковых строк остается первая строка,
+ * и ей достается вероятность всей группы, остальные строки удаляются с нулевой вероятностью (так же и для столбцов).
+ * Метод Брауна-Робинсон при равных выигрышах выбирает стратегию с наименьшим номером, поэтому на исходной матрице
+ * он тоже выбирал бы только первую строку группы.
+ * Строки и столбцы хэшируются за один проход по матрице, а строки с одинаковым хэшем сравниваются поэлементно.
+ * Разреженная матрица хэшируется и сравнивается по ненулевым элементам, поэтому проход пропорционален их количеству.
+ * Удаление одинаковых строк не меняет равенства и доминирования столбцов, поэтому повторять проход не нужно.
+ */
+final class DuplicateReduction {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор.
+     * @param payoffMatrix Платежная матрица.
+     * @param rows Номера оставшихся строк по возрастанию.
+     * @param columns Номера оставшихся столбцов по возрастанию.
+     */
+    DuplicateReduction(Matrix payoffMatrix, int[] rows, int[] columns) {
+        this.payoffMatrix = payoffMatrix;
+        MatrixStorage storage = payoffMatrix.getStorage();
+        this.sparseStorage = storage instanceof SparseMatrixStorage ? (SparseMatrixStorage) storage : null;
+        this.rows = rows;
+        this.columns = columns;
+        this.rowRepresentatives = rows;
+        this.columnRepresentatives = columns;
+    }
+
+    /**
+     * Найти одинаковые строки и столбцы.
+     */
+    void run() {
+        long[] rowHashes = new long[rows.length];
+        long[] columnHashes = new long[columns.length];
+        if(sparseStorage!=null)
+        {
+            activeRows = toBitSet(rows);
+            activeColumns = toBitSet(columns);
+            hashSparse(sparseStorage.getRowPointers(), sparseStorage.getColumnIndexes(), sparseStorage.getRowValues(),
+                    rows, activeColumns, rowHashes);
+            hashSparse(sparseStorage.getColumnPointers(), sparseStorage.getRowIndexes(), sparseStorage.getColumnValues(),
+                    columns, activeRows, columnHashes);
+        }
+        else
+        {
+            //one buffer is reused for all rows
+            double[] row = new double[payoffMatrix.getColumnDimension()];
+            for(int t=0;t<rows.length;t++)
+            {
+                payoffMatrix.getStorage().copyRowTo(rows[t], row);
+                long rowHash = 0;
+                for(int s=0;s<columns.length;s++)
+                {
+                    long bits = bits(row[columns[s]]);
+                    rowHash = rowHash * HASH_MULTIPLIER + bits;
+                    columnHashes[s] = columnHashes[s] * HASH_MULTIPLIER + bits;
+                }
+                rowHashes[t] = rowHash;
+            }
+        }
+        rowRepresentatives = representatives(rows, rowHashes, true);
+        columnRepresentatives = representatives(columns, columnHashes, false);
+    }
+
+    /**
+     * Получить номера строк, оставшихся после объединения, по возрастанию.
+     * @return Номера первых строк групп одинаковых строк.
+     */
+    int[] getRowIndexes() {
+        return rowRepresentatives;
+    }
+
+    /**
+     * Получить номера столбцов, оставшихся после объединения, по возрастанию.
+     * @return Номера первых столбцов групп одинаковых столбцов.
+     */
+    int[] getColumnIndexes() {
+        return columnRepresentatives;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Найти первые строки или столбцы групп одинаковых.
+     * @param indexes Номера строк или столбцов по возрастанию.
+     * @param hashes Хэши строк или столбцов.
+     * @param byRow Сравниваются ли строки (иначе столбцы).
+     * @return Номера первых строк или столбцов групп по возрастанию.
+     */
+    private int[] representatives(int[] indexes, long[] hashes, boolean byRow) {
+        HashMap<Long, ArrayList<Integer>> groups = new HashMap<Long, ArrayList<Integer>>();
+        int[] result = new int[indexes.length];
+        int count = 0;
+        for(int t=0;t<indexes.length;t++)
+        {
+            ArrayList<Integer> candidates = groups.computeIfAbsent(hashes[t], hash -> new ArrayList<Integer>(1));
+            boolean duplicate = false;
+            for(int candidate : candidates)
+            {
+                if(byRow ? rowsEqual(candidate, indexes[t]) : columnsEqual(candidate, indexes[t]))
+                {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if(!duplicate)
+            {
+                candidates.add(indexes[t]);
+                result[count++] = indexes[t];
+            }
+        }
+        return count==indexes.length ? indexes : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Хэшировать векторы разреженной матрицы по ненулевым элементам в оставшихся номерах.
+     * @param pointers Начала векторов.
+     * @param indexes Номера ненулевых элементов.
+     * @param values Ненулевые элементы без добавленного числа.
+     * @param vectors Номера хэшируемых векторов.
+     * @param active Оставшиеся номера элементов.
+     * @param hashes Хэши векторов.
+     */
+    private static void hashSparse(int[] pointers, int[] indexes, double[] values, int[] vectors, BitSet active, long[] hashes) {
+        for(int t=0;t<vectors.length;t++)
+        {
+            long hash = 0;
+            for(int k=pointers[vectors[t]];k<pointers[vectors[t] + 1];k++)
+            {
+                if(active.get(indexes[k]))
+                {
+                    hash = (hash * HASH_MULTIPLIER + indexes[k]) * HASH_MULTIPLIER + bits(values[k]);
+                }
+            }
+            hashes[t] = hash;
+        }
+    }
+
+    /**
+     * Проверить, равны ли строки в оставшихся столбцах.
+     */
+    private boolean rowsEqual(int i, int k) {
+        if(sparseStorage!=null)
+        {
+            int[] rowPointers = sparseStorage.getRowPointers();
+            return SparseMatrixStorage.vectorsEqual(sparseStorage.getColumnIndexes(), sparseStorage.getRowValues(),
+                    rowPointers[i], rowPointers[i + 1], sparseStorage.getColumnIndexes(), sparseStorage.getRowValues(),
+                    rowPointers[k], rowPointers[k + 1], 1, activeColumns);
+        }
+        for(int j : columns)
+        {
+            if(payoffMatrix.get(i, j)!=payoffMatrix.get(k, j))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Проверить, равны ли столбцы в оставшихся строках.
+     */
+    private boolean columnsEqual(int j, int k) {
+        if(sparseStorage!=null)
+        {
+            int[] columnPointers = sparseStorage.getColumnPointers();
+            return SparseMatrixStorage.vectorsEqual(sparseStorage.getRowIndexes(), sparseStorage.getColumnValues(),
+                    columnPointers[j], columnPointers[j + 1], sparseStorage.getRowIndexes(), sparseStorage.getColumnValues(),
+                    columnPointers[k], columnPointers[k + 1], 1, activeRows);
+        }
+        for(int i : rows)
+        {
+            if(payoffMatrix.get(i, j)!=payoffMatrix.get(i, k))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Получить битовое множество номеров.
+     * @param indexes Номера.
+     * @return Битовое множество.
+     */
+    private static BitSet toBitSet(int[] indexes) {
+        BitSet set = new BitSet();
+        for(int index : indexes)
+        {
+            set.set(index);
+        }
+        return set;
+    }
+
+    /**
+     * Получить биты элемента для хэша. Ноль и отрицательный ноль равны, поэтому имеют одинаковые биты.
+     * @param element Элемент.
+     * @return Биты элемента.
+     */
+    private static long bits(double element) {
+        return element==0 ? 0 : Double.doubleToLongBits(element);
+    }
+
+    /**
+     * Множитель полиномиального хэша.
+     */
+    private static final long HASH_MULTIPLIER = 1_000_003L;
+
+    /**
+     * Платежная матрица.
+     */
+    private final Matrix payoffMatrix;
+
+    /**
+     * Хранилище разреженной матрицы или null, если матрица не разреженная.
+     */
+    private final SparseMatrixStorage sparseStorage;
+
+    /**
+     * Номера строк, оставшихся после удаления доминируемых.
+     */
+    private final int[] rows;
+
+    /**
+     * Номера столбцов, оставшихся после удаления доминируемых.
+     */
+    private final int[] columns;
+
+    /**
+     * Оставшиеся строки разреженной матрицы.
+     */
+    private BitSet activeRows;
+
+    /**
+     * Оставшиеся столбцы разреженной матрицы.
+     */
+    private BitSet activeColumns;
+
+    /**
+     * Номера первых строк групп одинаковых строк.
+     */
+    private int[] rowRepresentatives;
+
+    /**
+     * Номера первых столбцов групп одинаковых столбцов.
+     */
+    private int[] columnRepresentatives;
+}
@@ -1,7 +1,9 @@
 package ogorodnikov_andrew.two_player_zero_sum_game_solver;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.TreeSet;
+import java.util.stream.IntStream;
 
 /**
  * Created by Andrew Ogorodnikov
@@ -20,111 +22,211 @@ public class Game {
 
     /**
      * Получить результат игры итеративным методом.
+     * Если сохранение итераций не включено, память не зависит от количества итераций.
      * @param numberOfIterations Количество итераций.
-     * @return Результат игры.
+     * @return Результат игры. Стратегии взяты с итераций наилучших границ цены игры и гарантируют эти границы,
+     * цена игры равна середине отрезка между ними.
      */
     public Result getIterationMethodResult(int numberOfIterations) {
+        return getIterationMethodResult(new IterativeSolver(numberOfIterations));
+    }
+
+    /**
+     * Получить результат игры итеративным методом с заданной точностью.
+     * Итерации прекращаются, как только разность наилучших верхней и нижней границ цены игры станет меньше epsilon.
+     * @param epsilon Допустимая разность границ цены игры.
+     * @return Результат игры. Стратегии гарантируют наилучшие найденные границы, цена игры равна середине отрезка между ними.
+     */
+    public Result getIterationMethodResult(double epsilon) {
+        return getIterationMethodResult(epsilon, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Получить результат игры итеративным методом с заданной точностью и ограничением количества итераций.
+     * Итерации прекращаются, как только разность наилучших верхней и нижней границ цены игры станет меньше epsilon,
+     * или по исчерпании количества итераций. Количество выполненных итераций доступно через {@link #getNumberOfIterations()}.
+     * @param epsilon Допустимая разность границ цены игры.
+     * @param maxNumberOfIterations Максимальное количество итераций.
+     * @return Результат игры. Стратегии гарантируют наилучшие найденные границы, цена игры равна середине отрезка между ними.
+     */
+    public Result getIterationMethodResult(double epsilon, int maxNumberOfIterations) {
+        return getIterationMethodResult(new IterativeSolver(epsilon, maxNumberOfIterations));
+    }
+
+    /**
+     * Получить результат игры итеративным методом за указанное время.
+     * Итерации выполняются, пока не истечет время, отсчитываемое от вызова метода и включающее подготовку матрицы.
+     * @param timeLimit Время на решение.
+     * @return Результат игры со стратегиями, гарантирующими наилучшие найденные границы, и ценой игры в середине отрезка между ними.
+     */
+    public Result getIterationMethodResult(Duration timeLimit) {
+        return getIterationMethodResult(0, SolveDeadline.after(timeLimit));
+    }
+
+    /**
+     * Получить результат игры итеративным методом с заданной точностью до истечения срока.
+     * Итерации прекращаются, как только разность наилучших границ цены игры станет меньше epsilon,
+     * когда истечет срок или когда решение будет отменено через {@link SolveDeadline#cancel()} из другого потока.
+     * Достигнутая точность видна по границам цены игры в результате.
+     * @param epsilon Допустимая разность границ цены игры. Если равна нулю, итерации выполняются до истечения срока.
+     * @param deadline Срок решения.
+     * @return Результат игры со стратегиями, гарантирующими наилучшие найденные границы, и ценой игры в середине отрезка между ними.
+     */
+    public Result getIterationMethodResult(double epsilon, SolveDeadline deadline) {
+        IterativeSolver solver = epsilon>0 ? new IterativeSolver(epsilon, Integer.MAX_VALUE) : new IterativeSolver(Integer.MAX_VALUE);
+        solver.setDeadline(deadline);
+        return getIterationMethodResult(solver);
+    }
+
+    /**
+     * Получить результат игры итеративным методом, начиная с результата предыдущего решения (теплый старт).
+     * Подходит для повторного решения игры после небольшого изменения платежной матрицы: стратегии предыдущего результата
+     * считаются выбранными за warmStartWeight итераций, накопленные выигрыши и проигрыши пересчитываются по текущей матрице,
+     * и итерации продолжаются до заданной точности. Вероятности удаленных доминируемых стратегий отбрасываются.
+     * Количество выполненных итераций доступно через {@link #getNumberOfIterations()} и не включает вес теплого старта.
+     * @param previousResult Результат предыдущего решения игры с теми же размерами матрицы.
+     * @param warmStartWeight Вес предыдущего результата в итерациях. Обычно равен количеству итераций предыдущего решения.
+     * @param epsilon Допустимая разность границ цены игры.
+     * @param maxNumberOfIterations Максимальное количество новых итераций.
+     * @exception IllegalArgumentException Размеры предыдущего результата должны совпадать с размерами матрицы.
+     * @return Результат игры. Стратегии гарантируют наилучшие найденные границы, цена игры равна середине отрезка между ними.
+     */
+    public Result getIterationMethodResult(Result previousResult, int warmStartWeight, double epsilon, int maxNumberOfIterations) {
+        if(previousResult.getFirstPlayerStrategyCount()!=payoffMatrix.getRowDimension()
+                || previousResult.getSecondPlayerStrategyCount()!=payoffMatrix.getColumnDimension())
+        {
+            throw new IllegalArgumentException("Previous result does not match the payoff matrix dimensions");
+        }
+        if(warmStartWeight<1)
+        {
+            throw new IllegalArgumentException("Warm start weight must be a positive number");
+        }
+        IterativeSolver solver = new IterativeSolver(epsilon, maxNumberOfIterations);
+        this.warmStartResult = previousResult;
+        this.warmStartWeight = warmStartWeight;
+        try
+        {
+            return getIterationMethodResult(solver);
+        }
+        finally
+        {
+            this.warmStartResult = null;
+        }
+    }
 
-        this.numberOfIterations = numberOfIterations;
-        iterations = new Iteration[numberOfIterations];
+    /**
+     * Получить точный результат игры симплекс-методом.
+     * @return Результат игры.
+     */
+    public Result getSimplexMethodResult() {
+        return getResult(new SimplexSolver());
+    }
+
+    /**
+     * Получить результат игры указанным методом.
+     * Если у игры есть седловая точка, результат строится по ней, и метод не вызывается.
+     * Иначе к платежной матрице прибавляется число, делающее ее элементы неотрицательными,
+     * удаляются доминируемые стратегии, и оставшаяся матрица передается методу.
+     * Все эти этапы просматривают матрицу целиком, поэтому матрица, элементы которой вычисляются по запросу
+     * (см. {@link Matrix#fromOracle(PayoffOracle, long)}), передается методу сразу, без этих этапов и без прибавленного числа.
+     * Такую матрицу эффективнее всего решают методы, читающие только нужные строки и столбцы:
+     * {@link IterativeSolver} и {@link DoubleOracleSolver}. {@link SimplexSolver} читает каждую строку один раз.
+     * @param solver Метод решения игры.
+     * @return Результат игры в индексах исходной матрицы.
+     */
+    public Result getResult(Solver solver) {
+        iterativeSolver = null;
+        numberOfIterations = 0;
+
+        if(payoffMatrix.getStorage().isComputedOnDemand())
+        {
+            return getOnDemandResult(solver);
+        }
 
         // Получить седловую точку
+        long start = System.nanoTime();
+        SolvePhaseEvent event = beginPhase("saddle point", payoffMatrix.getRowDimension(), payoffMatrix.getColumnDimension());
         SaddlePoint sp=getSaddlePoint();
-
-        //Если у матрицы есть отрицательные элемента, добавим ко всем элементам модуль наименьшего.
-        addValue();
+        long saddlePointNanos = endPhase(event, start);
 
         if(sp!=null)//if a saddle point found
         {
             //get the result according to the saddle point
-            return new Result(sp, payoffMatrix.getRowDimension(), payoffMatrix.getColumnDimension());
+            SaddlePoint point = new SaddlePoint((int) sp.getX(), (int) sp.getY(), sp.getValue() - addedValue);
+            recordMetrics(new SolveMetrics(saddlePointNanos, 0, 0, 0, 0, 0, 0, 0), true);
+            return new Result(point, payoffMatrix.getRowDimension(), payoffMatrix.getColumnDimension());
         }
         else // if there is no saddle point
         {
-            //search for domination
-            int min = Math.min(payoffMatrix.getRowDimension(), payoffMatrix.getRowDimension());
-            for(int i = 0; i < min-1; i++)
-            {
-                searchRowDomination();
-                searchColumnDomination();
-            }
-
-            double[] firstPersonGains = new double[payoffMatrix.getColumnDimension()];
-            double[] secondPersonLosses = new double[payoffMatrix.getRowDimension()];
-            //get the start index (index of max of min gains)
-            int startIndex = (int) getLowerBound().getX();
-
-            //obtain the 1st iteration
-            iterations[0] = new Iteration(1,payoffMatrix, startIndex,firstPersonGains,secondPersonLosses);
-            //obtain the rest of the iterations
-            for(int i=0;i< numberOfIterations -1;i++)
-            {
-                iterations[i+1]=iterations[i].nextIteration();
-            }
-
-            //create vectors for results
-            ArrayList<Double> p = new ArrayList<Double>();
-            ArrayList<Double> q = new ArrayList<Double>();
+            //the check is exact only before the first shift, so later solves may miss the symmetry
+            boolean skewSymmetric = isSkewSymmetric();
+
+            //Если у матрицы есть отрицательные элемента, добавим ко всем элементам модуль наименьшего.
+            start = System.nanoTime();
+            event = beginPhase("add value", payoffMatrix.getRowDimension(), payoffMatrix.getColumnDimension());
+            addValue();
+            long addValueNanos = endPhase(event, start);
+
+            //remove dominated rows and columns; the payoff matrix itself is not changed
+            start = System.nanoTime();
+            event = beginPhase("dominance reduction", payoffMatrix.getRowDimension(), payoffMatrix.getColumnDimension());
+            DominanceReduction reduction = new DominanceReduction(payoffMatrix);
+            reduction.run(getDeadline(solver));
+            //identical rows and columns are merged into the first of them
+            DuplicateReduction duplicates = new DuplicateReduction(payoffMatrix, reduction.getActiveRowIndexes(),
+                    reduction.getActiveColumnIndexes());
+            duplicates.run();
+            long dominanceReductionNanos = endPhase(event, start);
+            int[] rows = duplicates.getRowIndexes();
+            int[] columns = duplicates.getColumnIndexes();
+            removedRowIndexes.clear();
+            removedColumnIndexes.clear();
             for(int i=0;i<payoffMatrix.getRowDimension();i++)
             {
-                p.add(0d);
+                removedRowIndexes.add(i);
             }
             for(int j=0;j<payoffMatrix.getColumnDimension();j++)
             {
-                q.add(0d);
-            }
-
-            //calculate how many times players chose each choice
-            for(int k=0;k< numberOfIterations;k++)
-            {
-                //first player
-                for(int i=0;i<payoffMatrix.getRowDimension();i++)
-                {    if(iterations[k].getFirstPlayerStrategyIndex()==i)
-                {
-                    //p[i]++
-                    p.set(i,Double.parseDouble(p.get(i).toString())+1);
-                }
-                }
-
-                //second player
-                for(int j=0;j<payoffMatrix.getColumnDimension();j++)
-                {
-                    if(iterations[k].getSecondPlayerStrategyIndex()==j)
-                    {
-                        //q[j]++
-                        q.set(j,Double.parseDouble(q.get(j).toString())+1);
-                    }
-                }
+                removedColumnIndexes.add(j);
             }
-
-            //get the probability of each choice by dividing it by the number of iterations
-            //first player
-            for(int i=0;i<payoffMatrix.getRowDimension();i++)
+            for(int i : rows)
             {
-                //p[i]/=numberOfIterations;
-                p.set(i,Double.parseDouble(p.get(i).toString())/ numberOfIterations);
-
+                removedRowIndexes.remove(i);
             }
-            //second plauer
-            for(int j=0;j<payoffMatrix.getColumnDimension();j++)
+            for(int j : columns)
             {
-                //q[j]/=numberOfIterations;
-                q.set(j,Double.parseDouble(q.get(j).toString())/ numberOfIterations);
+                removedColumnIndexes.remove(j);
             }
-
-            //if some rows were deleted insert a 0 probability at their indexes
-            for(int index : removedRowIndexes)
+            Matrix reducedPayoffMatrix = removedRowIndexes.isEmpty() && removedColumnIndexes.isEmpty()
+                    ? payoffMatrix : payoffMatrix.subMatrix(rows, columns);
+
+            //the reductions keep a skew-symmetric game skew-symmetric only if they keep the same rows and columns
+            prepareIterativeSolver(solver, rows, columns, skewSymmetric && Arrays.equals(rows, columns));
+
+            start = System.nanoTime();
+            event = beginPhase("solver", rows.length, columns.length);
+            Result result = solver.solve(reducedPayoffMatrix);
+            long solverNanos = endPhase(event, start);
+            numberOfIterations = result.getNumberOfIterations();
+            recordMetrics(new SolveMetrics(saddlePointNanos, addValueNanos, dominanceReductionNanos, solverNanos,
+                    numberOfIterations, removedRowIndexes.size(), removedColumnIndexes.size(),
+                    result.getGameValueUpperBound() - result.getGameValueLowerBound()), false);
+
+            //removed rows and columns get a 0 probability
+            double[] p = new double[payoffMatrix.getRowDimension()];
+            double[] q = new double[payoffMatrix.getColumnDimension()];
+            for(int t=0;t<rows.length;t++)
             {
-                p.add(index,0d);
+                p[rows[t]] = result.getFirstPlayerProbability(t);
             }
-            //if some columns were deleted insert a 0 probability at their indexes
-            for(int index : removedColumnIndexes)
+            for(int t=0;t<columns.length;t++)
             {
-                q.add(index,0d);
+                q[columns[t]] = result.getSecondPlayerProbability(t);
             }
-            //construct a result object and return it
-            return new Result(p,q,iterations[numberOfIterations -1].getGameValue());
-
+            //construct a result object without the added value and return it
+            return new Result(p, q, result.getGameValue() - addedValue,
+                    result.getGameValueLowerBound() - addedValue, result.getGameValueUpperBound() - addedValue,
+                    result.getNumberOfIterations());
         }
     }
 
@@ -145,26 +247,74 @@ public class Game {
     }
 
     /**
-     * Получить указанную итерацию.
+     * Включить или выключить сохранение итераций. По умолчанию итерации не сохраняются.
+     * Сохраненные итерации доступны через {@link #getIteration(int)}, но каждая из них хранит копии массивов
+     * выигрышей и проигрышей, поэтому память растет пропорционально количеству итераций.
+     * Для длинных решений лучше подходит {@link #setIterationListener(IterationListener)} с {@link IterationTrace}.
+     * @param iterationHistoryEnabled Сохранять ли итерации.
+     */
+    public void setIterationHistoryEnabled(boolean iterationHistoryEnabled) {
+        this.iterationHistoryEnabled = iterationHistoryEnabled;
+    }
+
+    /**
+     * Проверить, включено ли сохранение итераций.
+     * @return true, если итерации сохраняются.
+     */
+    public boolean isIterationHistoryEnabled() {
+        return iterationHistoryEnabled;
+    }
+
+    /**
+     * Задать слушатель итераций для решений итеративным методом. В отличие от сохранения итераций,
+     * память не растет с количеством итераций: для истории используется {@link IterationTrace}.
+     * Слушатель получает номера стратегий исходной матрицы и цену игры без прибавленного числа.
+     * Он заменяет слушатель итеративного метода, переданного в {@link #getResult(Solver)}.
+     * @param iterationListener Слушатель итераций или null.
+     */
+    public void setIterationListener(IterationListener iterationListener) {
+        this.iterationListener = iterationListener;
+    }
+
+    /**
+     * Получить слушатель итераций.
+     * @return Слушатель итераций или null.
+     */
+    public IterationListener getIterationListener() {
+        return iterationListener;
+    }
+
+    /**
+     * Получить указанную итерацию последнего решения итеративным методом.
+     * Доступно только при включенном сохранении итераций.
+     * Выигрыши, проигрыши и цена игры в итерации считаются по платежной матрице с прибавленным числом.
      * @param iterationNumber Номер итерации.
      * @return Итерация по указанному номеру.
      */
     public Iteration getIteration(int iterationNumber) {
-        if(iterationNumber>=numberOfIterations || iterationNumber<0)
+        if(iterativeSolver==null)
         {
-            throw new IndexOutOfBoundsException("Iteration number must be a positive number less than the number of iterations");
+            throw new IllegalStateException("The game was not solved by the iterative method");
         }
-        return iterations[iterationNumber];
+        return iterativeSolver.getIteration(iterationNumber);
     }
 
     /**
-     * Получить количество итераций.
+     * Получить количество итераций, выполненных при последнем решении.
      * @return Количество итераций.
      */
     public int getNumberOfIterations() {
         return numberOfIterations;
     }
 
+    /**
+     * Получить метрики последнего решения: время этапов, количество итераций и удаленных стратегий.
+     * @return Метрики последнего решения или null, если игра еще не решалась.
+     */
+    public SolveMetrics getLastSolveMetrics() {
+        return lastSolveMetrics;
+    }
+
     /**
      * Получить прибавленное число.
      * @return Прибоавленное число.
@@ -174,146 +324,202 @@ public class Game {
     }
 
     /**
-     * Добавить значение к платежной матрицы. Это делается для того, чтобы избежать счета отрицательных чисел.
-     * В конце данное число вычитается из цены игры.
+     * Получить результат игры итеративным методом и запомнить метод для доступа к итерациям.
+     * @param solver Итеративный метод.
+     * @return Результат игры.
      */
-    private void addValue() {
-        double min = payoffMatrix.get(0,0);
-        for(int i=0;i<payoffMatrix.getRowDimension();i++){
-            for(int j=0;j<payoffMatrix.getColumnDimension();j++) {
-                if(payoffMatrix.get(i,j)<min) {
-                    min = payoffMatrix.get(i,j);
-                }
-            }
+    private Result getIterationMethodResult(IterativeSolver solver) {
+        solver.setIterationHistoryEnabled(iterationHistoryEnabled);
+        Result result = getResult(solver);
+        iterativeSolver = solver;
+        numberOfIterations = solver.getNumberOfIterations();
+        return result;
+    }
+
+    /**
+     * Решить игру с матрицей, элементы которой вычисляются по запросу, без поиска седловой точки и удаления стратегий.
+     * @param solver Метод решения игры.
+     * @return Результат игры.
+     */
+    private Result getOnDemandResult(Solver solver) {
+        removedRowIndexes.clear();
+        removedColumnIndexes.clear();
+        prepareIterativeSolver(solver, IntStream.range(0, payoffMatrix.getRowDimension()).toArray(),
+                IntStream.range(0, payoffMatrix.getColumnDimension()).toArray(), false);
+        long start = System.nanoTime();
+        SolvePhaseEvent event = beginPhase("solver", payoffMatrix.getRowDimension(), payoffMatrix.getColumnDimension());
+        Result result = solver.solve(payoffMatrix);
+        long solverNanos = endPhase(event, start);
+        numberOfIterations = result.getNumberOfIterations();
+        recordMetrics(new SolveMetrics(0, 0, 0, solverNanos, numberOfIterations, 0, 0,
+                result.getGameValueUpperBound() - result.getGameValueLowerBound()), false);
+        return result;
+    }
+
+    /**
+     * Передать итеративному методу теплый старт, слушатель итераций и цену кососимметричной игры.
+     * @param solver Метод решения игры. Если метод не итеративный, ничего не делается.
+     * @param rows Номера строк решаемой матрицы в исходной матрице.
+     * @param columns Номера столбцов решаемой матрицы в исходной матрице.
+     * @param skewSymmetric Кососимметрична ли решаемая матрица без прибавленного числа.
+     */
+    private void prepareIterativeSolver(Solver solver, int[] rows, int[] columns, boolean skewSymmetric) {
+        if(!(solver instanceof IterativeSolver))
+        {
+            return;
         }
-        if(min<0) {
-            payoffMatrix.addConstValue(Math.abs(min));
-            addedValue =  Math.abs(min);
+        IterativeSolver iterativeMethod = (IterativeSolver) solver;
+        if(warmStartResult!=null)
+        {
+            //the previous strategies are given in the indexes of the whole matrix
+            iterativeMethod.setWarmStart(select(warmStartResult.getFirstPlayerStrategy(), rows),
+                    select(warmStartResult.getSecondPlayerStrategy(), columns), warmStartWeight);
+        }
+        if(iterationListener!=null)
+        {
+            iterativeMethod.setIterationListener(new GameIterationListener(iterationListener, rows, columns, addedValue));
+        }
+        if(skewSymmetric)
+        {
+            iterativeMethod.setSymmetricGameValue(addedValue);
         }
-        addedValue = 0;
     }
 
     /**
-     * Поиск доминирования среди строк.
+     * Проверить, кососимметрична ли платежная матрица без прибавленного числа (A = -A^T).
+     * Цена такой игры равна нулю, и оптимальные стратегии игроков совпадают.
+     * Сначала по сводке проверяется, что наименьший элемент противоположен наибольшему, затем элементы сравниваются на месте:
+     * у разреженной матрицы - строка i по ненулевым элементам с i-м столбцом, у остальных - поэлементно.
+     * Несимметричная матрица обычно отличается уже на первой строке.
+     * @return true, если матрица квадратная и кососимметричная.
      */
-    private void searchRowDomination() {
-        ArrayList<Boolean> isRowRemoved = new ArrayList<Boolean>();
-        for(int i=0;i< payoffMatrix.getRowDimension();i++)
+    private boolean isSkewSymmetric() {
+        int dimension = payoffMatrix.getRowDimension();
+        if(dimension!=payoffMatrix.getColumnDimension())
+        {
+            return false;
+        }
+        MatrixSummary summary = payoffMatrix.getSummary();
+        if(summary.getMinElement() - addedValue!=-(summary.getMaxElement() - addedValue))
         {
-            isRowRemoved.add(false);
-            for(int k=0;k< payoffMatrix.getRowDimension();k++)
+            return false;
+        }
+        MatrixStorage storage = payoffMatrix.getStorage();
+        if(storage instanceof SparseMatrixStorage && ((SparseMatrixStorage) storage).getShift()==addedValue)
+        {
+            SparseMatrixStorage sparse = (SparseMatrixStorage) storage;
+            int[] rowPointers = sparse.getRowPointers();
+            int[] columnPointers = sparse.getColumnPointers();
+            for(int i=0;i<dimension;i++)
             {
-                if(isRowRemoved.get(i))
+                //a(i,j) = -a(j,i) for all j means that row i is the negated column i
+                if(!SparseMatrixStorage.vectorsEqual(sparse.getColumnIndexes(), sparse.getRowValues(), rowPointers[i], rowPointers[i + 1],
+                        sparse.getRowIndexes(), sparse.getColumnValues(), columnPointers[i], columnPointers[i + 1], -1, null))
                 {
-                    break;
-                }
-                for(int j=0;j< payoffMatrix.getColumnDimension();j++)
-                {
-                    if(i==k)
-                    {
-                        break;
-                    }
-                    if(payoffMatrix.get(i,j)> payoffMatrix.get(k,j))
-                    {
-                        isRowRemoved.set(i,false);
-                        break;
-                    }
-                    else
-                    {
-                        if(payoffMatrix.get(i,j)< payoffMatrix.get(k,j))
-                        {
-                            isRowRemoved.set(i,true);
-                        }
-                    }
+                    return false;
                 }
             }
+            return true;
         }
-        for(int i=0;i<payoffMatrix.getRowDimension();i++)
+        for(int i=0;i<dimension;i++)
         {
-            if(isRowRemoved.get(i))
+            for(int j=i;j<dimension;j++)
             {
-                if(removedRowIndexes.isEmpty())
-                {
-                    removedRowIndexes.add(i);
-                }
-                else
+                if(payoffMatrix.get(i, j) - addedValue!=-(payoffMatrix.get(j, i) - addedValue))
                 {
-                    int real_index = i;
-                    for(int index : removedRowIndexes)
-                    {
-                        if(index <= real_index)
-                        {
-                            real_index++;
-                        }
-                    }
-                    removedRowIndexes.add(real_index);
+                    return false;
                 }
-                payoffMatrix.removeRow(i);
-                isRowRemoved.remove(i);
-                i--;
             }
         }
+        return true;
     }
 
     /**
-     * Поиск доминирования среди столбцов.
+     * Получить срок решения, заданный методу.
+     * @param solver Метод решения игры.
+     * @return Срок решения или null, если метод не ограничен сроком.
      */
-    private void searchColumnDomination() {
-        ArrayList<Boolean> isColumnRemoved = new ArrayList<Boolean>();
-        for(int j=0;j< payoffMatrix.getColumnDimension();j++)
+    private static SolveDeadline getDeadline(Solver solver) {
+        if(solver instanceof IterativeSolver)
         {
-            isColumnRemoved.add(false);
-            for(int k=0;k< payoffMatrix.getColumnDimension();k++)
-            {
-                if(isColumnRemoved.get(j))
-                {
-                    break;
-                }
-                for(int i=0;i< payoffMatrix.getRowDimension();i++)
-                {
-                    if(j==k)
-                    {
-                        break;
-                    }
-                    if(payoffMatrix.get(i,j)< payoffMatrix.get(i,k))
-                    {
-                        isColumnRemoved.set(j,false);
-                        break;
-                    }
-                    else
-                    {
-                        if(payoffMatrix.get(i,j)> payoffMatrix.get(i,k))
-                        {
-                            isColumnRemoved.set(j,true);
-                        }
-                    }
-                }
-            }
+            return ((IterativeSolver) solver).getDeadline();
         }
-        for(int j=0;j<payoffMatrix.getColumnDimension();j++)
+        if(solver instanceof NoRegretSolver)
         {
-            if(isColumnRemoved.get(j))
-            {
-                if(removedColumnIndexes.isEmpty())
-                {
-                    removedColumnIndexes.add(j);
-                }
-                else
-                {
-                    int real_index = j;
-                    for(int index : removedColumnIndexes)
-                    {
-                        if(index <= real_index)
-                        {
-                            real_index++;
-                        }
-                    }
-                    removedColumnIndexes.add(real_index);
-                }
-                payoffMatrix.removeColumn(j);
-                isColumnRemoved.remove(j);
-                j--;
-            }
+            return ((NoRegretSolver) solver).getDeadline();
+        }
+        return null;
+    }
+
+    /**
+     * Начать событие этапа решения для JDK Flight Recorder.
+     * @param phase Название этапа.
+     * @param rows Количество строк матрицы этапа.
+     * @param columns Количество столбцов матрицы этапа.
+     * @return Событие.
+     */
+    private static SolvePhaseEvent beginPhase(String phase, int rows, int columns) {
+        SolvePhaseEvent event = new SolvePhaseEvent();
+        event.phase = phase;
+        event.rows = rows;
+        event.columns = columns;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Завершить этап решения и сохранить его событие, если запись ведется.
+     * @param event Событие этапа.
+     * @param start Время начала этапа по {@link System#nanoTime()}.
+     * @return Время этапа в наносекундах.
+     */
+    private static long endPhase(SolvePhaseEvent event, long start) {
+        long nanos = System.nanoTime() - start;
+        event.end();
+        if(event.shouldCommit())
+        {
+            event.commit();
+        }
+        return nanos;
+    }
+
+    /**
+     * Запомнить метрики решения и добавить их к метрикам процесса, если их сбор включен.
+     * @param metrics Метрики решения.
+     * @param saddlePoint Решена ли игра по седловой точке.
+     */
+    private void recordMetrics(SolveMetrics metrics, boolean saddlePoint) {
+        lastSolveMetrics = metrics;
+        if(SolverMetrics.isEnabled())
+        {
+            SolverMetrics.getInstance().record(metrics, saddlePoint);
+        }
+    }
+
+    /**
+     * Выбрать элементы массива с указанными номерами.
+     * @param values Массив.
+     * @param indexes Номера элементов.
+     * @return Массив выбранных элементов.
+     */
+    private static double[] select(double[] values, int[] indexes) {
+        double[] result = new double[indexes.length];
+        for(int t=0;t<indexes.length;t++)
+        {
+            result[t] = values[indexes[t]];
+        }
+        return result;
+    }
+
+    /**
+     * Добавить значение к платежной матрицы. Это делается для того, чтобы избежать счета отрицательных чисел.
+     * В конце данное число вычитается из цены игры. При повторном решении прибавленные числа суммируются.
+     */
+    private void addValue() {
+        double min = payoffMatrix.getSummary().getMinElement();
+        if(min<0) {
+            payoffMatrix.addConstValue(Math.abs(min));
+            addedValue += Math.abs(min);
         }
     }
 
@@ -354,46 +560,19 @@ public class Game {
      * @return Нижняя граница цены игры.
      */
     public Point getLowerBound() {
-        //lower bound value
-        double max_a;
-        //lower bound index
-        int max_a_index;
-
-        //an array for first player's minimum gains
-        double[] a = new double[payoffMatrix.getRowDimension()];
+        return getLowerBound(payoffMatrix);
+    }
 
-        //set first player's minimum gain to first element in a row
-        for(int i=0;i< payoffMatrix.getRowDimension();i++)
-        {
-            a[i]= payoffMatrix.get(i,0);
-        }
-        //find minimum gains in each row
-        for(int i=0;i< payoffMatrix.getRowDimension();i++)
-        {
-            for(int j=1;j< payoffMatrix.getColumnDimension();j++)
-            {
-                if(payoffMatrix.get(i,j)<a[i])
-                {
-                    //replace if current element is less than the min element
-                    a[i]= payoffMatrix.get(i,j);
-                }
-            }
-        }
-        max_a=a[0];
-        max_a_index=0;
-        //find the maximum element of an array of minimum gains
-        for(int i=1;i< payoffMatrix.getRowDimension();i++)
-        {
-            if(a[i]>max_a)
-            {
-                max_a=a[i];
-                max_a_index=i;
-            }
-        }
-        Point A = new Point(max_a_index,max_a);
-        //x-coordinate is an integer index
-        //y-coordinate is a double value
-        return A;
+    /**
+     * Получить нижнюю границу цены игры с указанной платежной матрицей.
+     * @param payoffMatrix Платежная матрица.
+     * @return Нижняя граница цены игры.
+     */
+    static Point getLowerBound(Matrix payoffMatrix) {
+        //x-coordinate is a max_a index, the row with the maximum of the minimum gains
+        //y-coordinate is a max_a value
+        MatrixSummary summary = payoffMatrix.getSummary();
+        return new Point(summary.getMaximinIndex(), summary.getMaximin());
     }
 
     /**
@@ -401,39 +580,19 @@ public class Game {
      * @return Верхняя граница цены игры.
      */
     public Point getUpperBound() {
-        //algorithm is similar to getLowerBound()
-        double min_b;
-        int min_b_index;
-
-        double b[] = new double[payoffMatrix.getColumnDimension()];
-
-        for(int j=0;j< payoffMatrix.getColumnDimension();j++)
-        {
-            b[j]= payoffMatrix.get(0,j);
-        }
+        return getUpperBound(payoffMatrix);
+    }
 
-        for(int j=0;j< payoffMatrix.getColumnDimension();j++)
-        {
-            for(int i=1;i< payoffMatrix.getRowDimension();i++)
-            {
-                if(payoffMatrix.get(i,j)>b[j])
-                {
-                    b[j]= payoffMatrix.get(i,j);
-                }
-            }
-        }
-        min_b=b[0];
-        min_b_index=0;
-        for(int j=1;j< payoffMatrix.getColumnDimension();j++)
-        {
-            if(b[j]<min_b)
-            {
-                min_b=b[j];
-                min_b_index=j;
-            }
-        }
-        Point B = new Point(min_b_index,min_b);
-        return B;
+    /**
+     * Получить верхнюю границу цены игры с указанной платежной матрицей.
+     * @param payoffMatrix Платежная матрица.
+     * @return Верхняя граница цены игры.
+     */
+    static Point getUpperBound(Matrix payoffMatrix) {
+        //x-coordinate is a min_b index, the column with the minimum of the maximum losses
+        //y-coordinate is a min_b value
+        MatrixSummary summary = payoffMatrix.getSummary();
+        return new Point(summary.getMinimaxIndex(), summary.getMinimax());
     }
 
     /**
@@ -475,12 +634,37 @@ public class Game {
     private double addedValue=0;
 
     /**
-     * Количество итераций.
+     * Количество итераций, выполненных при последнем решении.
      */
     private int numberOfIterations;
 
     /**
-     * Массив итераций.
+     * Итеративный метод, которым игра решалась в последний раз. Равен null, если игра решалась другим методом.
+     */
+    private IterativeSolver iterativeSolver;
+
+    /**
+     * Сохранять ли итерации.
+     */
+    private boolean iterationHistoryEnabled = false;
+
+    /**
+     * Слушатель итераций или null.
+     */
+    private IterationListener iterationListener;
+
+    /**
+     * Метрики последнего решения или null.
+     */
+    private SolveMetrics lastSolveMetrics;
+
+    /**
+     * Результат предыдущего решения для теплого старта текущего решения или null.
+     */
+    private Result warmStartResult;
+
+    /**
+     * Вес результата предыдущего решения в итерациях.
      */
-    private Iteration[] iterations;
+    private int warmStartWeight;
 }
@@ -0,0 +1,95 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Слушатель, переводящий итерации решения матрицы без доминируемых стратегий и с прибавленным числом
+ * в номера стратегий исходной матрицы и цену исходной игры. Сам служит представлением переведенной итерации.
+ */
+final class GameIterationListener implements IterationListener, IterationView {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор.
+     * @param listener Слушатель, которому передаются переведенные итерации.
+     * @param rows Номера строк исходной матрицы, оставшихся после удаления доминируемых.
+     * @param columns Номера столбцов исходной матрицы, оставшихся после удаления доминируемых.
+     * @param addedValue Число, прибавленное к платежной матрице.
+     */
+    GameIterationListener(IterationListener listener, int[] rows, int[] columns, double addedValue) {
+        this.listener = listener;
+        this.rows = rows;
+        this.columns = columns;
+        this.addedValue = addedValue;
+    }
+
+    /*
+    * PUBLIC
+    * */
+
+    @Override
+    public void iterationCompleted(IterationView iteration) {
+        this.iteration = iteration;
+        listener.iterationCompleted(this);
+    }
+
+    @Override
+    public int getIterationNumber() {
+        return iteration.getIterationNumber();
+    }
+
+    @Override
+    public int getFirstPlayerStrategyIndex() {
+        return rows[iteration.getFirstPlayerStrategyIndex()];
+    }
+
+    @Override
+    public int getSecondPlayerStrategyIndex() {
+        return columns[iteration.getSecondPlayerStrategyIndex()];
+    }
+
+    @Override
+    public double getGameValue() {
+        return iteration.getGameValue() - addedValue;
+    }
+
+    @Override
+    public double getGameValueLowerBound() {
+        return iteration.getGameValueLowerBound() - addedValue;
+    }
+
+    @Override
+    public double getGameValueUpperBound() {
+        return iteration.getGameValueUpperBound() - addedValue;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Слушатель, которому передаются переведенные итерации.
+     */
+    private final IterationListener listener;
+
+    /**
+     * Номера оставшихся строк исходной матрицы.
+     */
+    private final int[] rows;
+
+    /**
+     * Номера оставшихся столбцов исходной матрицы.
+     */
+    private final int[] columns;
+
+    /**
+     * Число, прибавленное к платежной матрице.
+     */
+    private final double addedValue;
+
+    /**
+     * Текущая итерация.
+     */
+    private IterationView iteration;
+}
@@ -0,0 +1,93 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Метод мультипликативных весов (Hedge). Оба игрока одновременно выбирают стратегии,
+ * пропорциональные экспонентам от накопленных выигрышей (проигрышей со знаком минус) каждой чистой стратегии.
+ * Шаг на итерации t равен 4*sqrt(ln(k)/t), деленному на разброс элементов матрицы, где k - количество стратегий игрока.
+ * Зазор двойственности средних стратегий убывает как 1/sqrt(t).
+ */
+public class HedgeSolver extends NoRegretSolver {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Конструктор метода с фиксированным количеством итераций.
+     * @param numberOfIterations Количество итераций.
+     */
+    public HedgeSolver(int numberOfIterations) {
+        super(numberOfIterations);
+    }
+
+    /**
+     * Конструктор метода с заданной точностью и ограничением количества итераций.
+     * @param epsilon Допустимый зазор двойственности.
+     * @param maxNumberOfIterations Максимальное количество итераций.
+     */
+    public HedgeSolver(double epsilon, int maxNumberOfIterations) {
+        super(epsilon, maxNumberOfIterations);
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    @Override
+    void start(Matrix payoffMatrix) {
+        firstPlayerGainsSum = new double[payoffMatrix.getRowDimension()];
+        secondPlayerLossesSum = new double[payoffMatrix.getColumnDimension()];
+        range = getRange(payoffMatrix);
+    }
+
+    @Override
+    void step(Matrix payoffMatrix, int iterationNumber, double[] firstPlayerStrategy, double[] secondPlayerStrategy,
+              double[] secondPlayerLosses, double[] firstPlayerGains) {
+        softmax(firstPlayerGainsSum, stepSize(firstPlayerGainsSum.length, iterationNumber), firstPlayerStrategy);
+        softmax(secondPlayerLossesSum, -stepSize(secondPlayerLossesSum.length, iterationNumber), secondPlayerStrategy);
+        payoffMatrix.multiplyLeft(firstPlayerStrategy, secondPlayerLosses);
+        payoffMatrix.multiplyRight(secondPlayerStrategy, firstPlayerGains);
+        for(int i=0;i<firstPlayerGainsSum.length;i++)
+        {
+            firstPlayerGainsSum[i] += firstPlayerGains[i];
+        }
+        for(int j=0;j<secondPlayerLossesSum.length;j++)
+        {
+            secondPlayerLossesSum[j] += secondPlayerLosses[j];
+        }
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Получить шаг итерации.
+     * @param numberOfStrategies Количество стратегий игрока.
+     * @param iterationNumber Номер итерации.
+     * @return Шаг.
+     */
+    private double stepSize(int numberOfStrategies, int iterationNumber) {
+        return STEP_SIZE * Math.sqrt(Math.log(Math.max(2, numberOfStrategies)) / iterationNumber) / range;
+    }
+
+    /**
+     * Множитель шага для матрицы с разбросом элементов 1.
+     */
+    private static final double STEP_SIZE = 4;
+
+    /**
+     * Накопленные выигрыши первого игрока.
+     */
+    private double[] firstPlayerGainsSum;
+
+    /**
+     * Накопленные проигрыши второго игрока.
+     */
+    private double[] secondPlayerLossesSum;
+
+    /**
+     * Разброс элементов матрицы.
+     */
+    private double range;
+}
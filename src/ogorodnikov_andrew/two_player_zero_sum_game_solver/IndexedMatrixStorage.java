@@ -0,0 +1,160 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.Arrays;
+
+/**
+ * Представление части другого хранилища по номерам строк и столбцов без копирования элементов.
+ * Используется для хранилищ вне кучи, которые нельзя изменять на месте.
+ * Число, добавленное к элементам представления, хранится в нем самом и не меняет исходное хранилище.
+ */
+final class IndexedMatrixStorage extends MatrixStorage {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор представления. Массивы номеров не копируются.
+     * @param base Исходное хранилище.
+     * @param rowPositions Номера строк исходного хранилища.
+     * @param columnPositions Номера столбцов исходного хранилища.
+     * @param shift Число, добавляемое к элементам исходного хранилища.
+     */
+    IndexedMatrixStorage(MatrixStorage base, int[] rowPositions, int[] columnPositions, double shift)
+    {
+        this.base = base;
+        this.rowPositions = rowPositions;
+        this.columnPositions = columnPositions;
+        this.rowDimension = rowPositions.length;
+        this.columnDimension = columnPositions.length;
+        this.shift = shift;
+    }
+
+    @Override
+    int getRowDimension()
+    {
+        return rowDimension;
+    }
+
+    @Override
+    int getColumnDimension()
+    {
+        return columnDimension;
+    }
+
+    @Override
+    double get(int rowPosition, int columnPosition)
+    {
+        return base.get(rowPositions[rowPosition], columnPositions[columnPosition]) + shift;
+    }
+
+    /**
+     * Размер представления включает исходное хранилище, которое оно держит.
+     */
+    @Override
+    long getMemorySize()
+    {
+        return base.getMemorySize() + (long) (rowPositions.length + columnPositions.length) * Integer.BYTES;
+    }
+
+    @Override
+    boolean isComputedOnDemand()
+    {
+        return base.isComputedOnDemand();
+    }
+
+    @Override
+    void addConstValue(double value)
+    {
+        shift += value;
+    }
+
+    @Override
+    MatrixStorage removeRow(int rowPosition)
+    {
+        System.arraycopy(rowPositions, rowPosition + 1, rowPositions, rowPosition, rowDimension - rowPosition - 1);
+        rowDimension--;
+        return this;
+    }
+
+    @Override
+    MatrixStorage removeColumn(int columnPosition)
+    {
+        System.arraycopy(columnPositions, columnPosition + 1, columnPositions, columnPosition, columnDimension - columnPosition - 1);
+        columnDimension--;
+        return this;
+    }
+
+    @Override
+    MatrixStorage subStorage(int[] rowPositions, int[] columnPositions)
+    {
+        int[] baseRowPositions = new int[rowPositions.length];
+        for(int i=0;i<rowPositions.length;i++)
+        {
+            baseRowPositions[i] = this.rowPositions[rowPositions[i]];
+        }
+        int[] baseColumnPositions = new int[columnPositions.length];
+        for(int j=0;j<columnPositions.length;j++)
+        {
+            baseColumnPositions[j] = this.columnPositions[columnPositions[j]];
+        }
+        return new IndexedMatrixStorage(base, baseRowPositions, baseColumnPositions, shift);
+    }
+
+    /**
+     * Создать представление над всем хранилищем.
+     * @param base Исходное хранилище.
+     * @param shift Число, добавляемое к элементам исходного хранилища.
+     * @return Представление.
+     */
+    static IndexedMatrixStorage of(MatrixStorage base, double shift)
+    {
+        return new IndexedMatrixStorage(base, range(base.getRowDimension()), range(base.getColumnDimension()), shift);
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Получить массив 0, 1, ..., length-1.
+     * @param length Длина массива.
+     * @return Массив номеров.
+     */
+    private static int[] range(int length)
+    {
+        int[] result = new int[length];
+        Arrays.setAll(result, k -> k);
+        return result;
+    }
+
+    /**
+     * Исходное хранилище.
+     */
+    private final MatrixStorage base;
+
+    /**
+     * Номера строк исходного хранилища. Используются первые rowDimension элементов.
+     */
+    private final int[] rowPositions;
+
+    /**
+     * Номера столбцов исходного хранилища. Используются первые columnDimension элементов.
+     */
+    private final int[] columnPositions;
+
+    /**
+     * Количество строк.
+     */
+    private int rowDimension;
+
+    /**
+     * Количество столбцов.
+     */
+    private int columnDimension;
+
+    /**
+     * Число, добавляемое к элементам исходного хранилища.
+     */
+    private double shift;
+}
@@ -23,59 +23,34 @@ public class Iteration {
     Iteration(int iterationNumber, Matrix payoffMatrix, int firstPersonStrategyIndex, double[] firstPlayerGains,  double[] secondPlayerLosses) {
         this.iterationNumber = iterationNumber;
         this.payoffMatrix = payoffMatrix;
-        this.firstPlayerStrategyIndex = firstPersonStrategyIndex;
-        this.firstPlayerGainsArray = firstPlayerGains;
-        this.secondPlayerLossesArray = secondPlayerLosses;
 
-        //Считаем выигрыши первого игрока на данной итерации
-        for(int j=0;j<this.payoffMatrix.getColumnDimension();j++)
-        {
-            firstPlayerGainsArray[j]+=payoffMatrix.get(firstPlayerStrategyIndex,j);
-
-        }
-        double min=firstPlayerGainsArray[0];
-
-        //Теперь определимся с выбором стратегии второго игрока
-        // в соответствии с минимальным выигрышем первого
-        int secondPlayerStrategyIndex=0;
-        for(int j=1;j<payoffMatrix.getColumnDimension();j++)
-        {
-            if(min>firstPlayerGainsArray[j])
-            {
-                min=firstPlayerGainsArray[j];
-                secondPlayerStrategyIndex=j;
-            }
-        }
-
-        this.secondPlayerStrategyIndex = secondPlayerStrategyIndex;
-
-        //Подсчитаем проигрыши второго игрока в соответствии с выбранной стратегией
-        for(int i=0;i<payoffMatrix.getRowDimension();i++)
-        {
-            secondPlayerLossesArray[i]+=payoffMatrix.get(i, secondPlayerStrategyIndex);
-
-        }
-
-        //Подсчитаем индекс следующей стратегии первого игрока
-        //в соответствии с максимальным проигрышем второго игрока
-        // Это сделано для того,
-        // чтобы не обращаться к данной итерации при подсчете номера стратегии первого игрока в следующей итерации
-        double max=secondPlayerLossesArray[0];
-        int maxLossIndex=0;
-        maxLossIndex = 0;
-        for(int i=1;i<payoffMatrix.getRowDimension();i++)
-        {
-            if(max<secondPlayerLossesArray[i])
-            {
-                max=secondPlayerLossesArray[i];
-                maxLossIndex=i;
-            }
-        }
-
-        nextIndex = maxLossIndex;
-
-        gameValue =(max+min) / 2 / this.iterationNumber;
+        //Массивы выигрышей и проигрышей обновляются на месте
+        IterationState state = new IterationState(payoffMatrix, iterationNumber - 1, firstPersonStrategyIndex, firstPlayerGains, secondPlayerLosses,
+                IterationKernel.scalar());
+        state.next();
+        this.firstPlayerGainsArray = state.getFirstPlayerGainsArray();
+        this.secondPlayerLossesArray = state.getSecondPlayerLossesArray();
+
+        this.firstPlayerStrategyIndex = state.getFirstPlayerStrategyIndex();
+        this.secondPlayerStrategyIndex = state.getSecondPlayerStrategyIndex();
+        this.nextIndex = state.getNextIndex();
+        this.gameValue = state.getGameValue();
+    }
 
+    /**
+     * Конструктор итерации по текущему состоянию итеративного процесса.
+     * Массивы выигрышей и проигрышей копируются.
+     * @param state Состояние итеративного процесса после выполнения итерации.
+     */
+    Iteration(IterationState state) {
+        this.iterationNumber = state.getIterationNumber();
+        this.payoffMatrix = state.getPayoffMatrix();
+        this.firstPlayerGainsArray = state.getFirstPlayerGainsArray().clone();
+        this.secondPlayerLossesArray = state.getSecondPlayerLossesArray().clone();
+        this.firstPlayerStrategyIndex = state.getFirstPlayerStrategyIndex();
+        this.secondPlayerStrategyIndex = state.getSecondPlayerStrategyIndex();
+        this.nextIndex = state.getNextIndex();
+        this.gameValue = state.getGameValue();
     }
 
     /**
@@ -0,0 +1,73 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Вычислительное ядро итерации метода Брауна-Робинсон:
+ * прибавление строки или столбца платежной матрицы к накопленному массиву с поиском минимума или максимума.
+ * Все реализации возвращают номер первого из равных экстремальных элементов.
+ */
+public interface IterationKernel {
+
+    /**
+     * Прибавить строку платежной матрицы к массиву выигрышей первого игрока и найти минимальный выигрыш.
+     * @param payoffMatrix Платежная матрица.
+     * @param rowPosition Номер строки.
+     * @param gains Массив выигрышей первого игрока. Изменяется на месте.
+     * @return Номер первого минимального элемента массива после прибавления.
+     */
+    int addRowAndFindMin(Matrix payoffMatrix, int rowPosition, double[] gains);
+
+    /**
+     * Прибавить столбец платежной матрицы к массиву проигрышей второго игрока и найти максимальный проигрыш.
+     * @param payoffMatrix Платежная матрица.
+     * @param columnPosition Номер столбца.
+     * @param losses Массив проигрышей второго игрока. Изменяется на месте.
+     * @return Номер первого максимального элемента массива после прибавления.
+     */
+    int addColumnAndFindMax(Matrix payoffMatrix, int columnPosition, double[] losses);
+
+    /**
+     * Получить последовательное ядро.
+     * @return Последовательное ядро.
+     */
+    static IterationKernel scalar() {
+        return ScalarIterationKernel.INSTANCE;
+    }
+
+    /**
+     * Получить векторное ядро, если модуль jdk.incubator.vector подключен (--add-modules jdk.incubator.vector),
+     * иначе последовательное ядро.
+     * @return Векторное или последовательное ядро.
+     */
+    static IterationKernel vector() {
+        if(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+        {
+            try
+            {
+                return VectorIterationKernel.INSTANCE;
+            }
+            catch (LinkageError e)
+            {
+                //the module is present but the vector classes cannot be linked, use the scalar kernel
+            }
+        }
+        return scalar();
+    }
+
+    /**
+     * Получить параллельное ядро с порогом по умолчанию.
+     * @return Параллельное ядро.
+     */
+    static IterationKernel parallel() {
+        return ParallelIterationKernel.DEFAULT;
+    }
+
+    /**
+     * Получить параллельное ядро, которое делит массивы длиной не меньше порога на части
+     * и обрабатывает их в общем пуле потоков. Более короткие массивы обрабатываются последовательно.
+     * @param threshold Минимальная длина массива для параллельной обработки.
+     * @return Параллельное ядро.
+     */
+    static IterationKernel parallel(int threshold) {
+        return new ParallelIterationKernel(threshold);
+    }
+}
@@ -0,0 +1,17 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Слушатель итераций итеративного метода. Вызывается после каждой итерации в потоке, решающем игру.
+ * В отличие от сохранения итераций, не требует хранить массивы выигрышей и проигрышей.
+ * Готовые слушатели: {@link SampledIterationListener} для каждой N-й итерации
+ * и {@link IterationTrace} для компактной истории.
+ */
+@FunctionalInterface
+public interface IterationListener {
+
+    /**
+     * Обработать выполненную итерацию.
+     * @param iteration Представление итерации, действительное только во время вызова.
+     */
+    void iterationCompleted(IterationView iteration);
+}
@@ -0,0 +1,323 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Изменяемое состояние итеративного процесса Брауна-Робинсон.
+ * Массивы накопленных выигрышей и проигрышей обновляются на месте,
+ * поэтому память, занимаемая процессом, не зависит от количества итераций.
+ * Для разреженной матрицы ядро не используется: к массивам прибавляются только ненулевые элементы,
+ * экстремумы ищутся деревьями турнира, а число, добавленное к элементам матрицы, накапливается отдельно
+ * и прибавляется к массивам только при их получении. Поэтому итерация занимает время, пропорциональное
+ * количеству ненулевых элементов строки и столбца, а не размерам матрицы.
+ * Состояние само служит представлением итерации для {@link IterationListener}.
+ */
+final class IterationState implements IterationView {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор состояния.
+     * @param payoffMatrix Платежная матрица.
+     * @param iterationNumber Количество уже выполненных итераций.
+     * @param nextIndex Номер стратегии первого игрока для следующей итерации.
+     * @param firstPlayerGains Массив выигрышей первого игрока. Изменяется на месте.
+     * @param secondPlayerLosses Массив проигрышей второго игрока. Изменяется на месте.
+     * @param kernel Вычислительное ядро итерации.
+     */
+    IterationState(Matrix payoffMatrix, int iterationNumber, int nextIndex, double[] firstPlayerGains, double[] secondPlayerLosses,
+                   IterationKernel kernel) {
+        this.payoffMatrix = payoffMatrix;
+        this.kernel = kernel;
+        this.iterationNumber = iterationNumber;
+        this.nextIndex = nextIndex;
+        this.firstPlayerGainsArray = firstPlayerGains;
+        this.secondPlayerLossesArray = secondPlayerLosses;
+        MatrixStorage storage = payoffMatrix.getStorage();
+        if(storage instanceof SparseMatrixStorage)
+        {
+            this.sparseStorage = (SparseMatrixStorage) storage;
+            this.gainsTree = new TournamentTree(firstPlayerGains, false);
+            this.lossesTree = new TournamentTree(secondPlayerLosses, true);
+        }
+        else
+        {
+            this.sparseStorage = null;
+            this.gainsTree = null;
+            this.lossesTree = null;
+        }
+    }
+
+    /**
+     * Выполнить следующую итерацию.
+     */
+    void next() {
+        iterationNumber++;
+        firstPlayerStrategyIndex = nextIndex;
+        if(sparseStorage!=null)
+        {
+            nextSparse();
+            return;
+        }
+
+        //Считаем выигрыши первого игрока и выбираем стратегию второго игрока по минимальному выигрышу первого
+        secondPlayerStrategyIndex = kernel.addRowAndFindMin(payoffMatrix, firstPlayerStrategyIndex, firstPlayerGainsArray);
+        double min = firstPlayerGainsArray[secondPlayerStrategyIndex];
+
+        //Считаем проигрыши второго игрока и выбираем следующую стратегию первого игрока по максимальному проигрышу второго
+        nextIndex = kernel.addColumnAndFindMax(payoffMatrix, secondPlayerStrategyIndex, secondPlayerLossesArray);
+        double max = secondPlayerLossesArray[nextIndex];
+
+        minGain = min;
+        maxLoss = max;
+        gameValue = (max+min) / 2 / iterationNumber;
+    }
+
+    /**
+     * Получить количество выполненных итераций.
+     * @return Количество выполненных итераций.
+     */
+    @Override
+    public int getIterationNumber() {
+        return iterationNumber;
+    }
+
+    /**
+     * Получить номер стратегии первого игрока на последней итерации.
+     * @return Номер стратегии первого игрока.
+     */
+    @Override
+    public int getFirstPlayerStrategyIndex() {
+        return firstPlayerStrategyIndex;
+    }
+
+    /**
+     * Получить номер стратегии второго игрока на последней итерации.
+     * @return Номер стратегии второго игрока.
+     */
+    @Override
+    public int getSecondPlayerStrategyIndex() {
+        return secondPlayerStrategyIndex;
+    }
+
+    /**
+     * Получить номер стратегии первого игрока для следующей итерации.
+     * @return Номер следующей стратегии первого игрока.
+     */
+    int getNextIndex() {
+        return nextIndex;
+    }
+
+    /**
+     * Получить минимальный накопленный выигрыш первого игрока на последней итерации.
+     * @return Минимальный накопленный выигрыш.
+     */
+    double getMinGain() {
+        return minGain;
+    }
+
+    /**
+     * Получить максимальный накопленный проигрыш второго игрока на последней итерации.
+     * @return Максимальный накопленный проигрыш.
+     */
+    double getMaxLoss() {
+        return maxLoss;
+    }
+
+    /**
+     * Получить цену игры на последней итерации.
+     * @return Цена игры.
+     */
+    @Override
+    public double getGameValue() {
+        return gameValue;
+    }
+
+    @Override
+    public double getGameValueLowerBound() {
+        return minGain / iterationNumber;
+    }
+
+    @Override
+    public double getGameValueUpperBound() {
+        return maxLoss / iterationNumber;
+    }
+
+    /**
+     * Получить массив выигрышей первого игрока. Массив не копируется.
+     * @return Массив выигрышей первого игрока.
+     */
+    double[] getFirstPlayerGainsArray() {
+        applyShifts();
+        return firstPlayerGainsArray;
+    }
+
+    /**
+     * Получить массив проигрышей второго игрока. Массив не копируется.
+     * @return Массив проигрышей второго игрока.
+     */
+    double[] getSecondPlayerLossesArray() {
+        applyShifts();
+        return secondPlayerLossesArray;
+    }
+
+    /**
+     * Получить платежную матрицу.
+     * @return Платежная матрица.
+     */
+    Matrix getPayoffMatrix() {
+        return payoffMatrix;
+    }
+
+    /**
+     * Заменить платежную матрицу матрицей с теми же элементами в другой раскладке (см. {@link Matrix#dualLayout(Matrix)}).
+     * Следующие итерации читают новую матрицу, накопленные массивы не меняются.
+     * @param payoffMatrix Платежная матрица с теми же элементами. Не разреженная.
+     */
+    void setPayoffMatrix(Matrix payoffMatrix) {
+        this.payoffMatrix = payoffMatrix;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Выполнить итерацию по разреженной матрице.
+     */
+    private void nextSparse() {
+        int[] rowPointers = sparseStorage.getRowPointers();
+        int[] columnIndexes = sparseStorage.getColumnIndexes();
+        double[] rowValues = sparseStorage.getRowValues();
+        for(int k=rowPointers[firstPlayerStrategyIndex];k<rowPointers[firstPlayerStrategyIndex + 1];k++)
+        {
+            int j = columnIndexes[k];
+            firstPlayerGainsArray[j] += rowValues[k];
+            gainsTree.update(j);
+        }
+        gainsShift += sparseStorage.getShift();
+        secondPlayerStrategyIndex = gainsTree.getWinner();
+        double min = firstPlayerGainsArray[secondPlayerStrategyIndex] + gainsShift;
+
+        int[] columnPointers = sparseStorage.getColumnPointers();
+        int[] rowIndexes = sparseStorage.getRowIndexes();
+        double[] columnValues = sparseStorage.getColumnValues();
+        for(int k=columnPointers[secondPlayerStrategyIndex];k<columnPointers[secondPlayerStrategyIndex + 1];k++)
+        {
+            int i = rowIndexes[k];
+            secondPlayerLossesArray[i] += columnValues[k];
+            lossesTree.update(i);
+        }
+        lossesShift += sparseStorage.getShift();
+        nextIndex = lossesTree.getWinner();
+        double max = secondPlayerLossesArray[nextIndex] + lossesShift;
+
+        minGain = min;
+        maxLoss = max;
+        gameValue = (max+min) / 2 / iterationNumber;
+    }
+
+    /**
+     * Прибавить к массивам накопленное число, добавленное к элементам разреженной матрицы.
+     */
+    private void applyShifts() {
+        if(gainsShift!=0)
+        {
+            for(int j=0;j<firstPlayerGainsArray.length;j++)
+            {
+                firstPlayerGainsArray[j] += gainsShift;
+            }
+            gainsShift = 0;
+            gainsTree.rebuild();
+        }
+        if(lossesShift!=0)
+        {
+            for(int i=0;i<secondPlayerLossesArray.length;i++)
+            {
+                secondPlayerLossesArray[i] += lossesShift;
+            }
+            lossesShift = 0;
+            lossesTree.rebuild();
+        }
+    }
+
+    /**
+     * Платежная матрица.
+     */
+    private Matrix payoffMatrix;
+
+    /**
+     * Вычислительное ядро итерации.
+     */
+    private final IterationKernel kernel;
+
+    /**
+     * Массив выигрышей первого игрока.
+     */
+    private final double[] firstPlayerGainsArray;
+
+    /**
+     * Массив проигрышей второго игрока.
+     */
+    private final double[] secondPlayerLossesArray;
+
+    /**
+     * Хранилище разреженной матрицы или null, если матрица не разреженная.
+     */
+    private final SparseMatrixStorage sparseStorage;
+
+    /**
+     * Дерево турнира для поиска минимального выигрыша. Используется только для разреженной матрицы.
+     */
+    private final TournamentTree gainsTree;
+
+    /**
+     * Дерево турнира для поиска максимального проигрыша. Используется только для разреженной матрицы.
+     */
+    private final TournamentTree lossesTree;
+
+    /**
+     * Накопленное число, еще не прибавленное к массиву выигрышей.
+     */
+    private double gainsShift;
+
+    /**
+     * Накопленное число, еще не прибавленное к массиву проигрышей.
+     */
+    private double lossesShift;
+
+    /**
+     * Количество выполненных итераций.
+     */
+    private int iterationNumber;
+
+    /**
+     * Номер стратегии первого игрока для следующей итерации.
+     */
+    private int nextIndex;
+
+    /**
+     * Номер стратегии первого игрока на последней итерации.
+     */
+    private int firstPlayerStrategyIndex;
+
+    /**
+     * Номер стратегии второго игрока на последней итерации.
+     */
+    private int secondPlayerStrategyIndex;
+
+    /**
+     * Минимальный накопленный выигрыш первого игрока на последней итерации.
+     */
+    private double minGain;
+
+    /**
+     * Максимальный накопленный проигрыш второго игрока на последней итерации.
+     */
+    private double maxLoss;
+
+    /**
+     * Цена игры на последней итерации.
+     */
+    private double gameValue;
+}
@@ -0,0 +1,226 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.Arrays;
+
+/**
+ * Компактная история итераций: номера итераций и стратегий, цена игры и ее границы хранятся по столбцам
+ * в массивах int[] и double[], 36 байт на итерацию независимо от размеров матрицы.
+ * История может быть неограниченной или хранить только последние итерации (кольцевой буфер).
+ * Для записи каждой N-й итерации история передается в {@link SampledIterationListener}.
+ */
+public final class IterationTrace implements IterationListener {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Конструктор неограниченной истории.
+     */
+    public IterationTrace() {
+        this.capacity = 0;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Конструктор истории, хранящей только последние итерации.
+     * @param capacity Количество хранимых итераций.
+     * @exception IllegalArgumentException Количество хранимых итераций должно быть положительным.
+     */
+    public IterationTrace(int capacity) {
+        if(capacity<1)
+        {
+            throw new IllegalArgumentException("Capacity must be a positive number");
+        }
+        this.capacity = capacity;
+        allocate(capacity);
+    }
+
+    @Override
+    public void iterationCompleted(IterationView iteration) {
+        int position;
+        if(capacity==0)
+        {
+            if(size==iterationNumbers.length)
+            {
+                allocate(iterationNumbers.length * 2);
+            }
+            position = size++;
+        }
+        else
+        {
+            position = (start + size) % capacity;
+            if(size==capacity)
+            {
+                start = (start + 1) % capacity;
+            }
+            else
+            {
+                size++;
+            }
+        }
+        iterationNumbers[position] = iteration.getIterationNumber();
+        firstPlayerStrategyIndexes[position] = iteration.getFirstPlayerStrategyIndex();
+        secondPlayerStrategyIndexes[position] = iteration.getSecondPlayerStrategyIndex();
+        gameValues[position] = iteration.getGameValue();
+        gameValueLowerBounds[position] = iteration.getGameValueLowerBound();
+        gameValueUpperBounds[position] = iteration.getGameValueUpperBound();
+    }
+
+    /**
+     * Получить количество хранимых итераций.
+     * @return Количество хранимых итераций.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Удалить все хранимые итерации.
+     */
+    public void clear() {
+        start = 0;
+        size = 0;
+    }
+
+    /**
+     * Получить номера хранимых итераций от старых к новым.
+     * @return Копия массива номеров итераций.
+     */
+    public int[] getIterationNumbers() {
+        return ordered(iterationNumbers);
+    }
+
+    /**
+     * Получить номера стратегий первого игрока на хранимых итерациях от старых к новым.
+     * @return Копия массива номеров стратегий.
+     */
+    public int[] getFirstPlayerStrategyIndexes() {
+        return ordered(firstPlayerStrategyIndexes);
+    }
+
+    /**
+     * Получить номера стратегий второго игрока на хранимых итерациях от старых к новым.
+     * @return Копия массива номеров стратегий.
+     */
+    public int[] getSecondPlayerStrategyIndexes() {
+        return ordered(secondPlayerStrategyIndexes);
+    }
+
+    /**
+     * Получить цену игры на хранимых итерациях от старых к новым.
+     * @return Копия массива цен игры.
+     */
+    public double[] getGameValues() {
+        return ordered(gameValues);
+    }
+
+    /**
+     * Получить нижние границы цены игры на хранимых итерациях от старых к новым.
+     * @return Копия массива нижних границ.
+     */
+    public double[] getGameValueLowerBounds() {
+        return ordered(gameValueLowerBounds);
+    }
+
+    /**
+     * Получить верхние границы цены игры на хранимых итерациях от старых к новым.
+     * @return Копия массива верхних границ.
+     */
+    public double[] getGameValueUpperBounds() {
+        return ordered(gameValueUpperBounds);
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Выделить массивы указанной длины, сохранив хранимые итерации.
+     * @param length Длина массивов.
+     */
+    private void allocate(int length) {
+        iterationNumbers = iterationNumbers==null ? new int[length] : Arrays.copyOf(iterationNumbers, length);
+        firstPlayerStrategyIndexes = firstPlayerStrategyIndexes==null ? new int[length] : Arrays.copyOf(firstPlayerStrategyIndexes, length);
+        secondPlayerStrategyIndexes = secondPlayerStrategyIndexes==null ? new int[length] : Arrays.copyOf(secondPlayerStrategyIndexes, length);
+        gameValues = gameValues==null ? new double[length] : Arrays.copyOf(gameValues, length);
+        gameValueLowerBounds = gameValueLowerBounds==null ? new double[length] : Arrays.copyOf(gameValueLowerBounds, length);
+        gameValueUpperBounds = gameValueUpperBounds==null ? new double[length] : Arrays.copyOf(gameValueUpperBounds, length);
+    }
+
+    /**
+     * Скопировать хранимые элементы столбца от старых к новым.
+     * @param column Столбец.
+     * @return Копия хранимых элементов.
+     */
+    private int[] ordered(int[] column) {
+        int[] result = new int[size];
+        int head = Math.min(size, column.length - start);
+        System.arraycopy(column, start, result, 0, head);
+        System.arraycopy(column, 0, result, head, size - head);
+        return result;
+    }
+
+    /**
+     * Скопировать хранимые элементы столбца от старых к новым.
+     * @param column Столбец.
+     * @return Копия хранимых элементов.
+     */
+    private double[] ordered(double[] column) {
+        double[] result = new double[size];
+        int head = Math.min(size, column.length - start);
+        System.arraycopy(column, start, result, 0, head);
+        System.arraycopy(column, 0, result, head, size - head);
+        return result;
+    }
+
+    /**
+     * Начальная длина массивов неограниченной истории.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Количество хранимых итераций кольцевого буфера или 0 для неограниченной истории.
+     */
+    private final int capacity;
+
+    /**
+     * Позиция самой старой хранимой итерации.
+     */
+    private int start;
+
+    /**
+     * Количество хранимых итераций.
+     */
+    private int size;
+
+    /**
+     * Номера итераций.
+     */
+    private int[] iterationNumbers;
+
+    /**
+     * Номера стратегий первого игрока.
+     */
+    private int[] firstPlayerStrategyIndexes;
+
+    /**
+     * Номера стратегий второго игрока.
+     */
+    private int[] secondPlayerStrategyIndexes;
+
+    /**
+     * Цены игры.
+     */
+    private double[] gameValues;
+
+    /**
+     * Нижние границы цены игры.
+     */
+    private double[] gameValueLowerBounds;
+
+    /**
+     * Верхние границы цены игры.
+     */
+    private double[] gameValueUpperBounds;
+}
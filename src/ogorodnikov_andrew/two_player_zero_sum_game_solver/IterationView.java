@@ -0,0 +1,45 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Представление выполненной итерации только для чтения.
+ * Объект действителен только во время вызова {@link IterationListener#iterationCompleted(IterationView)}
+ * и может переиспользоваться для следующих итераций, поэтому сохранять нужно значения, а не сам объект.
+ */
+public interface IterationView {
+
+    /**
+     * Получить номер итерации, начиная с единицы. При теплом старте номера продолжаются после веса теплого старта.
+     * @return Номер итерации.
+     */
+    int getIterationNumber();
+
+    /**
+     * Получить номер стратегии первого игрока на итерации.
+     * @return Номер стратегии первого игрока.
+     */
+    int getFirstPlayerStrategyIndex();
+
+    /**
+     * Получить номер стратегии второго игрока на итерации.
+     * @return Номер стратегии второго игрока.
+     */
+    int getSecondPlayerStrategyIndex();
+
+    /**
+     * Получить цену игры на итерации.
+     * @return Цена игры.
+     */
+    double getGameValue();
+
+    /**
+     * Получить нижнюю границу цены игры на итерации: минимальный накопленный выигрыш первого игрока, деленный на номер итерации.
+     * @return Нижняя граница цены игры.
+     */
+    double getGameValueLowerBound();
+
+    /**
+     * Получить верхнюю границу цены игры на итерации: максимальный накопленный проигрыш второго игрока, деленный на номер итерации.
+     * @return Верхняя граница цены игры.
+     */
+    double getGameValueUpperBound();
+}
@@ -0,0 +1,696 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * Итеративный метод Брауна-Робинсон.
+ * Нижняя граница цены игры на итерации t гарантирована средней стратегией первого игрока за t итераций,
+ * а верхняя - средней стратегией второго игрока. Результат содержит стратегию первого игрока с итерации наилучшей нижней границы
+ * и стратегию второго игрока с итерации наилучшей верхней границы, поэтому границы в результате гарантированы
+ * возвращенными стратегиями, а цена игры равна середине отрезка между ними.
+ */
+public class IterativeSolver implements Solver {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Раскладка элементов матрицы в памяти на время решения.
+     */
+    public enum MatrixLayout {
+        /**
+         * Решение начинается в хранимой раскладке. Когда выполнено столько итераций, сколько в матрице столбцов,
+         * и столбцы прочитаны столько же раз, сколько элементов читает транспонирование, матрица в куче больше кэша
+         * процессора переводится в двойную раскладку, если вторая копия помещается в половину свободной кучи.
+         * Поэтому короткие решения (теплый старт, малый срок) матрицу не копируют.
+         */
+        AUTOMATIC,
+        /**
+         * Матрица решается в той раскладке, в которой хранится.
+         */
+        STORED,
+        /**
+         * Матрица всегда копируется в двойную раскладку (см. {@link Matrix#dualLayout(Matrix)}).
+         */
+        DUAL
+    }
+
+    /**
+     * Конструктор метода с фиксированным количеством итераций.
+     * @param numberOfIterations Количество итераций.
+     */
+    public IterativeSolver(int numberOfIterations) {
+        if(numberOfIterations<1)
+        {
+            throw new IllegalArgumentException("Number of iterations must be a positive number");
+        }
+        this.epsilon = 0;
+        this.maxNumberOfIterations = numberOfIterations;
+    }
+
+    /**
+     * Конструктор метода с заданной точностью и ограничением количества итераций.
+     * Итерации прекращаются, как только разность наилучших верхней и нижней границ цены игры станет меньше epsilon,
+     * или по исчерпании количества итераций. Цена игры в результате равна середине отрезка между наилучшими границами.
+     * @param epsilon Допустимая разность границ цены игры.
+     * @param maxNumberOfIterations Максимальное количество итераций.
+     */
+    public IterativeSolver(double epsilon, int maxNumberOfIterations) {
+        if(!(epsilon>0))
+        {
+            throw new IllegalArgumentException("Epsilon must be a positive number");
+        }
+        if(maxNumberOfIterations<1)
+        {
+            throw new IllegalArgumentException("Number of iterations must be a positive number");
+        }
+        this.epsilon = epsilon;
+        this.maxNumberOfIterations = maxNumberOfIterations;
+    }
+
+    /**
+     * Включить или выключить сохранение итераций. По умолчанию итерации не сохраняются.
+     * @param iterationHistoryEnabled Сохранять ли итерации.
+     */
+    public void setIterationHistoryEnabled(boolean iterationHistoryEnabled) {
+        this.iterationHistoryEnabled = iterationHistoryEnabled;
+    }
+
+    /**
+     * Проверить, включено ли сохранение итераций.
+     * @return true, если итерации сохраняются.
+     */
+    public boolean isIterationHistoryEnabled() {
+        return iterationHistoryEnabled;
+    }
+
+    /**
+     * Задать вычислительное ядро итерации. По умолчанию используется {@link IterationKernel#parallel()},
+     * которое обрабатывает небольшие матрицы последовательно.
+     * @param iterationKernel Вычислительное ядро итерации.
+     */
+    public void setIterationKernel(IterationKernel iterationKernel) {
+        this.iterationKernel = iterationKernel;
+    }
+
+    /**
+     * Получить вычислительное ядро итерации.
+     * @return Вычислительное ядро итерации.
+     */
+    public IterationKernel getIterationKernel() {
+        return iterationKernel;
+    }
+
+    /**
+     * Задать раскладку матрицы на время решения. По умолчанию {@link MatrixLayout#AUTOMATIC}.
+     * Раскладка не меняет результат, только скорость и память.
+     * @param matrixLayout Раскладка матрицы.
+     */
+    public void setMatrixLayout(MatrixLayout matrixLayout) {
+        this.matrixLayout = Objects.requireNonNull(matrixLayout);
+    }
+
+    /**
+     * Получить раскладку матрицы на время решения.
+     * @return Раскладка матрицы.
+     */
+    public MatrixLayout getMatrixLayout() {
+        return matrixLayout;
+    }
+
+    /**
+     * Задать слушатель итераций. Слушатель получает каждую итерацию без копирования массивов
+     * и подходит для длинных решений, где сохранение итераций заняло бы слишком много памяти.
+     * @param iterationListener Слушатель итераций или null.
+     */
+    public void setIterationListener(IterationListener iterationListener) {
+        this.iterationListener = iterationListener;
+    }
+
+    /**
+     * Получить слушатель итераций.
+     * @return Слушатель итераций или null.
+     */
+    public IterationListener getIterationListener() {
+        return iterationListener;
+    }
+
+    /**
+     * Задать срок решения. Когда срок истекает или решение отменяется, итерации прекращаются,
+     * и результат содержит наилучшие найденные границы цены игры и гарантирующие их стратегии.
+     * Срок не сбрасывается после решения: истекший срок прекращает следующие решения после первой проверки.
+     * @param deadline Срок решения или null, если решение ограничено только количеством итераций и точностью.
+     */
+    public void setDeadline(SolveDeadline deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Получить срок решения.
+     * @return Срок решения или null.
+     */
+    public SolveDeadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Задать начальные смешанные стратегии для следующего решения (теплый старт).
+     * Решение начинается так, как будто уже выполнено weight итераций, в которых стратегии выбирались с указанными частотами:
+     * количества выборов равны вероятностям, умноженным на weight и округленным с сохранением суммы,
+     * а накопленные выигрыши и проигрыши пересчитываются по решаемой матрице.
+     * Если матрица изменилась мало, границы цены игры сразу близки, и точность достигается за малое количество итераций.
+     * Ограничение количества итераций относится только к новым итерациям. Теплый старт используется один раз.
+     * @param firstPlayerStrategy Вероятности стратегий первого игрока длиной в количество строк решаемой матрицы.
+     * @param secondPlayerStrategy Вероятности стратегий второго игрока длиной в количество столбцов решаемой матрицы.
+     * @param weight Количество итераций, которому соответствуют начальные стратегии.
+     * @exception IllegalArgumentException Вероятности должны быть неотрицательными, вес - положительным.
+     */
+    public void setWarmStart(double[] firstPlayerStrategy, double[] secondPlayerStrategy, int weight) {
+        if(weight<1)
+        {
+            throw new IllegalArgumentException("Warm start weight must be a positive number");
+        }
+        for(double probability : firstPlayerStrategy)
+        {
+            if(!(probability>=0))
+            {
+                throw new IllegalArgumentException("Probabilities must be non-negative numbers");
+            }
+        }
+        for(double probability : secondPlayerStrategy)
+        {
+            if(!(probability>=0))
+            {
+                throw new IllegalArgumentException("Probabilities must be non-negative numbers");
+            }
+        }
+        this.warmStartFirstPlayerStrategy = firstPlayerStrategy.clone();
+        this.warmStartSecondPlayerStrategy = secondPlayerStrategy.clone();
+        this.warmStartWeight = weight;
+    }
+
+    /**
+     * Получить указанную итерацию последнего решения. Доступно только при включенном сохранении итераций.
+     * @param iterationNumber Номер итерации.
+     * @return Итерация по указанному номеру.
+     */
+    public Iteration getIteration(int iterationNumber) {
+        if(iterations==null)
+        {
+            throw new IllegalStateException("Iteration history is disabled. Call setIterationHistoryEnabled(true) before solving");
+        }
+        if(iterationNumber>=numberOfIterations || iterationNumber<0)
+        {
+            throw new IndexOutOfBoundsException("Iteration number must be a positive number less than the number of iterations");
+        }
+        return iterations.get(iterationNumber);
+    }
+
+    /**
+     * Получить количество итераций, выполненных при последнем решении. Вес теплого старта не учитывается.
+     * @return Количество итераций.
+     */
+    public int getNumberOfIterations() {
+        return numberOfIterations;
+    }
+
+    /**
+     * Решить игру итеративным методом.
+     * @param payoffMatrix Платежная матрица.
+     * @return Результат игры.
+     */
+    @Override
+    public Result solve(Matrix payoffMatrix) {
+        numberOfIterations = 0;
+        iterations = iterationHistoryEnabled ? new ArrayList<Iteration>() : null;
+        double symmetricGameValue = this.symmetricGameValue;
+        this.symmetricGameValue = Double.NaN;
+
+        //the start index is taken from the given matrix, its summary may be already computed
+        Matrix iterationMatrix = matrixLayout==MatrixLayout.DUAL ? toDualLayout(payoffMatrix) : payoffMatrix;
+
+        double[] firstPersonGains = new double[payoffMatrix.getColumnDimension()];
+        double[] secondPersonLosses = new double[payoffMatrix.getRowDimension()];
+
+        //counters of how many times players chose each choice
+        long[] firstPlayerStrategyCounts = new long[payoffMatrix.getRowDimension()];
+        long[] secondPlayerStrategyCounts = new long[payoffMatrix.getColumnDimension()];
+
+        //best bounds of the game value over all iterations, each guaranteed by the own strategy of its player
+        double bestLowerBound = Double.NEGATIVE_INFINITY;
+        double bestUpperBound = Double.POSITIVE_INFINITY;
+
+        int initialIterationNumber = 0;
+        int startIndex;
+        if(applyWarmStart(iterationMatrix, firstPlayerStrategyCounts, secondPlayerStrategyCounts, firstPersonGains, secondPersonLosses))
+        {
+            initialIterationNumber = warmStartWeight;
+            //continue with the best response to the second player's mixed strategy
+            startIndex = ScalarIterationKernel.findMax(secondPersonLosses, 0, secondPersonLosses.length);
+            bestLowerBound = firstPersonGains[ScalarIterationKernel.findMin(firstPersonGains, 0, firstPersonGains.length)] / initialIterationNumber;
+            bestUpperBound = secondPersonLosses[startIndex] / initialIterationNumber;
+        }
+        else
+        {
+            //get the start index (index of max of min gains); a matrix computed on demand is not scanned for it
+            startIndex = payoffMatrix.getStorage().isComputedOnDemand() ? 0 : (int) Game.getLowerBound(payoffMatrix).getX();
+        }
+        clearWarmStart();
+        //the returned strategies are the averages at the iterations of the best bounds
+        StrategySnapshot firstPlayerSnapshot = new StrategySnapshot(firstPlayerStrategyCounts, initialIterationNumber);
+        StrategySnapshot secondPlayerSnapshot = new StrategySnapshot(secondPlayerStrategyCounts, initialIterationNumber);
+        double lowerBound = combineLowerBound(bestLowerBound, bestUpperBound, symmetricGameValue);
+        double upperBound = combineUpperBound(bestLowerBound, bestUpperBound, symmetricGameValue);
+
+        //gains and losses are updated in place, so memory does not grow with the number of iterations
+        IterationState state = new IterationState(iterationMatrix, initialIterationNumber, startIndex, firstPersonGains, secondPersonLosses,
+                iterationKernel);
+        int deadlineMask = SolveDeadline.getCheckMask(payoffMatrix.getRowDimension(), payoffMatrix.getColumnDimension());
+        while(state.getIterationNumber() - initialIterationNumber<maxNumberOfIterations && !(epsilon>0 && upperBound-lowerBound<epsilon))
+        {
+            state.next();
+            if(matrixLayout==MatrixLayout.AUTOMATIC
+                    && state.getIterationNumber() - initialIterationNumber==payoffMatrix.getColumnDimension())
+            {
+                //by now the column passes have read as many elements as the transpose will
+                Matrix arranged = arrangeAutomatically(payoffMatrix);
+                if(arranged!=payoffMatrix)
+                {
+                    state.setPayoffMatrix(arranged);
+                }
+            }
+            firstPlayerStrategyCounts[state.getFirstPlayerStrategyIndex()]++;
+            secondPlayerStrategyCounts[state.getSecondPlayerStrategyIndex()]++;
+            firstPlayerSnapshot.record(state.getFirstPlayerStrategyIndex());
+            secondPlayerSnapshot.record(state.getSecondPlayerStrategyIndex());
+            if(iterations!=null)
+            {
+                iterations.add(new Iteration(state));
+            }
+            if(state.getGameValueLowerBound()>bestLowerBound)
+            {
+                bestLowerBound = state.getGameValueLowerBound();
+                firstPlayerSnapshot.take(firstPlayerStrategyCounts, state.getIterationNumber());
+            }
+            if(state.getGameValueUpperBound()<bestUpperBound)
+            {
+                bestUpperBound = state.getGameValueUpperBound();
+                secondPlayerSnapshot.take(secondPlayerStrategyCounts, state.getIterationNumber());
+            }
+            lowerBound = combineLowerBound(bestLowerBound, bestUpperBound, symmetricGameValue);
+            upperBound = combineUpperBound(bestLowerBound, bestUpperBound, symmetricGameValue);
+            if(iterationListener!=null)
+            {
+                iterationListener.iterationCompleted(state);
+            }
+            if((state.getIterationNumber() & (SolveProgressEvent.PERIOD - 1))==0)
+            {
+                SolveProgressEvent.commit(getClass().getSimpleName(), state.getIterationNumber(), lowerBound, upperBound);
+            }
+            if(deadline!=null && (state.getIterationNumber() & deadlineMask)==0 && deadline.isExpired())
+            {
+                break;
+            }
+        }
+        numberOfIterations = state.getIterationNumber() - initialIterationNumber;
+
+        //get the probability of each choice by dividing it by the number of iterations of the snapshot
+        double[] p = firstPlayerSnapshot.getStrategy(firstPlayerStrategyCounts, state.getIterationNumber());
+        double[] q = secondPlayerSnapshot.getStrategy(secondPlayerStrategyCounts, state.getIterationNumber());
+        if(!Double.isNaN(symmetricGameValue))
+        {
+            //a bound improved through the symmetry is guaranteed by the other player's strategy
+            double[] firstPlayerStrategy = p;
+            if(2 * symmetricGameValue - bestUpperBound>bestLowerBound)
+            {
+                p = q.clone();
+            }
+            if(2 * symmetricGameValue - bestLowerBound<bestUpperBound)
+            {
+                q = firstPlayerStrategy.clone();
+            }
+        }
+
+        double gameValue = !Double.isNaN(symmetricGameValue) ? symmetricGameValue : (lowerBound+upperBound) / 2;
+        return new Result(p,q,gameValue,lowerBound,upperBound,numberOfIterations);
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Сообщить, что в следующем решении матрица за вычетом указанного числа кососимметрична (A - v = -(A - v)^T).
+     * Цена такой игры равна v, а стратегия каждого игрока годится и другому: если стратегия первого игрока
+     * гарантирует нижнюю границу L, то та же стратегия второго игрока гарантирует верхнюю границу 2v - L.
+     * Поэтому каждая граница уточняется по другой, и точность достигается за меньшее количество итераций.
+     * Используется один раз.
+     * @param gameValue Цена игры v.
+     */
+    void setSymmetricGameValue(double gameValue) {
+        this.symmetricGameValue = gameValue;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Получить нижнюю границу цены игры по наилучшим границам игроков. В кососимметричной игре стратегия каждого игрока
+     * годится и другому, поэтому верхняя граница U дает нижнюю границу 2v - U.
+     * @param bestLowerBound Наилучшая нижняя граница, гарантированная стратегией первого игрока.
+     * @param bestUpperBound Наилучшая верхняя граница, гарантированная стратегией второго игрока.
+     * @param symmetricGameValue Цена кососимметричной игры или NaN.
+     * @return Нижняя граница цены игры.
+     */
+    private static double combineLowerBound(double bestLowerBound, double bestUpperBound, double symmetricGameValue) {
+        return Double.isNaN(symmetricGameValue) ? bestLowerBound : Math.max(bestLowerBound, 2 * symmetricGameValue - bestUpperBound);
+    }
+
+    /**
+     * Получить верхнюю границу цены игры по наилучшим границам игроков (см. {@link #combineLowerBound(double, double, double)}).
+     * @param bestLowerBound Наилучшая нижняя граница, гарантированная стратегией первого игрока.
+     * @param bestUpperBound Наилучшая верхняя граница, гарантированная стратегией второго игрока.
+     * @param symmetricGameValue Цена кососимметричной игры или NaN.
+     * @return Верхняя граница цены игры.
+     */
+    private static double combineUpperBound(double bestLowerBound, double bestUpperBound, double symmetricGameValue) {
+        return Double.isNaN(symmetricGameValue) ? bestUpperBound : Math.min(bestUpperBound, 2 * symmetricGameValue - bestLowerBound);
+    }
+
+    /**
+     * Получить матрицу в двойной раскладке. Двойная раскладка матрицы в куче использует ее построчный массив без копирования.
+     * @param payoffMatrix Платежная матрица.
+     * @return Матрица в двойной раскладке.
+     */
+    private static Matrix toDualLayout(Matrix payoffMatrix) {
+        MatrixStorage storage = payoffMatrix.getStorage();
+        if(storage instanceof DualLayoutMatrixStorage)
+        {
+            return payoffMatrix;
+        }
+        if(storage instanceof DenseMatrixStorage)
+        {
+            return new Matrix(new DualLayoutMatrixStorage((DenseMatrixStorage) storage));
+        }
+        return Matrix.dualLayout(payoffMatrix);
+    }
+
+    /**
+     * Выбрать раскладку для продолжения решения (см. {@link MatrixLayout#AUTOMATIC}).
+     * @param payoffMatrix Платежная матрица.
+     * @return Та же матрица или матрица в двойной раскладке.
+     */
+    private static Matrix arrangeAutomatically(Matrix payoffMatrix) {
+        MatrixStorage storage = payoffMatrix.getStorage();
+        if(!(storage instanceof DenseMatrixStorage))
+        {
+            return payoffMatrix;
+        }
+        long size = storage.getMemorySize();
+        Runtime runtime = Runtime.getRuntime();
+        long freeMemory = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        //a small matrix stays in the cache, where the strided column pass costs little
+        if(size<DUAL_LAYOUT_MIN_SIZE || size>freeMemory / 2)
+        {
+            return payoffMatrix;
+        }
+        return toDualLayout(payoffMatrix);
+    }
+
+    /**
+     * Заполнить количества выборов и накопленные массивы по начальным стратегиям теплого старта.
+     * @param payoffMatrix Платежная матрица.
+     * @param firstPlayerStrategyCounts Количества выборов стратегий первого игрока.
+     * @param secondPlayerStrategyCounts Количества выборов стратегий второго игрока.
+     * @param firstPlayerGains Массив выигрышей первого игрока.
+     * @param secondPlayerLosses Массив проигрышей второго игрока.
+     * @return true, если теплый старт задан и применен.
+     */
+    private boolean applyWarmStart(Matrix payoffMatrix, long[] firstPlayerStrategyCounts, long[] secondPlayerStrategyCounts,
+                                   double[] firstPlayerGains, double[] secondPlayerLosses) {
+        if(warmStartFirstPlayerStrategy==null)
+        {
+            return false;
+        }
+        if(warmStartFirstPlayerStrategy.length!=payoffMatrix.getRowDimension()
+                || warmStartSecondPlayerStrategy.length!=payoffMatrix.getColumnDimension())
+        {
+            clearWarmStart();
+            throw new IllegalArgumentException("Warm start strategies do not match the payoff matrix dimensions");
+        }
+        if(!distribute(warmStartFirstPlayerStrategy, warmStartWeight, firstPlayerStrategyCounts)
+                || !distribute(warmStartSecondPlayerStrategy, warmStartWeight, secondPlayerStrategyCounts))
+        {
+            return false;
+        }
+        for(int i=0;i<firstPlayerStrategyCounts.length;i++)
+        {
+            if(firstPlayerStrategyCounts[i]!=0)
+            {
+                double[] row = payoffMatrix.getRow(i);
+                for(int j=0;j<row.length;j++)
+                {
+                    firstPlayerGains[j] += firstPlayerStrategyCounts[i] * row[j];
+                }
+            }
+        }
+        for(int j=0;j<secondPlayerStrategyCounts.length;j++)
+        {
+            if(secondPlayerStrategyCounts[j]!=0)
+            {
+                double[] column = payoffMatrix.getColumn(j);
+                for(int i=0;i<column.length;i++)
+                {
+                    secondPlayerLosses[i] += secondPlayerStrategyCounts[j] * column[i];
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Распределить указанное количество выборов пропорционально весам методом наибольших остатков,
+     * чтобы сумма количеств была в точности равна total.
+     * @param weights Неотрицательные веса.
+     * @param total Количество выборов.
+     * @param counts Массив для количеств выборов.
+     * @return false, если сумма весов равна нулю.
+     */
+    private static boolean distribute(double[] weights, int total, long[] counts) {
+        double sum = 0;
+        for(double weight : weights)
+        {
+            sum += weight;
+        }
+        if(!(sum>0))
+        {
+            return false;
+        }
+        double[] remainders = new double[weights.length];
+        long distributed = 0;
+        for(int k=0;k<weights.length;k++)
+        {
+            double share = weights[k] / sum * total;
+            counts[k] = (long) Math.floor(share);
+            remainders[k] = share - counts[k];
+            distributed += counts[k];
+        }
+        //the rest goes to the largest remainders
+        for(;distributed<total;distributed++)
+        {
+            int best = 0;
+            for(int k=1;k<remainders.length;k++)
+            {
+                if(remainders[k]>remainders[best])
+                {
+                    best = k;
+                }
+            }
+            counts[best]++;
+            remainders[best] = -1;
+        }
+        //rounding errors may give one choice too many
+        for(int k=0;distributed>total;k=(k + 1) % counts.length)
+        {
+            if(counts[k]>0)
+            {
+                counts[k]--;
+                distributed--;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Сбросить теплый старт.
+     */
+    private void clearWarmStart() {
+        warmStartFirstPlayerStrategy = null;
+        warmStartSecondPlayerStrategy = null;
+        warmStartWeight = 0;
+    }
+
+    /**
+     * Количества выборов стратегий игрока на итерации его наилучшей границы.
+     * На каждой итерации количество одной стратегии увеличивается на единицу, поэтому снимок не копирует массив
+     * при каждом улучшении границы, а запоминает номера стратегий, выбранных после снимка, и прибавляет их при следующем снимке.
+     * Если номеров накопилось больше длины массива, массив копируется целиком. Так снимок стоит в среднем O(1) на итерацию.
+     */
+    private static final class StrategySnapshot {
+
+        /**
+         * Конструктор снимка начальных количеств выборов.
+         * @param counts Количества выборов стратегий.
+         * @param iterationNumber Количество выполненных итераций.
+         */
+        StrategySnapshot(long[] counts, int iterationNumber) {
+            this.counts = counts.clone();
+            this.pendingIndexes = new int[counts.length];
+            this.iterationNumber = iterationNumber;
+        }
+
+        /**
+         * Запомнить стратегию, выбранную после снимка.
+         * @param index Номер стратегии.
+         */
+        void record(int index) {
+            if(numberOfPendingIndexes<pendingIndexes.length)
+            {
+                pendingIndexes[numberOfPendingIndexes] = index;
+            }
+            numberOfPendingIndexes++;
+        }
+
+        /**
+         * Сделать снимок текущих количеств выборов.
+         * @param currentCounts Текущие количества выборов, включающие все запомненные стратегии.
+         * @param iterationNumber Количество выполненных итераций.
+         */
+        void take(long[] currentCounts, int iterationNumber) {
+            if(numberOfPendingIndexes>pendingIndexes.length)
+            {
+                System.arraycopy(currentCounts, 0, counts, 0, counts.length);
+            }
+            else
+            {
+                for(int k=0;k<numberOfPendingIndexes;k++)
+                {
+                    counts[pendingIndexes[k]]++;
+                }
+            }
+            numberOfPendingIndexes = 0;
+            this.iterationNumber = iterationNumber;
+        }
+
+        /**
+         * Получить смешанную стратегию снимка. Если снимка не было (ни одна граница не улучшилась),
+         * возвращается стратегия по текущим количествам выборов.
+         * @param currentCounts Текущие количества выборов.
+         * @param currentIterationNumber Текущее количество итераций.
+         * @return Вероятности стратегий.
+         */
+        double[] getStrategy(long[] currentCounts, int currentIterationNumber) {
+            long[] source = iterationNumber>0 ? counts : currentCounts;
+            int total = iterationNumber>0 ? iterationNumber : currentIterationNumber;
+            double[] strategy = new double[source.length];
+            for(int k=0;k<strategy.length;k++)
+            {
+                strategy[k] = (double) source[k] / total;
+            }
+            return strategy;
+        }
+
+        /**
+         * Количества выборов на итерации снимка.
+         */
+        private final long[] counts;
+
+        /**
+         * Номера стратегий, выбранных после снимка.
+         */
+        private final int[] pendingIndexes;
+
+        /**
+         * Количество стратегий, выбранных после снимка. Может превышать длину массива номеров.
+         */
+        private int numberOfPendingIndexes;
+
+        /**
+         * Количество итераций на момент снимка.
+         */
+        private int iterationNumber;
+    }
+
+    /**
+     * Наименьший размер матрицы в байтах, для которого автоматически выбирается двойная раскладка.
+     */
+    private static final long DUAL_LAYOUT_MIN_SIZE = 1L << 20;
+
+    /**
+     * Допустимая разность границ цены игры. Если равна нулю, выполняются все итерации.
+     */
+    private final double epsilon;
+
+    /**
+     * Максимальное количество итераций.
+     */
+    private final int maxNumberOfIterations;
+
+    /**
+     * Вычислительное ядро итерации.
+     */
+    private IterationKernel iterationKernel = IterationKernel.parallel();
+
+    /**
+     * Раскладка матрицы на время решения.
+     */
+    private MatrixLayout matrixLayout = MatrixLayout.AUTOMATIC;
+
+    /**
+     * Сохранять ли итерации.
+     */
+    private boolean iterationHistoryEnabled = false;
+
+    /**
+     * Слушатель итераций или null.
+     */
+    private IterationListener iterationListener;
+
+    /**
+     * Список итераций последнего решения. Равен null, если сохранение итераций выключено.
+     */
+    private ArrayList<Iteration> iterations;
+
+    /**
+     * Количество итераций, выполненных при последнем решении.
+     */
+    private int numberOfIterations;
+
+    /**
+     * Срок решения или null.
+     */
+    private SolveDeadline deadline;
+
+    /**
+     * Цена кососимметричной игры для следующего решения или NaN.
+     */
+    private double symmetricGameValue = Double.NaN;
+
+    /**
+     * Начальная стратегия первого игрока для следующего решения или null.
+     */
+    private double[] warmStartFirstPlayerStrategy;
+
+    /**
+     * Начальная стратегия второго игрока для следующего решения или null.
+     */
+    private double[] warmStartSecondPlayerStrategy;
+
+    /**
+     * Количество итераций, которому соответствуют начальные стратегии.
+     */
+    private int warmStartWeight;
+}
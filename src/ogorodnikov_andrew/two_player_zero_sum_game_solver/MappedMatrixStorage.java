@@ -0,0 +1,197 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Хранилище элементов в файле, отображенном в память (см. {@link MatrixFile}).
+ * Один буфер отображения не может быть больше 2 ГБ, поэтому файл отображается частями из целого числа строк.
+ * Файл только читается: число, добавленное к элементам, хранится отдельно и прибавляется при чтении,
+ * а удаление строк и столбцов возвращает представление {@link IndexedMatrixStorage}.
+ */
+final class MappedMatrixStorage extends MatrixStorage {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор хранилища.
+     * @param chunks Отображенные части файла с порядком байтов файла. Каждая часть, кроме последней, содержит rowsPerChunk строк.
+     * @param rowsPerChunk Количество строк в части.
+     * @param elementType Тип элементов.
+     * @param scale Множитель элементов целого типа.
+     * @param rowDimension Количество строк.
+     * @param columnDimension Количество столбцов.
+     */
+    MappedMatrixStorage(ByteBuffer[] chunks, int rowsPerChunk, MatrixFile.ElementType elementType, double scale,
+                        int rowDimension, int columnDimension)
+    {
+        this.chunks = chunks;
+        this.rowsPerChunk = rowsPerChunk;
+        this.elementType = elementType;
+        this.elementSize = elementType.getSize();
+        this.scale = scale;
+        this.rowDimension = rowDimension;
+        this.columnDimension = columnDimension;
+        this.rowSize = columnDimension * elementSize;
+    }
+
+    @Override
+    int getRowDimension()
+    {
+        return rowDimension;
+    }
+
+    @Override
+    int getColumnDimension()
+    {
+        return columnDimension;
+    }
+
+    @Override
+    double get(int rowPosition, int columnPosition)
+    {
+        ByteBuffer chunk = chunks[rowPosition / rowsPerChunk];
+        return read(chunk, (rowPosition % rowsPerChunk) * rowSize + columnPosition * elementSize) + shift;
+    }
+
+    @Override
+    void addRowTo(int rowPosition, double[] target, int from, int to)
+    {
+        ByteBuffer chunk = chunks[rowPosition / rowsPerChunk];
+        int position = (rowPosition % rowsPerChunk) * rowSize + from * elementSize;
+        for(int j=from;j<to;j++, position+=elementSize)
+        {
+            target[j] += read(chunk, position) + shift;
+        }
+    }
+
+    @Override
+    void addColumnTo(int columnPosition, double[] target, int from, int to)
+    {
+        int i = from;
+        //Проходим по частям файла, чтобы не искать часть для каждой строки
+        while(i<to)
+        {
+            int chunkNumber = i / rowsPerChunk;
+            ByteBuffer chunk = chunks[chunkNumber];
+            int end = (int) Math.min(to, (long) (chunkNumber + 1) * rowsPerChunk);
+            int position = (i - chunkNumber * rowsPerChunk) * rowSize + columnPosition * elementSize;
+            for(;i<end;i++, position+=rowSize)
+            {
+                target[i] += read(chunk, position) + shift;
+            }
+        }
+    }
+
+    @Override
+    void copyRowTo(int rowPosition, double[] target)
+    {
+        ByteBuffer chunk = chunks[rowPosition / rowsPerChunk];
+        int position = (rowPosition % rowsPerChunk) * rowSize;
+        for(int j=0;j<columnDimension;j++, position+=elementSize)
+        {
+            target[j] = read(chunk, position) + shift;
+        }
+    }
+
+    @Override
+    long getMemorySize()
+    {
+        return (long) rowDimension * rowSize;
+    }
+
+    @Override
+    void addConstValue(double value)
+    {
+        shift += value;
+    }
+
+    @Override
+    MatrixStorage removeRow(int rowPosition)
+    {
+        return IndexedMatrixStorage.of(this, 0).removeRow(rowPosition);
+    }
+
+    @Override
+    MatrixStorage removeColumn(int columnPosition)
+    {
+        return IndexedMatrixStorage.of(this, 0).removeColumn(columnPosition);
+    }
+
+    @Override
+    MatrixStorage subStorage(int[] rowPositions, int[] columnPositions)
+    {
+        return new IndexedMatrixStorage(this, rowPositions.clone(), columnPositions.clone(), 0);
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Прочитать элемент из части файла.
+     * @param chunk Часть файла.
+     * @param position Смещение элемента в байтах от начала части.
+     * @return Элемент без добавленного числа.
+     */
+    private double read(ByteBuffer chunk, int position)
+    {
+        switch(elementType)
+        {
+            case FLOAT:
+                return chunk.getFloat(position);
+            case INT:
+                return chunk.getInt(position) * scale;
+            case SHORT:
+                return chunk.getShort(position) * scale;
+            default:
+                return chunk.getDouble(position);
+        }
+    }
+
+    /**
+     * Отображенные части файла.
+     */
+    private final ByteBuffer[] chunks;
+
+    /**
+     * Количество строк в части.
+     */
+    private final int rowsPerChunk;
+
+    /**
+     * Тип элементов.
+     */
+    private final MatrixFile.ElementType elementType;
+
+    /**
+     * Размер элемента в байтах.
+     */
+    private final int elementSize;
+
+    /**
+     * Множитель элементов целого типа.
+     */
+    private final double scale;
+
+    /**
+     * Количество строк.
+     */
+    private final int rowDimension;
+
+    /**
+     * Количество столбцов.
+     */
+    private final int columnDimension;
+
+    /**
+     * Размер строки в байтах.
+     */
+    private final int rowSize;
+
+    /**
+     * Число, добавляемое к элементам при чтении.
+     */
+    private double shift;
+}
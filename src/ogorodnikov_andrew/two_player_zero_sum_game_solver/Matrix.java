@@ -1,10 +1,13 @@
 package ogorodnikov_andrew.two_player_zero_sum_game_solver;
 
 import java.text.DecimalFormat;
-import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * Класс матрицы.
+ * Элементы хранятся в хранилище: построчно в одном непрерывном массиве в куче
+ * или в файле, отображенном в память (см. {@link MatrixFile}).
  */
 public class Matrix {
 
@@ -18,20 +21,17 @@ public class Matrix {
      */
     public Matrix(double[][] source_array)
     {
-        elements = new ArrayList<ArrayList<Double>>();
         int rowDimension = source_array.length;
         int columnDimension = source_array[0].length;
+        double[] elements = new double[rowDimension * columnDimension];
         for (int i = 0; i < rowDimension; i++)
         {
             if (source_array[i].length != columnDimension) {
                 throw new IllegalArgumentException("All rows must have the same length.");
             }
-            elements.add(new ArrayList<Double>(columnDimension));
-            for(int j=0; j < columnDimension; j++)
-            {
-                elements.get(i).add(source_array[i][j]);
-            }
+            System.arraycopy(source_array[i], 0, elements, i * columnDimension, columnDimension);
         }
+        storage = new DenseMatrixStorage(elements, rowDimension, columnDimension);
     }
 
     /**
@@ -41,18 +41,103 @@ public class Matrix {
      */
     public Matrix(double[] one_dimensional_source_array, int rowDimension)
     {
-        elements = new ArrayList<ArrayList<Double>>();
         int columnDimension = (rowDimension != 0 ? one_dimensional_source_array.length/rowDimension : 0);
         if (rowDimension*columnDimension != one_dimensional_source_array.length) {
             throw new IllegalArgumentException("Array length must be a multiple of m.");
         }
-        for (int i = 0; i < rowDimension; i++)
+        storage = new DenseMatrixStorage(one_dimensional_source_array.clone(), rowDimension, columnDimension);
+    }
+
+    /**
+     * Фабричный метод для создания разреженной матрицы по ненулевым элементам.
+     * Хранятся только ненулевые элементы, поэтому память и время итерации пропорциональны их количеству.
+     * Элементы с одинаковыми координатами складываются.
+     * @param rowDimension Количество строк.
+     * @param columnDimension Количество столбцов.
+     * @param rowPositions Номера строк элементов.
+     * @param columnPositions Номера столбцов элементов.
+     * @param values Значения элементов.
+     * @exception IllegalArgumentException Массивы номеров и значений должны иметь одинаковую длину.
+     * @return Разреженная матрица.
+     */
+    public static Matrix sparse(int rowDimension, int columnDimension, int[] rowPositions, int[] columnPositions, double[] values) {
+        return new Matrix(new SparseMatrixStorage(rowDimension, columnDimension, rowPositions, columnPositions, values));
+    }
+
+    /**
+     * Фабричный метод для создания копии матрицы в компактном хранилище: числа одинарной точности
+     * или целые числа с множителем. Для целых типов множитель подбирается так, что целые элементы хранятся точно,
+     * а остальные округляются с шагом, равным наибольшему по модулю элементу, деленному на наибольшее значение типа.
+     * Итерации накапливают выигрыши и проигрыши в числах двойной точности, поэтому результат отличается
+     * от результата исходной матрицы только на ошибку округления элементов, а проходы по матрице читают меньше памяти.
+     * Экономию памяти показывает {@link #getMemorySize()}.
+     * @param matrix Исходная матрица.
+     * @param elementType Тип элементов. Для DOUBLE возвращается обычная копия в куче.
+     * @exception IllegalArgumentException Элементы целого типа должны быть конечными.
+     * @return Матрица в компактном хранилище.
+     */
+    public static Matrix compact(Matrix matrix, MatrixFile.ElementType elementType) {
+        if(elementType==MatrixFile.ElementType.DOUBLE)
         {
-            elements.add(new ArrayList<Double>(columnDimension));
-            for (int j = 0; j < columnDimension; j++) {
-                elements.get(i).add(one_dimensional_source_array[j+i*columnDimension]);
+            int rowDimension = matrix.getRowDimension();
+            int columnDimension = matrix.getColumnDimension();
+            double[] elements = new double[rowDimension * columnDimension];
+            for(int i=0;i<rowDimension;i++)
+            {
+                System.arraycopy(matrix.getRow(i), 0, elements, i * columnDimension, columnDimension);
             }
+            return new Matrix(new DenseMatrixStorage(elements, rowDimension, columnDimension));
+        }
+        return new Matrix(CompactMatrixStorage.of(matrix, elementType));
+    }
+
+    /**
+     * Фабричный метод для создания копии матрицы, хранящей элементы дважды: построчно и по столбцам.
+     * Итерация прибавляет строку и столбец, и в построчной раскладке столбец читается с шагом в длину строки,
+     * что на большой матрице дает промах кэша на каждый элемент. В двойной раскладке обе половины итерации читают
+     * память последовательно, а результаты не меняются. Матрица занимает вдвое больше памяти.
+     * {@link IterativeSolver} выбирает эту раскладку сам (см. {@link IterativeSolver#setMatrixLayout(IterativeSolver.MatrixLayout)}),
+     * поэтому фабричный метод нужен, если одна матрица решается многократно.
+     * @param matrix Исходная матрица.
+     * @return Матрица в двойной раскладке.
+     */
+    public static Matrix dualLayout(Matrix matrix) {
+        Matrix copy = compact(matrix, MatrixFile.ElementType.DOUBLE);
+        return new Matrix(new DualLayoutMatrixStorage((DenseMatrixStorage) copy.storage));
+    }
+
+    /**
+     * Фабричный метод для создания матрицы, элементы которой вычисляет оракул выигрышей.
+     * Вычисленные строки и столбцы хранятся в кэше указанного размера; давно не использовавшиеся вытесняются.
+     * Такую матрицу решают {@link IterativeSolver} и {@link DoubleOracleSolver}, напрямую или через {@link Game}:
+     * для нее {@link Game#getResult(Solver)} не ищет седловую точку, не прибавляет число и не удаляет стратегии,
+     * потому что эти этапы просматривают всю матрицу, а передает матрицу методу сразу.
+     * @param oracle Оракул выигрышей.
+     * @param cacheSize Максимальный размер кэша в байтах.
+     * @return Матрица.
+     */
+    public static Matrix fromOracle(PayoffOracle oracle, long cacheSize) {
+        return fromOracle(oracle, cacheSize, null);
+    }
+
+    /**
+     * Фабричный метод для создания матрицы по оракулу выигрышей с предвыборкой: после вычисления строки
+     * исполнитель в фоне вычисляет столбец лучшего ответа на нее, и наоборот. Оракул должен допускать вызовы из нескольких потоков.
+     * @param oracle Оракул выигрышей.
+     * @param cacheSize Максимальный размер кэша в байтах.
+     * @param prefetchExecutor Исполнитель предвыборки или null, если предвыборка не нужна.
+     * @return Матрица.
+     */
+    public static Matrix fromOracle(PayoffOracle oracle, long cacheSize, Executor prefetchExecutor) {
+        if(oracle.getRowDimension()<1 || oracle.getColumnDimension()<1)
+        {
+            throw new IllegalArgumentException("Oracle dimensions must be positive numbers");
+        }
+        if(cacheSize<0)
+        {
+            throw new IllegalArgumentException("Cache size must not be negative");
         }
+        return new Matrix(new OracleMatrixStorage(oracle, cacheSize, prefetchExecutor));
     }
 
     /** Фабричный метод для генерации матрицы указанного размера со случайными элементами в диапазоне от -10 до 10.
@@ -99,12 +184,8 @@ public class Matrix {
      * @param value Число для добавления.
      */
     public void addConstValue(double value){
-        for(int i=0;i<elements.size();i++) {
-            for(int j=0;j<elements.get(i).size();j++){
-                elements.get(i).set(j, elements.get(i).get(j)+value);
-            }
-        }
-
+        storage.addConstValue(value);
+        summary = null;
     }
 
     /**
@@ -116,11 +197,13 @@ public class Matrix {
     {
         DecimalFormat decimalFormat = new DecimalFormat(decimalFormatString);
         StringBuilder result = new StringBuilder("");
-        for(ArrayList<Double> row : elements)
+        int rowDimension = storage.getRowDimension();
+        int columnDimension = storage.getColumnDimension();
+        for(int i=0;i<rowDimension;i++)
         {
-            for(double element : row)
+            for(int j=0;j<columnDimension;j++)
             {
-                result.append(decimalFormat.format(element)).append(" ");
+                result.append(decimalFormat.format(storage.get(i, j))).append(" ");
             }
             result.append("\n");
         }
@@ -135,7 +218,103 @@ public class Matrix {
      */
     public double get(int rowPosition,int columnPosition)
     {
-        return elements.get(rowPosition).get(columnPosition);
+        Objects.checkIndex(rowPosition, storage.getRowDimension());
+        Objects.checkIndex(columnPosition, storage.getColumnDimension());
+        return storage.get(rowPosition, columnPosition);
+    }
+
+    /**
+     * Получить копию указанной строки матрицы.
+     * @param rowPosition Номер строки.
+     * @return Массив элементов строки.
+     */
+    public double[] getRow(int rowPosition)
+    {
+        Objects.checkIndex(rowPosition, storage.getRowDimension());
+        double[] row = new double[storage.getColumnDimension()];
+        storage.copyRowTo(rowPosition, row);
+        return row;
+    }
+
+    /**
+     * Получить копию указанного столбца матрицы.
+     * @param columnPosition Номер столбца.
+     * @return Массив элементов столбца.
+     */
+    public double[] getColumn(int columnPosition)
+    {
+        Objects.checkIndex(columnPosition, storage.getColumnDimension());
+        double[] column = new double[storage.getRowDimension()];
+        storage.addColumnTo(columnPosition, column, 0, column.length);
+        return column;
+    }
+
+    /**
+     * Прибавить указанную строку матрицы к массиву поэлементно.
+     * @param rowPosition Номер строки.
+     * @param target Массив длиной в количество столбцов, к которому прибавляется строка.
+     */
+    public void addRowTo(int rowPosition, double[] target)
+    {
+        addRowTo(rowPosition, target, 0, storage.getColumnDimension());
+    }
+
+    /**
+     * Прибавить часть указанной строки матрицы к той же части массива поэлементно.
+     * @param rowPosition Номер строки.
+     * @param target Массив длиной в количество столбцов, к которому прибавляется строка.
+     * @param from Номер первого столбца части, включительно.
+     * @param to Номер последнего столбца части, не включительно.
+     */
+    public void addRowTo(int rowPosition, double[] target, int from, int to)
+    {
+        Objects.checkIndex(rowPosition, storage.getRowDimension());
+        Objects.checkFromToIndex(from, to, storage.getColumnDimension());
+        storage.addRowTo(rowPosition, target, from, to);
+    }
+
+    /**
+     * Прибавить указанный столбец матрицы к массиву поэлементно.
+     * @param columnPosition Номер столбца.
+     * @param target Массив длиной в количество строк, к которому прибавляется столбец.
+     */
+    public void addColumnTo(int columnPosition, double[] target)
+    {
+        addColumnTo(columnPosition, target, 0, storage.getRowDimension());
+    }
+
+    /**
+     * Прибавить часть указанного столбца матрицы к той же части массива поэлементно.
+     * @param columnPosition Номер столбца.
+     * @param target Массив длиной в количество строк, к которому прибавляется столбец.
+     * @param from Номер первой строки части, включительно.
+     * @param to Номер последней строки части, не включительно.
+     */
+    public void addColumnTo(int columnPosition, double[] target, int from, int to)
+    {
+        Objects.checkIndex(columnPosition, storage.getColumnDimension());
+        Objects.checkFromToIndex(from, to, storage.getRowDimension());
+        storage.addColumnTo(columnPosition, target, from, to);
+    }
+
+    /**
+     * Получить подматрицу из указанных строк и столбцов.
+     * Элементы матрицы в куче копируются; для матрицы в файле возвращается представление без копирования.
+     * @param rowPositions Номера строк в порядке следования в подматрице.
+     * @param columnPositions Номера столбцов в порядке следования в подматрице.
+     * @return Подматрица.
+     */
+    public Matrix subMatrix(int[] rowPositions, int[] columnPositions)
+    {
+        for(int i : rowPositions)
+        {
+            Objects.checkIndex(i, storage.getRowDimension());
+        }
+        for(int j : columnPositions)
+        {
+            Objects.checkIndex(j, storage.getColumnDimension());
+        }
+        return new Matrix(storage.subStorage(rowPositions, columnPositions));
     }
 
     /**
@@ -153,7 +332,9 @@ public class Matrix {
      */
     public void removeRow(int rowNumber)
     {
-        elements.remove(rowNumber);
+        Objects.checkIndex(rowNumber, storage.getRowDimension());
+        storage = storage.removeRow(rowNumber);
+        summary = null;
     }
 
     /**
@@ -162,10 +343,19 @@ public class Matrix {
      */
     public void removeColumn(int columnNumber)
     {
-        for(ArrayList<Double> rows : elements)
-        {
-            rows.remove(columnNumber);
-        }
+        Objects.checkIndex(columnNumber, storage.getColumnDimension());
+        storage = storage.removeColumn(columnNumber);
+        summary = null;
+    }
+
+    /**
+     * Получить размер элементов матрицы в байтах: в куче или в отображенном в память файле.
+     * Для представлений учитывается и матрица, часть которой они представляют.
+     * @return Размер элементов в байтах.
+     */
+    public long getMemorySize()
+    {
+        return storage.getMemorySize();
     }
 
     /**
@@ -174,7 +364,7 @@ public class Matrix {
      */
     public int getRowDimension()
     {
-        return elements.size();
+        return storage.getRowDimension();
     }
 
     /**
@@ -183,9 +373,9 @@ public class Matrix {
      */
     public int getColumnDimension()
     {
-        if(!elements.isEmpty())
+        if(storage.getRowDimension() != 0)
         {
-            return elements.get(0).size();
+            return storage.getColumnDimension();
         }
         else
         {
@@ -193,12 +383,114 @@ public class Matrix {
         }
     }
 
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор матрицы по хранилищу.
+     * @param storage Хранилище элементов.
+     */
+    Matrix(MatrixStorage storage)
+    {
+        this.storage = storage;
+    }
+
+    /**
+     * Получить хранилище элементов.
+     * @return Хранилище элементов.
+     */
+    MatrixStorage getStorage()
+    {
+        return storage;
+    }
+
+    /**
+     * Получить сводку матрицы: минимумы строк, максимумы столбцов, границы цены игры в чистых стратегиях
+     * и наименьший и наибольший элементы. Сводка вычисляется за один проход при первом запросе
+     * и сбрасывается при изменении матрицы.
+     * @return Сводка матрицы.
+     */
+    MatrixSummary getSummary()
+    {
+        if(summary==null)
+        {
+            summary = storage.summarize();
+        }
+        return summary;
+    }
+
+    /**
+     * Умножить вектор-строку на матрицу: получить ожидаемые проигрыши второго игрока по его стратегиям
+     * при смешанной стратегии первого игрока.
+     * @param vector Вектор длиной в количество строк.
+     * @param target Массив длиной в количество столбцов для произведения.
+     */
+    void multiplyLeft(double[] vector, double[] target)
+    {
+        checkLength(vector, storage.getRowDimension());
+        checkLength(target, storage.getColumnDimension());
+        storage.multiplyLeft(vector, target);
+    }
+
+    /**
+     * Умножить матрицу на вектор-столбец: получить ожидаемые выигрыши первого игрока по его стратегиям
+     * при смешанной стратегии второго игрока.
+     * @param vector Вектор длиной в количество столбцов.
+     * @param target Массив длиной в количество строк для произведения.
+     */
+    void multiplyRight(double[] vector, double[] target)
+    {
+        checkLength(vector, storage.getColumnDimension());
+        checkLength(target, storage.getRowDimension());
+        storage.multiplyRight(vector, target);
+    }
+
+    /**
+     * Получить массив элементов матрицы, записанных построчно. Массив не копируется.
+     * Используется вычислительными ядрами итерации для прямого доступа к строкам.
+     * @return Массив элементов матрицы или null, если элементы хранятся не в куче.
+     */
+    double[] getElements()
+    {
+        return storage.getElements();
+    }
+
+    /**
+     * Получить массив элементов матрицы, записанных по столбцам, если хранилище хранит такую копию (см. {@link #dualLayout(Matrix)}).
+     * Массив не копируется.
+     * @return Массив элементов матрицы по столбцам или null.
+     */
+    double[] getColumnMajorElements()
+    {
+        return storage.getColumnMajorElements();
+    }
+
     /*
     * PRIVATE
     * */
 
     /**
-     * Элементы матрицы.
+     * Проверить длину массива.
+     * @param array Массив.
+     * @param length Ожидаемая длина.
+     * @exception IllegalArgumentException Длина массива не равна ожидаемой.
+     */
+    private static void checkLength(double[] array, int length)
+    {
+        if(array.length!=length)
+        {
+            throw new IllegalArgumentException("Array length must be " + length + ".");
+        }
+    }
+
+    /**
+     * Хранилище элементов.
+     */
+    private MatrixStorage storage;
+
+    /**
+     * Сводка матрицы или null, если она еще не вычислена.
      */
-    private ArrayList<ArrayList<Double>> elements;
+    private MatrixSummary summary;
 }
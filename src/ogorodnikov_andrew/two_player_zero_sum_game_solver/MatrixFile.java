@@ -0,0 +1,486 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Двоичный формат платежной матрицы.
+ * Файл состоит из заголовка длиной 32 байта и элементов, записанных построчно. Порядок байтов - от младшего к старшему.
+ * Заголовок: сигнатура "ZSGM", версия формата (int), код типа элементов (int), количество строк (int),
+ * количество столбцов (int), 4 зарезервированных байта, множитель элементов (double, для вещественных типов равен 1).
+ * Элемент целого типа равен записанному числу, умноженному на множитель.
+ * Прочитанная матрица отображается в память и не загружается в кучу, поэтому ее размер ограничен только адресным пространством.
+ */
+public final class MatrixFile {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Тип элементов в файле и в компактном хранилище матрицы (см. {@link Matrix#compact(Matrix, ElementType)}).
+     * Целые типы хранят элементы, деленные на множитель и округленные до целого.
+     */
+    public enum ElementType {
+
+        /**
+         * Число двойной точности, 8 байт.
+         */
+        DOUBLE(1, Double.BYTES, 0),
+
+        /**
+         * Число одинарной точности, 4 байта.
+         */
+        FLOAT(2, Float.BYTES, 0),
+
+        /**
+         * Целое число с множителем, 4 байта.
+         */
+        INT(3, Integer.BYTES, Integer.MAX_VALUE),
+
+        /**
+         * Целое число с множителем, 2 байта.
+         */
+        SHORT(4, Short.BYTES, Short.MAX_VALUE);
+
+        /**
+         * Получить размер элемента в байтах.
+         * @return Размер элемента в байтах.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Проверить, хранит ли тип элементы целыми числами с множителем.
+         * @return true для целых типов.
+         */
+        public boolean isInteger() {
+            return maxValue>0;
+        }
+
+        ElementType(int code, int size, int maxValue) {
+            this.code = code;
+            this.size = size;
+            this.maxValue = maxValue;
+        }
+
+        /**
+         * Подобрать множитель для записи строк целыми числами этого типа.
+         * Если все элементы целые и помещаются в тип, множитель равен 1, и элементы хранятся точно.
+         * Иначе наибольший по модулю элемент отображается в наибольшее значение типа.
+         * Для вещественных типов множитель равен 1.
+         * @param rowDimension Количество строк.
+         * @param rowSupplier Функция, возвращающая строку по ее номеру.
+         * @return Множитель.
+         */
+        double chooseScale(int rowDimension, IntFunction<double[]> rowSupplier) {
+            if(!isInteger())
+            {
+                return 1;
+            }
+            double maxAbs = 0;
+            boolean integers = true;
+            for(int i=0;i<rowDimension;i++)
+            {
+                for(double element : rowSupplier.apply(i))
+                {
+                    if(!Double.isFinite(element))
+                    {
+                        throw new IllegalArgumentException("Elements must be finite to be stored as integers.");
+                    }
+                    maxAbs = Math.max(maxAbs, Math.abs(element));
+                    integers &= element==Math.rint(element);
+                }
+            }
+            return integers && maxAbs<=maxValue || maxAbs==0 ? 1 : maxAbs / maxValue;
+        }
+
+        /**
+         * Округлить элемент, деленный на множитель, до целого числа этого типа.
+         * @param element Элемент.
+         * @param scale Множитель.
+         * @return Целое число.
+         * @exception IllegalArgumentException Элемент не помещается в тип с указанным множителем.
+         */
+        int quantize(double element, double scale) {
+            double value = Math.rint(element / scale);
+            if(!(Math.abs(value)<=maxValue))
+            {
+                throw new IllegalArgumentException("Element " + element + " does not fit " + this + " with scale " + scale + ".");
+            }
+            return (int) value;
+        }
+
+        /**
+         * Код типа в заголовке файла.
+         */
+        private final int code;
+
+        /**
+         * Размер элемента в байтах.
+         */
+        private final int size;
+
+        /**
+         * Наибольшее по модулю значение целого типа или 0 для вещественного типа.
+         */
+        private final int maxValue;
+    }
+
+    /**
+     * Записать матрицу в файл с элементами двойной точности.
+     * @param path Путь к файлу. Существующий файл перезаписывается.
+     * @param matrix Матрица.
+     * @throws IOException Ошибка записи.
+     */
+    public static void write(Path path, Matrix matrix) throws IOException {
+        write(path, matrix, ElementType.DOUBLE);
+    }
+
+    /**
+     * Записать матрицу в файл с указанным типом элементов.
+     * Для целых типов множитель подбирается по элементам (см. {@link ElementType}).
+     * @param path Путь к файлу. Существующий файл перезаписывается.
+     * @param matrix Матрица.
+     * @param elementType Тип элементов в файле.
+     * @throws IOException Ошибка записи.
+     */
+    public static void write(Path path, Matrix matrix, ElementType elementType) throws IOException {
+        double scale = elementType.chooseScale(matrix.getRowDimension(), matrix::getRow);
+        write(path, matrix.getRowDimension(), matrix.getColumnDimension(), elementType, scale, matrix::getRow);
+    }
+
+    /**
+     * Записать матрицу в файл построчно. Матрица целиком в памяти не хранится,
+     * поэтому так можно записать матрицу больше кучи.
+     * @param path Путь к файлу. Существующий файл перезаписывается.
+     * @param rowDimension Количество строк.
+     * @param columnDimension Количество столбцов.
+     * @param elementType Тип элементов в файле.
+     * @param rowSupplier Функция, возвращающая строку по ее номеру. Строки запрашиваются по порядку.
+     * @exception IllegalArgumentException Размеры должны быть положительными, а длина строки равна количеству столбцов.
+     * @throws IOException Ошибка записи.
+     */
+    public static void write(Path path, int rowDimension, int columnDimension, ElementType elementType,
+                             IntFunction<double[]> rowSupplier) throws IOException {
+        write(path, rowDimension, columnDimension, elementType, 1, rowSupplier);
+    }
+
+    /**
+     * Записать матрицу в файл построчно с указанным множителем элементов целого типа.
+     * @param path Путь к файлу. Существующий файл перезаписывается.
+     * @param rowDimension Количество строк.
+     * @param columnDimension Количество столбцов.
+     * @param elementType Тип элементов в файле.
+     * @param scale Множитель элементов целого типа. Для вещественных типов должен быть равен 1.
+     * @param rowSupplier Функция, возвращающая строку по ее номеру. Строки запрашиваются по порядку.
+     * @exception IllegalArgumentException Размеры и множитель должны быть положительными, длина строки - равна количеству столбцов,
+     * а элементы, деленные на множитель, - помещаться в целый тип.
+     * @throws IOException Ошибка записи.
+     */
+    public static void write(Path path, int rowDimension, int columnDimension, ElementType elementType, double scale,
+                             IntFunction<double[]> rowSupplier) throws IOException {
+        if(rowDimension<=0 || columnDimension<=0)
+        {
+            throw new IllegalArgumentException("Dimensions must be positive.");
+        }
+        if(!(scale>0) || Double.isInfinite(scale) || !elementType.isInteger() && scale!=1)
+        {
+            throw new IllegalArgumentException("Scale must be a positive number, and 1 for real element types.");
+        }
+        int elementSize = elementType.getSize();
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.max(HEADER_SIZE, Math.min(BUFFER_SIZE, (long) columnDimension * elementSize)))
+                .order(BYTE_ORDER);
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE))
+        {
+            putHeader(buffer, elementType, rowDimension, columnDimension, scale);
+            flush(channel, buffer);
+            for(int i=0;i<rowDimension;i++)
+            {
+                double[] row = rowSupplier.apply(i);
+                if(row.length!=columnDimension)
+                {
+                    throw new IllegalArgumentException("All rows must have the same length.");
+                }
+                for(double element : row)
+                {
+                    if(buffer.remaining()<elementSize)
+                    {
+                        flush(channel, buffer);
+                    }
+                    switch(elementType)
+                    {
+                        case FLOAT:
+                            buffer.putFloat((float) element);
+                            break;
+                        case INT:
+                            buffer.putInt(elementType.quantize(element, scale));
+                            break;
+                        case SHORT:
+                            buffer.putShort((short) elementType.quantize(element, scale));
+                            break;
+                        default:
+                            buffer.putDouble(element);
+                    }
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Отобразить файл матрицы в память только для чтения.
+     * Матрица не изменяет файл: добавление числа к элементам и удаление строк и столбцов выполняются над представлением.
+     * @param path Путь к файлу.
+     * @return Матрица, элементы которой читаются из файла.
+     * @throws IOException Ошибка чтения или файл не является файлом матрицы.
+     */
+    public static Matrix map(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+            while(header.hasRemaining())
+            {
+                if(channel.read(header, header.position())<0)
+                {
+                    throw new IOException("Not a matrix file: header is truncated.");
+                }
+            }
+            header.flip();
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if(!Arrays.equals(magic, MAGIC))
+            {
+                throw new IOException("Not a matrix file: wrong signature.");
+            }
+            int version = header.getInt();
+            if(version!=VERSION)
+            {
+                throw new IOException("Unsupported matrix file version " + version + ".");
+            }
+            ElementType elementType = elementType(header.getInt());
+            int rowDimension = header.getInt();
+            int columnDimension = header.getInt();
+            if(rowDimension<=0 || columnDimension<=0)
+            {
+                throw new IOException("Matrix file has wrong dimensions.");
+            }
+            header.getInt();
+            double scale = header.getDouble();
+            if(!(scale>0) || Double.isInfinite(scale))
+            {
+                throw new IOException("Matrix file has a wrong scale.");
+            }
+            long rowSize = (long) columnDimension * elementType.getSize();
+            if(rowSize>Integer.MAX_VALUE)
+            {
+                throw new IOException("Matrix row is too long to be mapped.");
+            }
+            if(channel.size()!=HEADER_SIZE + rowSize * rowDimension)
+            {
+                throw new IOException("Matrix file size does not match its header.");
+            }
+            int rowsPerChunk = (int) Math.max(1, Math.min(rowDimension, MAX_CHUNK_SIZE / rowSize));
+            ByteBuffer[] chunks = new ByteBuffer[(rowDimension + rowsPerChunk - 1) / rowsPerChunk];
+            for(int c=0;c<chunks.length;c++)
+            {
+                int rows = Math.min(rowsPerChunk, rowDimension - c * rowsPerChunk);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + c * rowsPerChunk * rowSize, rows * rowSize)
+                        .order(BYTE_ORDER);
+            }
+            return new Matrix(new MappedMatrixStorage(chunks, rowsPerChunk, elementType, scale, rowDimension, columnDimension));
+        }
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Запись файла матрицы с элементами двойной точности в произвольном порядке.
+     * Файл создается сразу полного размера, а части строк записываются по их положению,
+     * поэтому матрицу можно записать, например, транспонируя ее полосами.
+     */
+    static final class RandomAccessWriter implements AutoCloseable {
+
+        /**
+         * Создать файл матрицы указанного размера.
+         * @param path Путь к файлу. Существующий файл перезаписывается.
+         * @param rowDimension Количество строк.
+         * @param columnDimension Количество столбцов.
+         * @exception IllegalArgumentException Размеры должны быть положительными.
+         * @throws IOException Ошибка записи.
+         */
+        RandomAccessWriter(Path path, int rowDimension, int columnDimension) throws IOException {
+            if(rowDimension<=0 || columnDimension<=0)
+            {
+                throw new IllegalArgumentException("Dimensions must be positive.");
+            }
+            this.columnDimension = columnDimension;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            try
+            {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+                putHeader(header, ElementType.DOUBLE, rowDimension, columnDimension, 1);
+                header.flip();
+                write(header, 0);
+                //the last byte sets the file size, the elements in between are left to the file system
+                write(ByteBuffer.allocate(1), HEADER_SIZE + (long) rowDimension * columnDimension * Double.BYTES - 1);
+            }
+            catch(IOException | RuntimeException e)
+            {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Записать часть строки.
+         * @param rowPosition Номер строки.
+         * @param columnFrom Номер столбца первого элемента части.
+         * @param elements Массив с элементами части.
+         * @param from Начало части в массиве, включительно.
+         * @param to Конец части в массиве, не включительно.
+         * @throws IOException Ошибка записи.
+         */
+        void write(int rowPosition, int columnFrom, double[] elements, int from, int to) throws IOException {
+            int length = to - from;
+            if(buffer==null || buffer.capacity()<length * Double.BYTES)
+            {
+                buffer = ByteBuffer.allocateDirect(length * Double.BYTES).order(BYTE_ORDER);
+            }
+            buffer.clear();
+            buffer.asDoubleBuffer().put(elements, from, length);
+            buffer.limit(length * Double.BYTES);
+            write(buffer, HEADER_SIZE + ((long) rowPosition * columnDimension + columnFrom) * Double.BYTES);
+        }
+
+        /**
+         * Закрыть файл.
+         * @throws IOException Ошибка закрытия.
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        /**
+         * Записать буфер целиком по указанному положению в файле.
+         * @param source Буфер.
+         * @param position Положение в файле.
+         * @throws IOException Ошибка записи.
+         */
+        private void write(ByteBuffer source, long position) throws IOException {
+            while(source.hasRemaining())
+            {
+                channel.write(source, position + source.position());
+            }
+        }
+
+        /**
+         * Количество столбцов.
+         */
+        private final int columnDimension;
+
+        /**
+         * Канал файла.
+         */
+        private final FileChannel channel;
+
+        /**
+         * Буфер записи частей строк.
+         */
+        private ByteBuffer buffer;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Записать заголовок файла в буфер.
+     * @param buffer Буфер.
+     * @param elementType Тип элементов.
+     * @param rowDimension Количество строк.
+     * @param columnDimension Количество столбцов.
+     * @param scale Множитель элементов.
+     */
+    private static void putHeader(ByteBuffer buffer, ElementType elementType, int rowDimension, int columnDimension, double scale) {
+        buffer.put(MAGIC).putInt(VERSION).putInt(elementType.code).putInt(rowDimension).putInt(columnDimension)
+                .putInt(0).putDouble(scale);
+    }
+
+    /**
+     * Получить тип элементов по коду из заголовка.
+     * @param code Код типа.
+     * @return Тип элементов.
+     * @throws IOException Неизвестный код.
+     */
+    private static ElementType elementType(int code) throws IOException {
+        for(ElementType elementType : ElementType.values())
+        {
+            if(elementType.code==code)
+            {
+                return elementType;
+            }
+        }
+        throw new IOException("Unknown matrix element type " + code + ".");
+    }
+
+    /**
+     * Записать содержимое буфера в канал и очистить буфер.
+     * @param channel Канал.
+     * @param buffer Буфер.
+     * @throws IOException Ошибка записи.
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private MatrixFile() {
+    }
+
+    /**
+     * Сигнатура файла.
+     */
+    private static final byte[] MAGIC = {'Z', 'S', 'G', 'M'};
+
+    /**
+     * Версия формата.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Длина заголовка в байтах.
+     */
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * Порядок байтов в файле.
+     */
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Размер буфера записи в байтах.
+     */
+    private static final long BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Наибольший размер отображаемой части файла в байтах.
+     */
+    private static final long MAX_CHUNK_SIZE = 1 << 30;
+}
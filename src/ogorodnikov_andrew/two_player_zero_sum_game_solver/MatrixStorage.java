@@ -0,0 +1,264 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.Arrays;
+
+/**
+ * Хранилище элементов матрицы.
+ * {@link Matrix} проверяет номера строк и столбцов и передает вызовы хранилищу,
+ * поэтому методы хранилища номера не проверяют.
+ */
+abstract class MatrixStorage {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Получить количество строк.
+     * @return Количество строк.
+     */
+    abstract int getRowDimension();
+
+    /**
+     * Получить количество столбцов.
+     * @return Количество столбцов.
+     */
+    abstract int getColumnDimension();
+
+    /**
+     * Получить элемент.
+     * @param rowPosition Номер строки.
+     * @param columnPosition Номер столбца.
+     * @return Элемент.
+     */
+    abstract double get(int rowPosition, int columnPosition);
+
+    /**
+     * Прибавить часть строки к той же части массива поэлементно.
+     * @param rowPosition Номер строки.
+     * @param target Массив длиной в количество столбцов.
+     * @param from Номер первого столбца части, включительно.
+     * @param to Номер последнего столбца части, не включительно.
+     */
+    void addRowTo(int rowPosition, double[] target, int from, int to)
+    {
+        for(int j=from;j<to;j++)
+        {
+            target[j] += get(rowPosition, j);
+        }
+    }
+
+    /**
+     * Прибавить часть столбца к той же части массива поэлементно.
+     * @param columnPosition Номер столбца.
+     * @param target Массив длиной в количество строк.
+     * @param from Номер первой строки части, включительно.
+     * @param to Номер последней строки части, не включительно.
+     */
+    void addColumnTo(int columnPosition, double[] target, int from, int to)
+    {
+        for(int i=from;i<to;i++)
+        {
+            target[i] += get(i, columnPosition);
+        }
+    }
+
+    /**
+     * Скопировать строку в массив.
+     * @param rowPosition Номер строки.
+     * @param target Массив длиной в количество столбцов.
+     */
+    void copyRowTo(int rowPosition, double[] target)
+    {
+        for(int j=0;j<target.length;j++)
+        {
+            target[j] = get(rowPosition, j);
+        }
+    }
+
+    /**
+     * Вычислить сводку матрицы (см. {@link MatrixSummary}).
+     * @return Сводка.
+     */
+    MatrixSummary summarize()
+    {
+        return MatrixSummary.scan(this);
+    }
+
+    /**
+     * Найти минимальные элементы строк и максимальные элементы столбцов части строк за один проход.
+     * @param from Номер первой строки части, включительно.
+     * @param to Номер последней строки части, не включительно. Часть не пуста.
+     * @param rowMinima Массив длиной в количество строк, в ту же часть которого записываются минимальные элементы строк.
+     * @param columnMaxima Массив длиной в количество столбцов, в который записываются максимальные элементы столбцов части.
+     */
+    void summarizeRows(int from, int to, double[] rowMinima, double[] columnMaxima)
+    {
+        copyRowTo(from, columnMaxima);
+        rowMinima[from] = findMin(columnMaxima);
+        double[] row = new double[columnMaxima.length];
+        for(int i=from+1;i<to;i++)
+        {
+            copyRowTo(i, row);
+            double min = row[0];
+            for(int j=0;j<row.length;j++)
+            {
+                double element = row[j];
+                if(element<min)
+                {
+                    min = element;
+                }
+                if(element>columnMaxima[j])
+                {
+                    columnMaxima[j] = element;
+                }
+            }
+            rowMinima[i] = min;
+        }
+    }
+
+    /**
+     * Умножить вектор-строку на матрицу.
+     * @param vector Вектор длиной в количество строк.
+     * @param target Массив длиной в количество столбцов для произведения.
+     */
+    void multiplyLeft(double[] vector, double[] target)
+    {
+        Arrays.fill(target, 0);
+        double[] row = new double[target.length];
+        for(int i=0;i<vector.length;i++)
+        {
+            if(vector[i]!=0)
+            {
+                copyRowTo(i, row);
+                for(int j=0;j<row.length;j++)
+                {
+                    target[j] += vector[i] * row[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Умножить матрицу на вектор-столбец.
+     * @param vector Вектор длиной в количество столбцов.
+     * @param target Массив длиной в количество строк для произведения.
+     */
+    void multiplyRight(double[] vector, double[] target)
+    {
+        double[] row = new double[vector.length];
+        for(int i=0;i<target.length;i++)
+        {
+            copyRowTo(i, row);
+            double sum = 0;
+            for(int j=0;j<row.length;j++)
+            {
+                sum += row[j] * vector[j];
+            }
+            target[i] = sum;
+        }
+    }
+
+    /**
+     * Добавить к элементам число.
+     * @param value Число для добавления.
+     */
+    abstract void addConstValue(double value);
+
+    /**
+     * Удалить строку.
+     * @param rowPosition Номер строки.
+     * @return Хранилище без указанной строки: это же хранилище или представление над ним.
+     */
+    abstract MatrixStorage removeRow(int rowPosition);
+
+    /**
+     * Удалить столбец.
+     * @param columnPosition Номер столбца.
+     * @return Хранилище без указанного столбца: это же хранилище или представление над ним.
+     */
+    abstract MatrixStorage removeColumn(int columnPosition);
+
+    /**
+     * Получить хранилище из указанных строк и столбцов.
+     * @param rowPositions Номера строк.
+     * @param columnPositions Номера столбцов.
+     * @return Новое хранилище.
+     */
+    abstract MatrixStorage subStorage(int[] rowPositions, int[] columnPositions);
+
+    /**
+     * Получить размер элементов в байтах: в куче или в отображенном в память файле.
+     * @return Размер элементов в байтах.
+     */
+    abstract long getMemorySize();
+
+    /**
+     * Проверить, вычисляются ли элементы по запросу (см. {@link PayoffOracle}). Полный проход по такому хранилищу
+     * вычисляет всю матрицу, поэтому итеративный метод начинает без поиска нижней границы цены игры.
+     * @return true, если элементы вычисляются по запросу.
+     */
+    boolean isComputedOnDemand()
+    {
+        return false;
+    }
+
+    /**
+     * Получить массив элементов, записанных построчно без пропусков, если хранилище его имеет.
+     * @return Массив элементов или null.
+     */
+    double[] getElements()
+    {
+        return null;
+    }
+
+    /**
+     * Получить массив элементов, записанных по столбцам без пропусков, если хранилище его имеет.
+     * @return Массив элементов или null.
+     */
+    double[] getColumnMajorElements()
+    {
+        return null;
+    }
+
+    /**
+     * Получить номера от 0 до length-1 без указанного.
+     * @param length Количество номеров.
+     * @param excluded Исключаемый номер или -1.
+     * @return Номера по возрастанию.
+     */
+    static int[] rangeWithout(int length, int excluded)
+    {
+        int[] result = new int[excluded>=0 ? length - 1 : length];
+        for(int k=0, t=0;k<length;k++)
+        {
+            if(k!=excluded)
+            {
+                result[t++] = k;
+            }
+        }
+        return result;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Найти минимальный элемент массива.
+     * @param array Непустой массив.
+     * @return Минимальный элемент.
+     */
+    private static double findMin(double[] array)
+    {
+        double min = array[0];
+        for(int j=1;j<array.length;j++)
+        {
+            if(array[j]<min)
+            {
+                min = array[j];
+            }
+        }
+        return min;
+    }
+}
@@ -0,0 +1,270 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Сводка матрицы: минимальные элементы строк, максимальные элементы столбцов, нижняя и верхняя границы
+ * цены игры в чистых стратегиях с их номерами и наименьший и наибольший элементы матрицы.
+ * Сводка вычисляется за один проход по матрице и хранится в ней до изменения элементов (см. {@link Matrix#getSummary()}).
+ * Большие матрицы просматриваются по частям строк в общем пуле потоков; части сравниваются по порядку,
+ * поэтому результат совпадает с последовательным просмотром.
+ */
+final class MatrixSummary {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Вычислить сводку хранилища одним проходом по строкам.
+     * @param storage Хранилище.
+     * @return Сводка.
+     */
+    static MatrixSummary scan(MatrixStorage storage) {
+        int rowDimension = storage.getRowDimension();
+        int columnDimension = storage.getColumnDimension();
+        double[] rowMinima = new double[rowDimension];
+        double[] columnMaxima = new double[columnDimension];
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int numberOfChunks = (int) Math.max(1, Math.min(Math.min(pool.getParallelism() * 2, rowDimension),
+                (long) rowDimension * columnDimension / MIN_CHUNK_SIZE));
+        if(numberOfChunks==1)
+        {
+            storage.summarizeRows(0, rowDimension, rowMinima, columnMaxima);
+        }
+        else
+        {
+            double[][] chunkMaxima = new double[numberOfChunks][];
+            chunkMaxima[0] = columnMaxima;
+            pool.invoke(new ChunkAction(storage, rowMinima, chunkMaxima, 0, numberOfChunks));
+            //chunks are merged in order with a strict comparison, as rows are in the sequential pass
+            for(int chunk=1;chunk<numberOfChunks;chunk++)
+            {
+                double[] maxima = chunkMaxima[chunk];
+                for(int j=0;j<columnDimension;j++)
+                {
+                    if(maxima[j]>columnMaxima[j])
+                    {
+                        columnMaxima[j] = maxima[j];
+                    }
+                }
+            }
+        }
+        return new MatrixSummary(rowMinima, columnMaxima);
+    }
+
+    /**
+     * Конструктор сводки по минимальным элементам строк и максимальным элементам столбцов. Массивы не копируются.
+     * @param rowMinima Минимальные элементы строк.
+     * @param columnMaxima Максимальные элементы столбцов.
+     */
+    MatrixSummary(double[] rowMinima, double[] columnMaxima) {
+        this.rowMinima = rowMinima;
+        this.columnMaxima = columnMaxima;
+        int maximinIndex = 0;
+        int minElementIndex = 0;
+        for(int i=1;i<rowMinima.length;i++)
+        {
+            if(rowMinima[i]>rowMinima[maximinIndex])
+            {
+                maximinIndex = i;
+            }
+            if(rowMinima[i]<rowMinima[minElementIndex])
+            {
+                minElementIndex = i;
+            }
+        }
+        int minimaxIndex = 0;
+        int maxElementIndex = 0;
+        for(int j=1;j<columnMaxima.length;j++)
+        {
+            if(columnMaxima[j]<columnMaxima[minimaxIndex])
+            {
+                minimaxIndex = j;
+            }
+            if(columnMaxima[j]>columnMaxima[maxElementIndex])
+            {
+                maxElementIndex = j;
+            }
+        }
+        this.maximinIndex = maximinIndex;
+        this.minimaxIndex = minimaxIndex;
+        this.minElement = rowMinima[minElementIndex];
+        this.maxElement = columnMaxima[maxElementIndex];
+    }
+
+    /**
+     * Получить минимальные элементы строк. Массив не копируется.
+     * @return Массив длиной в количество строк.
+     */
+    double[] getRowMinima() {
+        return rowMinima;
+    }
+
+    /**
+     * Получить максимальные элементы столбцов. Массив не копируется.
+     * @return Массив длиной в количество столбцов.
+     */
+    double[] getColumnMaxima() {
+        return columnMaxima;
+    }
+
+    /**
+     * Получить номер первой строки с наибольшим минимальным элементом.
+     * @return Номер строки нижней границы цены игры.
+     */
+    int getMaximinIndex() {
+        return maximinIndex;
+    }
+
+    /**
+     * Получить нижнюю границу цены игры в чистых стратегиях: наибольший из минимальных элементов строк.
+     * @return Нижняя граница цены игры.
+     */
+    double getMaximin() {
+        return rowMinima[maximinIndex];
+    }
+
+    /**
+     * Получить номер первого столбца с наименьшим максимальным элементом.
+     * @return Номер столбца верхней границы цены игры.
+     */
+    int getMinimaxIndex() {
+        return minimaxIndex;
+    }
+
+    /**
+     * Получить верхнюю границу цены игры в чистых стратегиях: наименьший из максимальных элементов столбцов.
+     * @return Верхняя граница цены игры.
+     */
+    double getMinimax() {
+        return columnMaxima[minimaxIndex];
+    }
+
+    /**
+     * Получить наименьший элемент матрицы.
+     * @return Наименьший элемент.
+     */
+    double getMinElement() {
+        return minElement;
+    }
+
+    /**
+     * Получить наибольший элемент матрицы.
+     * @return Наибольший элемент.
+     */
+    double getMaxElement() {
+        return maxElement;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Задача просмотра диапазона частей строк.
+     */
+    private static final class ChunkAction extends RecursiveAction {
+
+        /**
+         * Конструктор задачи.
+         * @param storage Хранилище элементов.
+         * @param rowMinima Минимальные элементы строк.
+         * @param chunkMaxima Максимальные элементы столбцов по частям строк.
+         * @param firstChunk Первая часть диапазона, включительно.
+         * @param lastChunk Последняя часть диапазона, не включительно.
+         */
+        ChunkAction(MatrixStorage storage, double[] rowMinima, double[][] chunkMaxima, int firstChunk, int lastChunk) {
+            this.storage = storage;
+            this.rowMinima = rowMinima;
+            this.chunkMaxima = chunkMaxima;
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if(lastChunk-firstChunk>1)
+            {
+                int middle = (firstChunk + lastChunk) >>> 1;
+                invokeAll(new ChunkAction(storage, rowMinima, chunkMaxima, firstChunk, middle),
+                        new ChunkAction(storage, rowMinima, chunkMaxima, middle, lastChunk));
+                return;
+            }
+            int numberOfChunks = chunkMaxima.length;
+            int from = (int) ((long) rowMinima.length * firstChunk / numberOfChunks);
+            int to = (int) ((long) rowMinima.length * (firstChunk + 1) / numberOfChunks);
+            if(chunkMaxima[firstChunk]==null)
+            {
+                chunkMaxima[firstChunk] = new double[storage.getColumnDimension()];
+            }
+            storage.summarizeRows(from, to, rowMinima, chunkMaxima[firstChunk]);
+        }
+
+        /**
+         * Версия сериализованной формы. Задача не сериализуется, но наследует Serializable.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Хранилище элементов.
+         */
+        private final MatrixStorage storage;
+
+        /**
+         * Минимальные элементы строк.
+         */
+        private final double[] rowMinima;
+
+        /**
+         * Максимальные элементы столбцов по частям строк. Массив части создается задачей этой части.
+         */
+        private final double[][] chunkMaxima;
+
+        /**
+         * Первая часть диапазона, включительно.
+         */
+        private final int firstChunk;
+
+        /**
+         * Последняя часть диапазона, не включительно.
+         */
+        private final int lastChunk;
+    }
+
+    /**
+     * Минимальное количество элементов в части строк.
+     */
+    private static final long MIN_CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Минимальные элементы строк.
+     */
+    private final double[] rowMinima;
+
+    /**
+     * Максимальные элементы столбцов.
+     */
+    private final double[] columnMaxima;
+
+    /**
+     * Номер строки нижней границы цены игры.
+     */
+    private final int maximinIndex;
+
+    /**
+     * Номер столбца верхней границы цены игры.
+     */
+    private final int minimaxIndex;
+
+    /**
+     * Наименьший элемент матрицы.
+     */
+    private final double minElement;
+
+    /**
+     * Наибольший элемент матрицы.
+     */
+    private final double maxElement;
+}
@@ -0,0 +1,247 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Общая часть итеративных методов без сожаления (no-regret). На каждой итерации оба игрока выбирают смешанные стратегии,
+ * а результатом являются средние стратегии за все итерации.
+ * Для средних стратегий p и q границы цены игры точные: нижняя равна min(p^T*A), верхняя - max(A*q),
+ * их разность - зазор двойственности. Произведения средних стратегий на матрицу накапливаются из произведений,
+ * вычисленных на итерациях, поэтому границы получаются без дополнительных проходов по матрице.
+ * Итерации прекращаются, когда зазор двойственности станет меньше epsilon, или по исчерпании количества итераций.
+ */
+public abstract class NoRegretSolver implements Solver {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Получить количество итераций, выполненных при последнем решении.
+     * @return Количество итераций.
+     */
+    public int getNumberOfIterations() {
+        return numberOfIterations;
+    }
+
+    /**
+     * Задать срок решения. Когда срок истекает или решение отменяется, итерации прекращаются,
+     * и результат содержит средние стратегии выполненных итераций и точные границы цены игры для них.
+     * @param deadline Срок решения или null, если решение ограничено только количеством итераций и точностью.
+     */
+    public void setDeadline(SolveDeadline deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Получить срок решения.
+     * @return Срок решения или null.
+     */
+    public SolveDeadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Решить игру.
+     * @param payoffMatrix Платежная матрица.
+     * @return Результат игры: средние стратегии, границы цены игры для них и середина отрезка между границами как цена игры.
+     */
+    @Override
+    public Result solve(Matrix payoffMatrix) {
+        int rowDimension = payoffMatrix.getRowDimension();
+        int columnDimension = payoffMatrix.getColumnDimension();
+
+        //strategies of the current iteration and their products with the payoff matrix
+        double[] firstPlayerStrategy = new double[rowDimension];
+        double[] secondPlayerStrategy = new double[columnDimension];
+        double[] secondPlayerLosses = new double[columnDimension];
+        double[] firstPlayerGains = new double[rowDimension];
+
+        //weighted sums of the same over all iterations
+        double[] firstPlayerStrategySum = new double[rowDimension];
+        double[] secondPlayerStrategySum = new double[columnDimension];
+        double[] secondPlayerLossesSum = new double[columnDimension];
+        double[] firstPlayerGainsSum = new double[rowDimension];
+        double weightSum = 0;
+
+        double lowerBound = Double.NEGATIVE_INFINITY;
+        double upperBound = Double.POSITIVE_INFINITY;
+
+        start(payoffMatrix);
+        int deadlineMask = SolveDeadline.getCheckMask(rowDimension, columnDimension);
+        int iterationNumber = 0;
+        while(iterationNumber<maxNumberOfIterations && !(epsilon>0 && upperBound-lowerBound<epsilon))
+        {
+            iterationNumber++;
+            step(payoffMatrix, iterationNumber, firstPlayerStrategy, secondPlayerStrategy, secondPlayerLosses, firstPlayerGains);
+            double weight = getWeight(iterationNumber);
+            weightSum += weight;
+            lowerBound = Double.POSITIVE_INFINITY;
+            for(int j=0;j<columnDimension;j++)
+            {
+                secondPlayerStrategySum[j] += weight * secondPlayerStrategy[j];
+                secondPlayerLossesSum[j] += weight * secondPlayerLosses[j];
+                if(secondPlayerLossesSum[j]<lowerBound)
+                {
+                    lowerBound = secondPlayerLossesSum[j];
+                }
+            }
+            upperBound = Double.NEGATIVE_INFINITY;
+            for(int i=0;i<rowDimension;i++)
+            {
+                firstPlayerStrategySum[i] += weight * firstPlayerStrategy[i];
+                firstPlayerGainsSum[i] += weight * firstPlayerGains[i];
+                if(firstPlayerGainsSum[i]>upperBound)
+                {
+                    upperBound = firstPlayerGainsSum[i];
+                }
+            }
+            lowerBound /= weightSum;
+            upperBound /= weightSum;
+            if((iterationNumber & (SolveProgressEvent.PERIOD - 1))==0)
+            {
+                SolveProgressEvent.commit(getClass().getSimpleName(), iterationNumber, lowerBound, upperBound);
+            }
+            if(deadline!=null && (iterationNumber & deadlineMask)==0 && deadline.isExpired())
+            {
+                break;
+            }
+        }
+        numberOfIterations = iterationNumber;
+
+        //the sums are not needed anymore, so they become the average strategies in place
+        for(int i=0;i<rowDimension;i++)
+        {
+            firstPlayerStrategySum[i] /= weightSum;
+        }
+        for(int j=0;j<columnDimension;j++)
+        {
+            secondPlayerStrategySum[j] /= weightSum;
+        }
+        return new Result(firstPlayerStrategySum, secondPlayerStrategySum, (lowerBound+upperBound) / 2, lowerBound, upperBound, numberOfIterations);
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор метода с фиксированным количеством итераций.
+     * @param numberOfIterations Количество итераций.
+     */
+    NoRegretSolver(int numberOfIterations) {
+        if(numberOfIterations<1)
+        {
+            throw new IllegalArgumentException("Number of iterations must be a positive number");
+        }
+        this.epsilon = 0;
+        this.maxNumberOfIterations = numberOfIterations;
+    }
+
+    /**
+     * Конструктор метода с заданной точностью и ограничением количества итераций.
+     * @param epsilon Допустимый зазор двойственности.
+     * @param maxNumberOfIterations Максимальное количество итераций.
+     */
+    NoRegretSolver(double epsilon, int maxNumberOfIterations) {
+        if(!(epsilon>0))
+        {
+            throw new IllegalArgumentException("Epsilon must be a positive number");
+        }
+        if(maxNumberOfIterations<1)
+        {
+            throw new IllegalArgumentException("Number of iterations must be a positive number");
+        }
+        this.epsilon = epsilon;
+        this.maxNumberOfIterations = maxNumberOfIterations;
+    }
+
+    /**
+     * Подготовить состояние метода к решению игры с указанной матрицей.
+     * @param payoffMatrix Платежная матрица.
+     */
+    abstract void start(Matrix payoffMatrix);
+
+    /**
+     * Выполнить итерацию. Массивы стратегий и произведений перед первой итерацией заполнены нулями,
+     * перед следующими содержат значения предыдущей итерации.
+     * @param payoffMatrix Платежная матрица.
+     * @param iterationNumber Номер итерации, начиная с 1.
+     * @param firstPlayerStrategy Стратегия первого игрока, в которую записывается стратегия итерации.
+     * @param secondPlayerStrategy Стратегия второго игрока, в которую записывается стратегия итерации.
+     * @param secondPlayerLosses Массив, в который записывается произведение стратегии первого игрока на матрицу.
+     * @param firstPlayerGains Массив, в который записывается произведение матрицы на стратегию второго игрока.
+     */
+    abstract void step(Matrix payoffMatrix, int iterationNumber, double[] firstPlayerStrategy, double[] secondPlayerStrategy,
+                       double[] secondPlayerLosses, double[] firstPlayerGains);
+
+    /**
+     * Получить вес стратегий итерации в средних стратегиях. По умолчанию все итерации имеют равный вес.
+     * @param iterationNumber Номер итерации, начиная с 1.
+     * @return Вес итерации.
+     */
+    double getWeight(int iterationNumber) {
+        return 1;
+    }
+
+    /**
+     * Получить разброс элементов матрицы для масштабирования шага. Для постоянной матрицы равен 1.
+     * @param payoffMatrix Платежная матрица.
+     * @return Разность наибольшего и наименьшего элементов.
+     */
+    static double getRange(Matrix payoffMatrix) {
+        MatrixSummary summary = payoffMatrix.getSummary();
+        double range = summary.getMaxElement() - summary.getMinElement();
+        return range>0 ? range : 1;
+    }
+
+    /**
+     * Записать в массив стратегию, пропорциональную экспонентам от указанных значений, умноженных на шаг.
+     * Из значений вычитается наибольшее, чтобы экспоненты не переполнялись.
+     * @param values Значения.
+     * @param stepSize Шаг. Отрицательный шаг дает стратегию, предпочитающую малые значения.
+     * @param strategy Массив для стратегии.
+     */
+    static void softmax(double[] values, double stepSize, double[] strategy) {
+        double max = Double.NEGATIVE_INFINITY;
+        for(double value : values)
+        {
+            if(stepSize * value>max)
+            {
+                max = stepSize * value;
+            }
+        }
+        double sum = 0;
+        for(int k=0;k<values.length;k++)
+        {
+            strategy[k] = Math.exp(stepSize * values[k] - max);
+            sum += strategy[k];
+        }
+        for(int k=0;k<strategy.length;k++)
+        {
+            strategy[k] /= sum;
+        }
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Допустимый зазор двойственности. Если равен нулю, выполняются все итерации.
+     */
+    private final double epsilon;
+
+    /**
+     * Максимальное количество итераций.
+     */
+    private final int maxNumberOfIterations;
+
+    /**
+     * Количество итераций, выполненных при последнем решении.
+     */
+    private int numberOfIterations;
+
+    /**
+     * Срок решения или null.
+     */
+    private SolveDeadline deadline;
+}
@@ -0,0 +1,104 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Оптимистический зеркальный спуск с энтропийной регуляризацией (optimistic multiplicative weights).
+ * Как в методе {@link HedgeSolver}, стратегии пропорциональны экспонентам от накопленных выигрышей,
+ * но выигрыши последней итерации учитываются дважды как прогноз следующей.
+ * Прогноз гасит колебания стратегий, и зазор двойственности средних стратегий убывает как 1/t при постоянном шаге.
+ */
+public class OptimisticMirrorDescentSolver extends NoRegretSolver {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Конструктор метода с фиксированным количеством итераций.
+     * @param numberOfIterations Количество итераций.
+     */
+    public OptimisticMirrorDescentSolver(int numberOfIterations) {
+        super(numberOfIterations);
+    }
+
+    /**
+     * Конструктор метода с заданной точностью и ограничением количества итераций.
+     * @param epsilon Допустимый зазор двойственности.
+     * @param maxNumberOfIterations Максимальное количество итераций.
+     */
+    public OptimisticMirrorDescentSolver(double epsilon, int maxNumberOfIterations) {
+        super(epsilon, maxNumberOfIterations);
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    @Override
+    void start(Matrix payoffMatrix) {
+        firstPlayerGainsSum = new double[payoffMatrix.getRowDimension()];
+        secondPlayerLossesSum = new double[payoffMatrix.getColumnDimension()];
+        firstPlayerPrediction = new double[payoffMatrix.getRowDimension()];
+        secondPlayerPrediction = new double[payoffMatrix.getColumnDimension()];
+        stepSize = STEP_SIZE / getRange(payoffMatrix);
+    }
+
+    @Override
+    void step(Matrix payoffMatrix, int iterationNumber, double[] firstPlayerStrategy, double[] secondPlayerStrategy,
+              double[] secondPlayerLosses, double[] firstPlayerGains) {
+        //the previous iteration arrays still hold the last gains and losses, which are the prediction
+        for(int i=0;i<firstPlayerGainsSum.length;i++)
+        {
+            firstPlayerPrediction[i] = firstPlayerGainsSum[i] + firstPlayerGains[i];
+        }
+        for(int j=0;j<secondPlayerLossesSum.length;j++)
+        {
+            secondPlayerPrediction[j] = secondPlayerLossesSum[j] + secondPlayerLosses[j];
+        }
+        softmax(firstPlayerPrediction, stepSize, firstPlayerStrategy);
+        softmax(secondPlayerPrediction, -stepSize, secondPlayerStrategy);
+        payoffMatrix.multiplyLeft(firstPlayerStrategy, secondPlayerLosses);
+        payoffMatrix.multiplyRight(secondPlayerStrategy, firstPlayerGains);
+        for(int i=0;i<firstPlayerGainsSum.length;i++)
+        {
+            firstPlayerGainsSum[i] += firstPlayerGains[i];
+        }
+        for(int j=0;j<secondPlayerLossesSum.length;j++)
+        {
+            secondPlayerLossesSum[j] += secondPlayerLosses[j];
+        }
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Шаг для матрицы с разбросом элементов 1.
+     */
+    private static final double STEP_SIZE = 2;
+
+    /**
+     * Накопленные выигрыши первого игрока.
+     */
+    private double[] firstPlayerGainsSum;
+
+    /**
+     * Накопленные проигрыши второго игрока.
+     */
+    private double[] secondPlayerLossesSum;
+
+    /**
+     * Накопленные выигрыши первого игрока с прогнозом.
+     */
+    private double[] firstPlayerPrediction;
+
+    /**
+     * Накопленные проигрыши второго игрока с прогнозом.
+     */
+    private double[] secondPlayerPrediction;
+
+    /**
+     * Шаг.
+     */
+    private double stepSize;
+}
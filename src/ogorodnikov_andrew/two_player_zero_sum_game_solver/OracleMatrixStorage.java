@@ -0,0 +1,382 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Хранилище, элементы которого вычисляет оракул выигрышей {@link PayoffOracle}.
+ * Вычисленные строки и столбцы хранятся в общем кэше, из которого при превышении размера вытесняются
+ * давно не использовавшиеся. Итеративный метод использует только выбранные стратегии, поэтому память
+ * пропорциональна количеству сыгранных стратегий, а не размерам матрицы.
+ * Если задан исполнитель предвыборки, после вычисления строки в фоне вычисляется столбец лучшего ответа на нее
+ * (столбец с наименьшим элементом строки), а после вычисления столбца - строка лучшего ответа на него:
+ * итеративный метод и метод двойного оракула обычно запрашивают их следующими.
+ * Строку или столбец, которые уже вычисляются, другие потоки не вычисляют повторно, а ждут.
+ * Число, добавленное к элементам, хранится отдельно и прибавляется при чтении.
+ */
+final class OracleMatrixStorage extends MatrixStorage {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор.
+     * @param oracle Оракул выигрышей.
+     * @param cacheSize Максимальный размер кэша строк и столбцов в байтах.
+     * @param prefetchExecutor Исполнитель предвыборки или null.
+     */
+    OracleMatrixStorage(PayoffOracle oracle, long cacheSize, Executor prefetchExecutor)
+    {
+        this.oracle = oracle;
+        this.rowDimension = oracle.getRowDimension();
+        this.columnDimension = oracle.getColumnDimension();
+        this.cacheSize = cacheSize;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    @Override
+    int getRowDimension()
+    {
+        return rowDimension;
+    }
+
+    @Override
+    int getColumnDimension()
+    {
+        return columnDimension;
+    }
+
+    /**
+     * Элемент берется из вычисленной строки или столбца, если они есть в кэше, иначе вычисляется оракулом и не сохраняется.
+     */
+    @Override
+    double get(int rowPosition, int columnPosition)
+    {
+        double[] vector;
+        synchronized(this)
+        {
+            vector = cache.get(rowKey(rowPosition));
+            if(vector!=null)
+            {
+                return vector[columnPosition] + shift;
+            }
+            vector = cache.get(columnKey(columnPosition));
+            if(vector!=null)
+            {
+                return vector[rowPosition] + shift;
+            }
+        }
+        return oracle.payoff(rowPosition, columnPosition) + shift;
+    }
+
+    @Override
+    void addRowTo(int rowPosition, double[] target, int from, int to)
+    {
+        double[] row = fetch(rowKey(rowPosition));
+        for(int j=from;j<to;j++)
+        {
+            target[j] += row[j] + shift;
+        }
+    }
+
+    @Override
+    void addColumnTo(int columnPosition, double[] target, int from, int to)
+    {
+        double[] column = fetch(columnKey(columnPosition));
+        for(int i=from;i<to;i++)
+        {
+            target[i] += column[i] + shift;
+        }
+    }
+
+    @Override
+    void copyRowTo(int rowPosition, double[] target)
+    {
+        double[] row = fetch(rowKey(rowPosition));
+        for(int j=0;j<columnDimension;j++)
+        {
+            target[j] = row[j] + shift;
+        }
+    }
+
+    @Override
+    boolean isComputedOnDemand()
+    {
+        return true;
+    }
+
+    /**
+     * Размер хранилища - размер вычисленных строк и столбцов в кэше.
+     */
+    @Override
+    synchronized long getMemorySize()
+    {
+        return cachedSize;
+    }
+
+    @Override
+    void addConstValue(double value)
+    {
+        shift += value;
+    }
+
+    @Override
+    MatrixStorage removeRow(int rowPosition)
+    {
+        return IndexedMatrixStorage.of(this, 0).removeRow(rowPosition);
+    }
+
+    @Override
+    MatrixStorage removeColumn(int columnPosition)
+    {
+        return IndexedMatrixStorage.of(this, 0).removeColumn(columnPosition);
+    }
+
+    /**
+     * Часть матрицы оракула - представление без копирования элементов.
+     */
+    @Override
+    MatrixStorage subStorage(int[] rowPositions, int[] columnPositions)
+    {
+        return new IndexedMatrixStorage(this, rowPositions.clone(), columnPositions.clone(), 0);
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Получить строку или столбец из кэша или вычислить их.
+     * @param key Ключ строки или столбца.
+     * @return Элементы без добавленного числа. Массив не копируется и не изменяется.
+     */
+    private double[] fetch(long key)
+    {
+        CompletableFuture<double[]> pending;
+        boolean owner = false;
+        synchronized(this)
+        {
+            double[] vector = cache.get(key);
+            if(vector!=null)
+            {
+                return vector;
+            }
+            pending = pendingVectors.get(key);
+            if(pending==null)
+            {
+                pending = new CompletableFuture<double[]>();
+                pendingVectors.put(key, pending);
+                owner = true;
+            }
+        }
+        if(!owner)
+        {
+            return pending.join();
+        }
+        double[] vector = compute(key, pending);
+        if(prefetchExecutor!=null)
+        {
+            prefetch(isColumnKey(key) ? rowKey(findMax(vector)) : columnKey(findMin(vector)));
+        }
+        return vector;
+    }
+
+    /**
+     * Начать вычисление строки или столбца в фоне, если они еще не вычислены и не вычисляются.
+     * @param key Ключ строки или столбца.
+     */
+    private void prefetch(long key)
+    {
+        CompletableFuture<double[]> pending;
+        synchronized(this)
+        {
+            if(cache.containsKey(key) || pendingVectors.containsKey(key))
+            {
+                return;
+            }
+            pending = new CompletableFuture<double[]>();
+            pendingVectors.put(key, pending);
+        }
+        CompletableFuture<double[]> future = pending;
+        prefetchExecutor.execute(() -> compute(key, future));
+    }
+
+    /**
+     * Вычислить строку или столбец оракулом, сохранить в кэше и завершить ожидание.
+     * @param key Ключ строки или столбца.
+     * @param pending Ожидание, зарегистрированное для ключа.
+     * @return Элементы.
+     */
+    private double[] compute(long key, CompletableFuture<double[]> pending)
+    {
+        double[] vector;
+        try
+        {
+            int index = (int) (key >>> 1);
+            if(isColumnKey(key))
+            {
+                vector = new double[rowDimension];
+                oracle.column(index, vector);
+            }
+            else
+            {
+                vector = new double[columnDimension];
+                oracle.row(index, vector);
+            }
+        }
+        catch(RuntimeException | Error e)
+        {
+            synchronized(this)
+            {
+                pendingVectors.remove(key);
+            }
+            pending.completeExceptionally(e);
+            throw e;
+        }
+        synchronized(this)
+        {
+            pendingVectors.remove(key);
+            store(key, vector);
+        }
+        pending.complete(vector);
+        return vector;
+    }
+
+    /**
+     * Сохранить строку или столбец в кэше и вытеснить давно не использовавшиеся.
+     * Векторы больше всего кэша не сохраняются.
+     * @param key Ключ строки или столбца.
+     * @param vector Элементы.
+     */
+    private void store(long key, double[] vector)
+    {
+        long size = sizeOf(vector);
+        if(size>cacheSize)
+        {
+            return;
+        }
+        double[] previous = cache.put(key, vector);
+        if(previous!=null)
+        {
+            cachedSize -= sizeOf(previous);
+        }
+        cachedSize += size;
+        //the map is in access order, so the eldest entry is the least recently used
+        Iterator<Map.Entry<Long, double[]>> iterator = cache.entrySet().iterator();
+        while(cachedSize>cacheSize)
+        {
+            Map.Entry<Long, double[]> eldest = iterator.next();
+            if(eldest.getKey()==key)
+            {
+                continue;
+            }
+            cachedSize -= sizeOf(eldest.getValue());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Получить размер вектора в кэше.
+     * @param vector Вектор.
+     * @return Приблизительный размер в байтах.
+     */
+    private static long sizeOf(double[] vector)
+    {
+        return (long) vector.length * Double.BYTES + ENTRY_OVERHEAD;
+    }
+
+    /**
+     * Получить ключ строки в кэше.
+     */
+    private static long rowKey(int rowPosition)
+    {
+        return (long) rowPosition << 1;
+    }
+
+    /**
+     * Получить ключ столбца в кэше.
+     */
+    private static long columnKey(int columnPosition)
+    {
+        return (long) columnPosition << 1 | 1;
+    }
+
+    /**
+     * Проверить, является ли ключ ключом столбца.
+     */
+    private static boolean isColumnKey(long key)
+    {
+        return (key & 1)!=0;
+    }
+
+    /**
+     * Найти номер первого наименьшего элемента.
+     */
+    private static int findMin(double[] vector)
+    {
+        return ScalarIterationKernel.findMin(vector, 0, vector.length);
+    }
+
+    /**
+     * Найти номер первого наибольшего элемента.
+     */
+    private static int findMax(double[] vector)
+    {
+        return ScalarIterationKernel.findMax(vector, 0, vector.length);
+    }
+
+    /**
+     * Приблизительный размер записи кэша без массива в байтах.
+     */
+    private static final long ENTRY_OVERHEAD = 64;
+
+    /**
+     * Оракул выигрышей.
+     */
+    private final PayoffOracle oracle;
+
+    /**
+     * Количество строк.
+     */
+    private final int rowDimension;
+
+    /**
+     * Количество столбцов.
+     */
+    private final int columnDimension;
+
+    /**
+     * Максимальный размер кэша в байтах.
+     */
+    private final long cacheSize;
+
+    /**
+     * Исполнитель предвыборки или null.
+     */
+    private final Executor prefetchExecutor;
+
+    /**
+     * Вычисленные строки и столбцы по ключу в порядке использования.
+     */
+    private final LinkedHashMap<Long, double[]> cache = new LinkedHashMap<Long, double[]>(16, 0.75f, true);
+
+    /**
+     * Ожидания строк и столбцов, которые вычисляются сейчас.
+     */
+    private final HashMap<Long, CompletableFuture<double[]>> pendingVectors = new HashMap<Long, CompletableFuture<double[]>>();
+
+    /**
+     * Размер вычисленных строк и столбцов в кэше в байтах.
+     */
+    private long cachedSize;
+
+    /**
+     * Число, добавляемое к элементам при чтении.
+     */
+    private double shift;
+}
@@ -0,0 +1,195 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Параллельное ядро итерации для больших платежных матриц.
+ * Массив делится на части, каждая часть обновляется и просматривается в отдельной задаче общего пула потоков,
+ * после чего экстремумы частей сравниваются по порядку. При равенстве значений побеждает часть с меньшим номером,
+ * поэтому результат совпадает с последовательным ядром.
+ */
+final class ParallelIterationKernel implements IterationKernel {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Ядро с порогом по умолчанию.
+     */
+    static final ParallelIterationKernel DEFAULT = new ParallelIterationKernel(ParallelIterationKernel.DEFAULT_THRESHOLD);
+
+    /**
+     * Конструктор.
+     * @param threshold Минимальная длина массива для параллельной обработки.
+     */
+    ParallelIterationKernel(int threshold) {
+        if(threshold<1)
+        {
+            throw new IllegalArgumentException("Threshold must be a positive number");
+        }
+        this.threshold = threshold;
+    }
+
+    @Override
+    public int addRowAndFindMin(Matrix payoffMatrix, int rowPosition, double[] gains) {
+        if(gains.length<threshold)
+        {
+            return ScalarIterationKernel.INSTANCE.addRowAndFindMin(payoffMatrix, rowPosition, gains);
+        }
+        return invoke(payoffMatrix, rowPosition, gains, true);
+    }
+
+    @Override
+    public int addColumnAndFindMax(Matrix payoffMatrix, int columnPosition, double[] losses) {
+        if(losses.length<threshold)
+        {
+            return ScalarIterationKernel.INSTANCE.addColumnAndFindMax(payoffMatrix, columnPosition, losses);
+        }
+        return invoke(payoffMatrix, columnPosition, losses, false);
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Обработать массив по частям и выбрать экстремум.
+     * @param payoffMatrix Платежная матрица.
+     * @param position Номер строки (для выигрышей) или столбца (для проигрышей).
+     * @param array Накопленный массив.
+     * @param row true для строки и поиска минимума, false для столбца и поиска максимума.
+     * @return Номер первого экстремального элемента.
+     */
+    private int invoke(Matrix payoffMatrix, int position, double[] array, boolean row) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int numberOfChunks = Math.max(1, Math.min(pool.getParallelism() * 2, array.length / MIN_CHUNK_LENGTH));
+        int[] indexes = new int[numberOfChunks];
+        pool.invoke(new ChunkAction(payoffMatrix, position, array, row, numberOfChunks, indexes, 0, numberOfChunks));
+
+        //chunks are compared in order with a strict comparison, so the first index wins on ties
+        int result = indexes[0];
+        for(int chunk=1;chunk<numberOfChunks;chunk++)
+        {
+            int index = indexes[chunk];
+            if(row ? array[result]>array[index] : array[result]<array[index])
+            {
+                result = index;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Задача обработки диапазона частей массива.
+     */
+    private static final class ChunkAction extends RecursiveAction {
+
+        /**
+         * Конструктор задачи.
+         * @param payoffMatrix Платежная матрица.
+         * @param position Номер прибавляемой строки или столбца.
+         * @param array Массив выигрышей или проигрышей.
+         * @param row Прибавляется ли строка (иначе столбец).
+         * @param numberOfChunks Количество частей массива.
+         * @param indexes Номера экстремумов частей.
+         * @param firstChunk Первая часть диапазона, включительно.
+         * @param lastChunk Последняя часть диапазона, не включительно.
+         */
+        ChunkAction(Matrix payoffMatrix, int position, double[] array, boolean row, int numberOfChunks,
+                    int[] indexes, int firstChunk, int lastChunk) {
+            this.payoffMatrix = payoffMatrix;
+            this.position = position;
+            this.array = array;
+            this.row = row;
+            this.numberOfChunks = numberOfChunks;
+            this.indexes = indexes;
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if(lastChunk-firstChunk>1)
+            {
+                int middle = (firstChunk + lastChunk) >>> 1;
+                invokeAll(new ChunkAction(payoffMatrix, position, array, row, numberOfChunks, indexes, firstChunk, middle),
+                        new ChunkAction(payoffMatrix, position, array, row, numberOfChunks, indexes, middle, lastChunk));
+                return;
+            }
+            int from = (int) ((long) array.length * firstChunk / numberOfChunks);
+            int to = (int) ((long) array.length * (firstChunk + 1) / numberOfChunks);
+            if(row)
+            {
+                payoffMatrix.addRowTo(position, array, from, to);
+                indexes[firstChunk] = ScalarIterationKernel.findMin(array, from, to);
+            }
+            else
+            {
+                payoffMatrix.addColumnTo(position, array, from, to);
+                indexes[firstChunk] = ScalarIterationKernel.findMax(array, from, to);
+            }
+        }
+
+        /**
+         * Версия сериализованной формы. Задача не сериализуется, но наследует Serializable.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Платежная матрица.
+         */
+        private final Matrix payoffMatrix;
+
+        /**
+         * Номер прибавляемой строки или столбца.
+         */
+        private final int position;
+
+        /**
+         * Массив выигрышей или проигрышей.
+         */
+        private final double[] array;
+
+        /**
+         * Прибавляется ли строка (иначе столбец).
+         */
+        private final boolean row;
+
+        /**
+         * Количество частей массива.
+         */
+        private final int numberOfChunks;
+
+        /**
+         * Номера экстремумов частей.
+         */
+        private final int[] indexes;
+
+        /**
+         * Первая часть диапазона, включительно.
+         */
+        private final int firstChunk;
+
+        /**
+         * Последняя часть диапазона, не включительно.
+         */
+        private final int lastChunk;
+    }
+
+    /**
+     * Порог по умолчанию.
+     */
+    private static final int DEFAULT_THRESHOLD = 1 << 14;
+
+    /**
+     * Минимальная длина части массива.
+     */
+    private static final int MIN_CHUNK_LENGTH = 1 << 12;
+
+    /**
+     * Минимальная длина массива для параллельной обработки.
+     */
+    private final int threshold;
+}
@@ -0,0 +1,380 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Координатор процессов-исполнителей {@link PartitionWorker}, подключенных через локальные сокеты.
+ * Строки и столбцы матрицы делятся на непрерывные блоки по количеству исполнителей.
+ * Координатор служит вычислительным ядром итерации: прибавление строки или столбца рассылается всем исполнителям,
+ * а из их частичных экстремумов выбирается первый по порядку исполнителей, поэтому номер совпадает
+ * с номером первого экстремума всего массива. В массиве координатора обновляется только найденный экстремум -
+ * остальные элементы хранят исполнители.
+ */
+final class PartitionCoordinator implements IterationKernel, AutoCloseable {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Прибавить строку у исполнителей и найти минимальный выигрыш.
+     * Если массив выигрышей новый (начало решения), исполнители сначала получают его значения.
+     */
+    @Override
+    public int addRowAndFindMin(Matrix payoffMatrix, int rowPosition, double[] gains) {
+        try
+        {
+            if(gains!=syncedGains)
+            {
+                send(PartitionWorker.SET_GAINS, gains, columnBounds);
+                syncedGains = gains;
+            }
+            return exchange(PartitionWorker.ADD_ROW, rowPosition, gains, true);
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Прибавить столбец у исполнителей и найти максимальный проигрыш.
+     * Если массив проигрышей новый (начало решения), исполнители сначала получают его значения.
+     */
+    @Override
+    public int addColumnAndFindMax(Matrix payoffMatrix, int columnPosition, double[] losses) {
+        try
+        {
+            if(losses!=syncedLosses)
+            {
+                send(PartitionWorker.SET_LOSSES, losses, rowBounds);
+                syncedLosses = losses;
+            }
+            return exchange(PartitionWorker.ADD_COLUMN, columnPosition, losses, false);
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Остановить исполнителей и закрыть соединения.
+     */
+    @Override
+    public void close() {
+        for(DataOutputStream out : outputs)
+        {
+            try
+            {
+                out.writeByte(PartitionWorker.STOP);
+                out.flush();
+            }
+            catch(IOException e)
+            {
+                //the worker has already exited
+            }
+        }
+        for(Socket socket : sockets)
+        {
+            try
+            {
+                socket.close();
+            }
+            catch(IOException e)
+            {
+                //nothing to do with a failed close
+            }
+        }
+        for(Process process : processes)
+        {
+            try
+            {
+                if(!process.waitFor(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                {
+                    process.destroyForcibly();
+                }
+            }
+            catch(InterruptedException e)
+            {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Запустить исполнителей в отдельных процессах и передать им блоки матрицы.
+     * Матрица читается один раз по строкам: каждый исполнитель получает часть строки в своих столбцах,
+     * а исполнитель, владеющий строкой, - строку целиком и транспонирует свой блок строк сам.
+     * @param payoffMatrix Платежная матрица.
+     * @param numberOfWorkers Количество исполнителей. Не больше количества строк и количества столбцов.
+     * @param jvmOptions Параметры виртуальных машин исполнителей.
+     * @return Координатор с загруженными исполнителями.
+     * @throws IOException Ошибка запуска исполнителей или обмена с ними.
+     */
+    static PartitionCoordinator start(Matrix payoffMatrix, int numberOfWorkers, List<String> jvmOptions) throws IOException {
+        int rowDimension = payoffMatrix.getRowDimension();
+        int columnDimension = payoffMatrix.getColumnDimension();
+        PartitionCoordinator coordinator = new PartitionCoordinator(split(rowDimension, numberOfWorkers),
+                split(columnDimension, numberOfWorkers));
+        try
+        {
+            coordinator.connect(numberOfWorkers, jvmOptions);
+            for(int w=0;w<numberOfWorkers;w++)
+            {
+                DataOutputStream out = coordinator.outputs.get(w);
+                out.writeByte(PartitionWorker.LOAD);
+                out.writeInt(rowDimension);
+                out.writeInt(columnDimension);
+                out.writeInt(coordinator.rowBounds[w]);
+                out.writeInt(coordinator.rowBounds[w + 1]);
+                out.writeInt(coordinator.columnBounds[w]);
+                out.writeInt(coordinator.columnBounds[w + 1]);
+            }
+            //rows are read in storage order, so a mapped matrix is read sequentially
+            int owner = 0;
+            for(int i=0;i<rowDimension;i++)
+            {
+                while(i==coordinator.rowBounds[owner + 1])
+                {
+                    owner++;
+                }
+                double[] row = payoffMatrix.getRow(i);
+                for(int w=0;w<numberOfWorkers;w++)
+                {
+                    if(w==owner)
+                    {
+                        PartitionWorker.writeDoubles(coordinator.outputs.get(w), row, 0, columnDimension);
+                    }
+                    else
+                    {
+                        PartitionWorker.writeDoubles(coordinator.outputs.get(w), row, coordinator.columnBounds[w],
+                                coordinator.columnBounds[w + 1]);
+                    }
+                }
+            }
+            for(int w=0;w<numberOfWorkers;w++)
+            {
+                coordinator.outputs.get(w).flush();
+            }
+            for(int w=0;w<numberOfWorkers;w++)
+            {
+                if(coordinator.inputs.get(w).readByte()!=PartitionWorker.READY)
+                {
+                    throw new IOException("Worker " + w + " failed to load its blocks.");
+                }
+            }
+            return coordinator;
+        }
+        catch(IOException | RuntimeException e)
+        {
+            coordinator.close();
+            throw e;
+        }
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Конструктор.
+     * @param rowBounds Границы блоков строк.
+     * @param columnBounds Границы блоков столбцов.
+     */
+    private PartitionCoordinator(int[] rowBounds, int[] columnBounds) {
+        this.rowBounds = rowBounds;
+        this.columnBounds = columnBounds;
+    }
+
+    /**
+     * Запустить процессы исполнителей и принять их подключения.
+     * @param numberOfWorkers Количество исполнителей.
+     * @param jvmOptions Параметры виртуальных машин исполнителей.
+     * @throws IOException Ошибка запуска или исполнитель не подключился вовремя.
+     */
+    private void connect(int numberOfWorkers, List<String> jvmOptions) throws IOException {
+        try(ServerSocket server = new ServerSocket(0, numberOfWorkers, InetAddress.getLoopbackAddress()))
+        {
+            server.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+            for(int w=0;w<numberOfWorkers;w++)
+            {
+                List<String> command = new ArrayList<String>();
+                command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+                command.addAll(jvmOptions);
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+                command.add(PartitionWorker.class.getName());
+                command.add(Integer.toString(server.getLocalPort()));
+                command.add(Integer.toString(w));
+                processes.add(new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT).start());
+            }
+            //workers connect in any order and introduce themselves by number
+            Socket[] accepted = new Socket[numberOfWorkers];
+            for(int k=0;k<numberOfWorkers;k++)
+            {
+                Socket socket;
+                try
+                {
+                    socket = server.accept();
+                }
+                catch(SocketTimeoutException e)
+                {
+                    throw new IOException("A worker process did not connect in time.", e);
+                }
+                sockets.add(socket);
+                socket.setTcpNoDelay(true);
+                int workerNumber = new DataInputStream(socket.getInputStream()).readInt();
+                if(workerNumber<0 || workerNumber>=numberOfWorkers || accepted[workerNumber]!=null)
+                {
+                    throw new IOException("Unexpected connection from worker " + workerNumber + ".");
+                }
+                accepted[workerNumber] = socket;
+            }
+            for(Socket socket : accepted)
+            {
+                inputs.add(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
+                outputs.add(new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), STREAM_BUFFER_SIZE)));
+            }
+        }
+    }
+
+    /**
+     * Разослать исполнителям их части массива.
+     * @param command Команда замены выигрышей или проигрышей.
+     * @param array Массив.
+     * @param bounds Границы частей.
+     * @throws IOException Ошибка обмена.
+     */
+    private void send(byte command, double[] array, int[] bounds) throws IOException {
+        for(int w=0;w<outputs.size();w++)
+        {
+            DataOutputStream out = outputs.get(w);
+            out.writeByte(command);
+            PartitionWorker.writeDoubles(out, array, bounds[w], bounds[w + 1]);
+        }
+    }
+
+    /**
+     * Разослать команду прибавления и выбрать экстремум из ответов исполнителей.
+     * Команда отправляется всем исполнителям до чтения первого ответа, поэтому они работают одновременно.
+     * @param command Команда прибавления строки или столбца.
+     * @param position Номер строки или столбца.
+     * @param array Массив координатора, в котором обновляется найденный экстремум.
+     * @param min Ищется ли минимум (иначе максимум).
+     * @return Номер первого экстремального элемента всего массива.
+     * @throws IOException Ошибка обмена.
+     */
+    private int exchange(byte command, int position, double[] array, boolean min) throws IOException {
+        for(DataOutputStream out : outputs)
+        {
+            out.writeByte(command);
+            out.writeInt(position);
+            out.flush();
+        }
+        int bestIndex = -1;
+        double bestValue = 0;
+        for(DataInputStream in : inputs)
+        {
+            int index = in.readInt();
+            double value = in.readDouble();
+            //a strict comparison keeps the first of equal extremes, workers go in the order of their blocks
+            if(bestIndex<0 || (min ? value<bestValue : value>bestValue))
+            {
+                bestIndex = index;
+                bestValue = value;
+            }
+        }
+        array[bestIndex] = bestValue;
+        return bestIndex;
+    }
+
+    /**
+     * Разделить номера на непрерывные блоки почти равной длины.
+     * @param dimension Количество номеров.
+     * @param numberOfBlocks Количество блоков.
+     * @return Границы блоков длиной numberOfBlocks + 1.
+     */
+    private static int[] split(int dimension, int numberOfBlocks) {
+        int[] bounds = new int[numberOfBlocks + 1];
+        for(int b=0;b<=numberOfBlocks;b++)
+        {
+            bounds[b] = (int) ((long) dimension * b / numberOfBlocks);
+        }
+        return bounds;
+    }
+
+    /**
+     * Время ожидания подключения исполнителя в миллисекундах.
+     */
+    private static final int CONNECT_TIMEOUT_MILLIS = 60_000;
+
+    /**
+     * Время ожидания завершения исполнителя в секундах.
+     */
+    private static final int STOP_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Размер буфера потока команд в байтах.
+     */
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Границы блоков строк.
+     */
+    private final int[] rowBounds;
+
+    /**
+     * Границы блоков столбцов.
+     */
+    private final int[] columnBounds;
+
+    /**
+     * Процессы исполнителей.
+     */
+    private final List<Process> processes = new ArrayList<Process>();
+
+    /**
+     * Соединения с исполнителями в порядке подключения.
+     */
+    private final List<Socket> sockets = new ArrayList<Socket>();
+
+    /**
+     * Потоки ответов исполнителей по номерам исполнителей.
+     */
+    private final List<DataInputStream> inputs = new ArrayList<DataInputStream>();
+
+    /**
+     * Потоки команд исполнителям по номерам исполнителей.
+     */
+    private final List<DataOutputStream> outputs = new ArrayList<DataOutputStream>();
+
+    /**
+     * Массив выигрышей, значения которого переданы исполнителям, или null.
+     */
+    private double[] syncedGains;
+
+    /**
+     * Массив проигрышей, значения которого переданы исполнителям, или null.
+     */
+    private double[] syncedLosses;
+}
@@ -0,0 +1,452 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Процесс-исполнитель метода {@link PartitionedSolver}. Исполнитель владеет блоком столбцов и блоком строк матрицы:
+ * блок столбцов хранится построчно, а блок строк - транспонированным, поэтому и прибавление строки к выигрышам,
+ * и прибавление столбца к проигрышам читают память последовательно.
+ * Матрица приходит одним проходом по строкам, и блок строк исполнитель транспонирует сам.
+ * Блоки, которые не помещаются в четверть кучи, записываются во временные файлы {@link MatrixFile} и отображаются в память.
+ * На каждую команду координатора исполнитель обновляет свою часть массива и отвечает номером и значением ее экстремума.
+ * Запускается координатором: java PartitionWorker порт номер.
+ */
+final class PartitionWorker {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Подключиться к координатору на локальном адресе и выполнять его команды до команды остановки.
+     * @param args Порт координатора и номер исполнителя.
+     * @throws IOException Ошибка обмена с координатором.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = Integer.parseInt(args[0]);
+        int workerNumber = Integer.parseInt(args[1]);
+        try(Socket socket = new Socket(InetAddress.getLoopbackAddress(), port))
+        {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeInt(workerNumber);
+            out.flush();
+            new PartitionWorker().run(in, out);
+        }
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Команда загрузки блоков: размеры матрицы, границы блоков и все строки матрицы по порядку -
+     * строки исполнителя целиком, остальные строки - частями в столбцах исполнителя.
+     */
+    static final byte LOAD = 1;
+
+    /**
+     * Команда замены части массива выигрышей (теплый старт или новое решение).
+     */
+    static final byte SET_GAINS = 2;
+
+    /**
+     * Команда замены части массива проигрышей.
+     */
+    static final byte SET_LOSSES = 3;
+
+    /**
+     * Команда прибавления строки к выигрышам с ответом номером и значением минимума.
+     */
+    static final byte ADD_ROW = 4;
+
+    /**
+     * Команда прибавления столбца к проигрышам с ответом номером и значением максимума.
+     */
+    static final byte ADD_COLUMN = 5;
+
+    /**
+     * Команда остановки.
+     */
+    static final byte STOP = 6;
+
+    /**
+     * Ответ о завершении загрузки.
+     */
+    static final byte READY = 7;
+
+    /**
+     * Записать часть массива в поток одним блоком байтов.
+     * @param out Поток.
+     * @param array Массив.
+     * @param from Начало части, включительно.
+     * @param to Конец части, не включительно.
+     * @throws IOException Ошибка записи.
+     */
+    static void writeDoubles(DataOutputStream out, double[] array, int from, int to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((to - from) * Double.BYTES);
+        buffer.asDoubleBuffer().put(array, from, to - from);
+        out.write(buffer.array());
+    }
+
+    /**
+     * Прочитать массив, записанный {@link #writeDoubles(DataOutputStream, double[], int, int)}.
+     * @param in Поток.
+     * @param target Массив для элементов.
+     * @throws IOException Ошибка чтения.
+     */
+    static void readDoubles(DataInputStream in, double[] target) throws IOException {
+        byte[] bytes = new byte[target.length * Double.BYTES];
+        in.readFully(bytes);
+        ByteBuffer.wrap(bytes).asDoubleBuffer().get(target);
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Выполнять команды координатора до команды остановки.
+     * @param in Поток команд.
+     * @param out Поток ответов.
+     * @throws IOException Ошибка обмена или неизвестная команда.
+     */
+    private void run(DataInputStream in, DataOutputStream out) throws IOException {
+        while(true)
+        {
+            byte command = in.readByte();
+            switch(command)
+            {
+                case LOAD:
+                    load(in);
+                    out.writeByte(READY);
+                    break;
+                case SET_GAINS:
+                    readDoubles(in, gains);
+                    continue;
+                case SET_LOSSES:
+                    readDoubles(in, losses);
+                    continue;
+                case ADD_ROW:
+                {
+                    columnBlock.addRowTo(in.readInt(), gains);
+                    int k = ScalarIterationKernel.findMin(gains, 0, gains.length);
+                    out.writeInt(columnFrom + k);
+                    out.writeDouble(gains[k]);
+                    break;
+                }
+                case ADD_COLUMN:
+                {
+                    transposedRowBlock.addRowTo(in.readInt(), losses);
+                    int k = ScalarIterationKernel.findMax(losses, 0, losses.length);
+                    out.writeInt(rowFrom + k);
+                    out.writeDouble(losses[k]);
+                    break;
+                }
+                case STOP:
+                    return;
+                default:
+                    throw new IOException("Unknown command " + command + ".");
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Загрузить блоки матрицы.
+     * @param in Поток команд.
+     * @throws IOException Ошибка чтения или записи временного файла.
+     */
+    private void load(DataInputStream in) throws IOException {
+        int rowDimension = in.readInt();
+        int columnDimension = in.readInt();
+        rowFrom = in.readInt();
+        int rowTo = in.readInt();
+        columnFrom = in.readInt();
+        int columnTo = in.readInt();
+        try(TransposingBlock rowBlock = new TransposingBlock(rowTo - rowFrom, columnDimension))
+        {
+            columnBlock = storeBlock(rowDimension, columnTo - columnFrom, i -> {
+                try
+                {
+                    if(i<rowFrom || i>=rowTo)
+                    {
+                        double[] part = new double[columnTo - columnFrom];
+                        readDoubles(in, part);
+                        return part;
+                    }
+                    double[] row = new double[columnDimension];
+                    readDoubles(in, row);
+                    rowBlock.add(row);
+                    return Arrays.copyOfRange(row, columnFrom, columnTo);
+                }
+                catch(IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            transposedRowBlock = rowBlock.build();
+        }
+        gains = new double[columnTo - columnFrom];
+        losses = new double[rowTo - rowFrom];
+    }
+
+    /**
+     * Проверить, помещается ли блок указанного размера в четверть кучи.
+     * @param size Количество элементов блока.
+     * @return Помещается ли блок в кучу.
+     */
+    private static boolean fitsInHeap(long size) {
+        return size * Double.BYTES<=Runtime.getRuntime().maxMemory() / 4 && size<=Integer.MAX_VALUE - 8;
+    }
+
+    /**
+     * Сохранить блок матрицы по строкам в кучу или, если он велик, во временный файл, отображенный в память.
+     * @param rowDimension Количество строк блока.
+     * @param columnDimension Количество столбцов блока.
+     * @param rowSupplier Функция, возвращающая строку блока по ее номеру. Строки запрашиваются по порядку;
+     * ошибка ввода-вывода передается в {@link UncheckedIOException}.
+     * @return Блок матрицы.
+     * @throws IOException Ошибка чтения или записи временного файла.
+     */
+    private static Matrix storeBlock(int rowDimension, int columnDimension, IntFunction<double[]> rowSupplier) throws IOException {
+        long size = (long) rowDimension * columnDimension;
+        if(fitsInHeap(size))
+        {
+            double[] elements = new double[(int) size];
+            try
+            {
+                for(int i=0;i<rowDimension;i++)
+                {
+                    System.arraycopy(rowSupplier.apply(i), 0, elements, i * columnDimension, columnDimension);
+                }
+            }
+            catch(UncheckedIOException e)
+            {
+                throw e.getCause();
+            }
+            return new Matrix(new DenseMatrixStorage(elements, rowDimension, columnDimension));
+        }
+        Path path = Files.createTempFile("partition", ".zsgm");
+        try
+        {
+            MatrixFile.write(path, rowDimension, columnDimension, MatrixFile.ElementType.DOUBLE, rowSupplier);
+            return MatrixFile.map(path);
+        }
+        catch(UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+        finally
+        {
+            //the mapping stays valid after the file is deleted; where it is not allowed the file is deleted on exit
+            try
+            {
+                Files.delete(path);
+            }
+            catch(IOException e)
+            {
+                path.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Закрытый конструктор.
+     */
+    private PartitionWorker() {
+    }
+
+    /**
+     * Блок строк, который принимается по строкам и хранится транспонированным.
+     * Блок, помещающийся в кучу, транспонируется при приеме строк. Иначе строки собираются в группы,
+     * занимающие не больше восьмой части кучи, и каждая группа записывается в файл {@link MatrixFile}
+     * частями транспонированных строк, поэтому каждый элемент записывается в файл один раз.
+     */
+    private static final class TransposingBlock implements AutoCloseable {
+
+        /**
+         * Конструктор.
+         * @param rowDimension Количество строк блока.
+         * @param columnDimension Количество столбцов блока.
+         * @throws IOException Ошибка создания временного файла.
+         */
+        TransposingBlock(int rowDimension, int columnDimension) throws IOException {
+            this.rowDimension = rowDimension;
+            this.columnDimension = columnDimension;
+            if(fitsInHeap((long) rowDimension * columnDimension))
+            {
+                transposedElements = new double[rowDimension * columnDimension];
+            }
+            else
+            {
+                //a group takes at most an eighth of the heap, but is never smaller than one row
+                groupHeight = (int) Math.max(1, Math.min(rowDimension,
+                        Runtime.getRuntime().maxMemory() / 8 / ((long) columnDimension * Double.BYTES)));
+                group = new double[groupHeight * columnDimension];
+                path = Files.createTempFile("partition", ".zsgm");
+                writer = new MatrixFile.RandomAccessWriter(path, columnDimension, rowDimension);
+            }
+        }
+
+        /**
+         * Принять следующую строку блока.
+         * @param row Строка.
+         * @throws IOException Ошибка записи временного файла.
+         */
+        void add(double[] row) throws IOException {
+            if(transposedElements!=null)
+            {
+                for(int j=0;j<columnDimension;j++)
+                {
+                    transposedElements[j * rowDimension + addedRows] = row[j];
+                }
+                addedRows++;
+                return;
+            }
+            int groupRow = addedRows % groupHeight;
+            System.arraycopy(row, 0, group, groupRow * columnDimension, columnDimension);
+            addedRows++;
+            if(groupRow==groupHeight - 1 || addedRows==rowDimension)
+            {
+                writeGroup(addedRows - groupRow - 1, groupRow + 1);
+            }
+        }
+
+        /**
+         * Получить транспонированный блок после приема всех строк.
+         * @return Транспонированный блок.
+         * @throws IOException Ошибка записи или отображения временного файла.
+         */
+        Matrix build() throws IOException {
+            if(transposedElements!=null)
+            {
+                return new Matrix(new DenseMatrixStorage(transposedElements, columnDimension, rowDimension));
+            }
+            writer.close();
+            return MatrixFile.map(path);
+        }
+
+        /**
+         * Закрыть и удалить временный файл. Отображение файла остается действительным после удаления;
+         * где удаление не допускается, файл удаляется при выходе.
+         * @throws IOException Ошибка закрытия файла.
+         */
+        @Override
+        public void close() throws IOException {
+            if(writer!=null)
+            {
+                writer.close();
+                try
+                {
+                    Files.delete(path);
+                }
+                catch(IOException e)
+                {
+                    path.toFile().deleteOnExit();
+                }
+            }
+        }
+
+        /**
+         * Записать группу строк в файл: по части каждой транспонированной строки.
+         * @param groupFrom Номер первой строки группы в блоке.
+         * @param count Количество строк в группе.
+         * @throws IOException Ошибка записи.
+         */
+        private void writeGroup(int groupFrom, int count) throws IOException {
+            double[] part = new double[count];
+            for(int j=0;j<columnDimension;j++)
+            {
+                for(int k=0;k<count;k++)
+                {
+                    part[k] = group[k * columnDimension + j];
+                }
+                writer.write(j, groupFrom, part, 0, count);
+            }
+        }
+
+        /**
+         * Количество строк блока.
+         */
+        private final int rowDimension;
+
+        /**
+         * Количество столбцов блока.
+         */
+        private final int columnDimension;
+
+        /**
+         * Количество принятых строк.
+         */
+        private int addedRows;
+
+        /**
+         * Транспонированный блок в куче или null, если блок записывается в файл.
+         */
+        private double[] transposedElements;
+
+        /**
+         * Количество строк в группе.
+         */
+        private int groupHeight;
+
+        /**
+         * Принятые строки текущей группы подряд.
+         */
+        private double[] group;
+
+        /**
+         * Временный файл транспонированного блока.
+         */
+        private Path path;
+
+        /**
+         * Запись временного файла.
+         */
+        private MatrixFile.RandomAccessWriter writer;
+    }
+
+    /**
+     * Блок столбцов: все строки матрицы в столбцах исполнителя.
+     */
+    private Matrix columnBlock;
+
+    /**
+     * Транспонированный блок строк: строки исполнителя во всех столбцах матрицы, записанные по столбцам.
+     */
+    private Matrix transposedRowBlock;
+
+    /**
+     * Номер первой строки исполнителя.
+     */
+    private int rowFrom;
+
+    /**
+     * Номер первого столбца исполнителя.
+     */
+    private int columnFrom;
+
+    /**
+     * Выигрыши первого игрока в столбцах исполнителя.
+     */
+    private double[] gains;
+
+    /**
+     * Проигрыши второго игрока в строках исполнителя.
+     */
+    private double[] losses;
+}
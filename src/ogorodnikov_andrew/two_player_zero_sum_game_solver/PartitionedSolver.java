@@ -0,0 +1,146 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Итеративный метод Брауна-Робинсон, матрица которого распределена между несколькими процессами на одной машине.
+ * Каждый процесс-исполнитель хранит блок столбцов построчно и блок строк по столбцам, прибавляет к своим частям
+ * накопленных массивов выбранные строку и столбец и возвращает координатору только номер и значение своего экстремума.
+ * Итерации выполняет тот же цикл, что и в {@link IterativeSolver}, а исполнители заменяют вычислительное ядро,
+ * поэтому результат в точности совпадает с результатом итеративного метода с теми же настройками,
+ * в том числе при решении через {@link Game} (теплый старт, срок, слушатель итераций).
+ * Выбор стратегии на каждом полушаге зависит от экстремума всего массива, поэтому итерации нельзя объединять в пакеты:
+ * на итерацию приходится два обмена сообщениями с исполнителями, которые работают одновременно.
+ * Метод выгоден для матриц, не помещающихся в память одного процесса; исполнители запускаются при каждом решении
+ * и получают блоки от координатора, который читает матрицу один раз последовательно по строкам
+ * (например, отображенную из файла {@link MatrixFile}).
+ * Разреженная матрица решается в процессе координатора.
+ */
+public class PartitionedSolver extends IterativeSolver {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Конструктор метода с фиксированным количеством итераций.
+     * @param numberOfWorkers Количество процессов-исполнителей.
+     * @param numberOfIterations Количество итераций.
+     */
+    public PartitionedSolver(int numberOfWorkers, int numberOfIterations) {
+        super(numberOfIterations);
+        this.numberOfWorkers = checkNumberOfWorkers(numberOfWorkers);
+    }
+
+    /**
+     * Конструктор метода с заданной точностью и ограничением количества итераций.
+     * @param numberOfWorkers Количество процессов-исполнителей.
+     * @param epsilon Допустимая разность границ цены игры.
+     * @param maxNumberOfIterations Максимальное количество итераций.
+     */
+    public PartitionedSolver(int numberOfWorkers, double epsilon, int maxNumberOfIterations) {
+        super(epsilon, maxNumberOfIterations);
+        this.numberOfWorkers = checkNumberOfWorkers(numberOfWorkers);
+    }
+
+    /**
+     * Получить количество процессов-исполнителей.
+     * @return Количество процессов-исполнителей.
+     */
+    public int getNumberOfWorkers() {
+        return numberOfWorkers;
+    }
+
+    /**
+     * Задать параметры виртуальных машин исполнителей, например размер кучи.
+     * Исполнители запускаются с путем к классам текущего процесса.
+     * @param jvmOptions Параметры виртуальной машины.
+     */
+    public void setWorkerJvmOptions(String... jvmOptions) {
+        this.workerJvmOptions = List.of(jvmOptions);
+    }
+
+    /**
+     * Получить параметры виртуальных машин исполнителей.
+     * @return Параметры виртуальной машины.
+     */
+    public List<String> getWorkerJvmOptions() {
+        return workerJvmOptions;
+    }
+
+    /**
+     * Сохранение итераций не поддерживается: накопленные массивы целиком хранятся только у исполнителей.
+     * @param iterationHistoryEnabled Сохранять ли итерации. Допустимо только false.
+     * @exception UnsupportedOperationException Включение сохранения итераций.
+     */
+    @Override
+    public void setIterationHistoryEnabled(boolean iterationHistoryEnabled) {
+        if(iterationHistoryEnabled)
+        {
+            throw new UnsupportedOperationException("Iteration history is not available in the partitioned solver");
+        }
+    }
+
+    /**
+     * Решить игру итеративным методом с исполнителями в отдельных процессах.
+     * @param payoffMatrix Платежная матрица.
+     * @exception UncheckedIOException Ошибка запуска исполнителей или обмена с ними.
+     * @return Результат игры.
+     */
+    @Override
+    public Result solve(Matrix payoffMatrix) {
+        if(payoffMatrix.getStorage() instanceof SparseMatrixStorage)
+        {
+            //the iteration over a sparse matrix does not use the kernel
+            return super.solve(payoffMatrix);
+        }
+        int workers = Math.min(numberOfWorkers, Math.min(payoffMatrix.getRowDimension(), payoffMatrix.getColumnDimension()));
+        IterationKernel previousKernel = getIterationKernel();
+        MatrixLayout previousLayout = getMatrixLayout();
+        try(PartitionCoordinator coordinator = PartitionCoordinator.start(payoffMatrix, workers, workerJvmOptions))
+        {
+            setIterationKernel(coordinator);
+            //workers keep their own copies of both layouts, a second copy in the coordinator would not be read
+            setMatrixLayout(MatrixLayout.STORED);
+            return super.solve(payoffMatrix);
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        finally
+        {
+            setIterationKernel(previousKernel);
+            setMatrixLayout(previousLayout);
+        }
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Проверить количество исполнителей.
+     * @param numberOfWorkers Количество исполнителей.
+     * @return То же количество.
+     */
+    private static int checkNumberOfWorkers(int numberOfWorkers) {
+        if(numberOfWorkers<1)
+        {
+            throw new IllegalArgumentException("Number of workers must be a positive number");
+        }
+        return numberOfWorkers;
+    }
+
+    /**
+     * Количество процессов-исполнителей.
+     */
+    private final int numberOfWorkers;
+
+    /**
+     * Параметры виртуальных машин исполнителей.
+     */
+    private List<String> workerJvmOptions = List.of();
+}
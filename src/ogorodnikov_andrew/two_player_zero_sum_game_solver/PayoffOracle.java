@@ -0,0 +1,58 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Оракул выигрышей: платежная матрица, элементы которой вычисляются по запросу, а не хранятся.
+ * Подходит для игр с таким количеством стратегий, что матрицу нельзя построить целиком.
+ * Матрица по оракулу создается методом {@link Matrix#fromOracle(PayoffOracle, long)}; вычисленные строки и столбцы
+ * хранятся в кэше ограниченного размера. {@link Game} передает такую матрицу методу решения без седловой точки
+ * и удаления стратегий, поэтому решать ее следует методами, читающими отдельные строки и столбцы:
+ * {@link IterativeSolver} или {@link DoubleOracleSolver}.
+ * Если строку или столбец можно вычислить быстрее, чем по одному элементу, следует переопределить {@link #row(int, double[])}
+ * и {@link #column(int, double[])}.
+ */
+public interface PayoffOracle {
+
+    /**
+     * Получить количество стратегий первого игрока.
+     * @return Количество строк.
+     */
+    int getRowDimension();
+
+    /**
+     * Получить количество стратегий второго игрока.
+     * @return Количество столбцов.
+     */
+    int getColumnDimension();
+
+    /**
+     * Вычислить выигрыш первого игрока.
+     * @param i Номер стратегии первого игрока.
+     * @param j Номер стратегии второго игрока.
+     * @return Выигрыш первого игрока.
+     */
+    double payoff(int i, int j);
+
+    /**
+     * Вычислить строку выигрышей.
+     * @param i Номер стратегии первого игрока.
+     * @param target Массив длиной в количество столбцов для выигрышей.
+     */
+    default void row(int i, double[] target) {
+        for(int j=0;j<target.length;j++)
+        {
+            target[j] = payoff(i, j);
+        }
+    }
+
+    /**
+     * Вычислить столбец выигрышей.
+     * @param j Номер стратегии второго игрока.
+     * @param target Массив длиной в количество строк для выигрышей.
+     */
+    default void column(int j, double[] target) {
+        for(int i=0;i<target.length;i++)
+        {
+            target[i] = payoff(i, j);
+        }
+    }
+}
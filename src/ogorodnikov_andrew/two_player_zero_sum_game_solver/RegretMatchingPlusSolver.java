@@ -0,0 +1,133 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.Arrays;
+
+/**
+ * Метод сопоставления сожалений плюс (regret matching+) с поочередным обновлением игроков.
+ * Каждый игрок накапливает сожаления о каждой своей чистой стратегии, отрицательные сожаления обнуляются,
+ * а стратегия итерации пропорциональна сожалениям. Второй игрок отвечает на стратегию первого игрока текущей итерации,
+ * первый - на новую стратегию второго. Средние стратегии взвешены номером итерации,
+ * что на практике ускоряет сходимость во много раз по сравнению с методом Брауна-Робинсон.
+ */
+public class RegretMatchingPlusSolver extends NoRegretSolver {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Конструктор метода с фиксированным количеством итераций.
+     * @param numberOfIterations Количество итераций.
+     */
+    public RegretMatchingPlusSolver(int numberOfIterations) {
+        super(numberOfIterations);
+    }
+
+    /**
+     * Конструктор метода с заданной точностью и ограничением количества итераций.
+     * @param epsilon Допустимый зазор двойственности.
+     * @param maxNumberOfIterations Максимальное количество итераций.
+     */
+    public RegretMatchingPlusSolver(double epsilon, int maxNumberOfIterations) {
+        super(epsilon, maxNumberOfIterations);
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    @Override
+    void start(Matrix payoffMatrix) {
+        firstPlayerRegrets = new double[payoffMatrix.getRowDimension()];
+        secondPlayerRegrets = new double[payoffMatrix.getColumnDimension()];
+    }
+
+    @Override
+    void step(Matrix payoffMatrix, int iterationNumber, double[] firstPlayerStrategy, double[] secondPlayerStrategy,
+              double[] secondPlayerLosses, double[] firstPlayerGains) {
+        if(iterationNumber==1)
+        {
+            Arrays.fill(secondPlayerStrategy, 1.0 / secondPlayerStrategy.length);
+        }
+
+        //the second player regrets not having played each column against the current first player strategy
+        match(firstPlayerRegrets, firstPlayerStrategy);
+        payoffMatrix.multiplyLeft(firstPlayerStrategy, secondPlayerLosses);
+        double loss = dot(secondPlayerStrategy, secondPlayerLosses);
+        for(int j=0;j<secondPlayerRegrets.length;j++)
+        {
+            secondPlayerRegrets[j] = Math.max(0, secondPlayerRegrets[j] + loss - secondPlayerLosses[j]);
+        }
+
+        //the first player responds to the updated second player strategy
+        match(secondPlayerRegrets, secondPlayerStrategy);
+        payoffMatrix.multiplyRight(secondPlayerStrategy, firstPlayerGains);
+        double gain = dot(firstPlayerStrategy, firstPlayerGains);
+        for(int i=0;i<firstPlayerRegrets.length;i++)
+        {
+            firstPlayerRegrets[i] = Math.max(0, firstPlayerRegrets[i] + firstPlayerGains[i] - gain);
+        }
+    }
+
+    /**
+     * Вес итерации равен ее номеру.
+     */
+    @Override
+    double getWeight(int iterationNumber) {
+        return iterationNumber;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Записать в массив стратегию, пропорциональную неотрицательным сожалениям.
+     * Если все сожаления равны нулю, стратегия равномерная.
+     * @param regrets Неотрицательные сожаления.
+     * @param strategy Массив для стратегии.
+     */
+    private static void match(double[] regrets, double[] strategy) {
+        double sum = 0;
+        for(double regret : regrets)
+        {
+            sum += regret;
+        }
+        if(sum>0)
+        {
+            for(int k=0;k<regrets.length;k++)
+            {
+                strategy[k] = regrets[k] / sum;
+            }
+        }
+        else
+        {
+            Arrays.fill(strategy, 1.0 / strategy.length);
+        }
+    }
+
+    /**
+     * Скалярное произведение.
+     * @param a Первый вектор.
+     * @param b Второй вектор той же длины.
+     * @return Скалярное произведение.
+     */
+    private static double dot(double[] a, double[] b) {
+        double sum = 0;
+        for(int k=0;k<a.length;k++)
+        {
+            sum += a[k] * b[k];
+        }
+        return sum;
+    }
+
+    /**
+     * Сожаления первого игрока.
+     */
+    private double[] firstPlayerRegrets;
+
+    /**
+     * Сожаления второго игрока.
+     */
+    private double[] secondPlayerRegrets;
+}
@@ -14,20 +14,82 @@ public final class Result {
 
     /**
      * Функция для получения массива вероятностей использования стратегий первого игрока.
+     * Список создается из вероятностей при первом вызове и сохраняется для совместимости;
+     * для больших матриц удобнее {@link #getFirstPlayerStrategy()}.
      * @return Массив вероятностей использования стратегий первого игрока.
      */
     public ArrayList<Double> getFirstPlayerResultArray(){
+        if(firstPlayerResultArray==null)
+        {
+            firstPlayerResultArray = toList(firstPlayerStrategy);
+        }
         return firstPlayerResultArray;
     }
 
     /**
      * Функция для получения массива вероятностей использования стратегий второго игрока.
+     * Список создается из вероятностей при первом вызове и сохраняется для совместимости;
+     * для больших матриц удобнее {@link #getSecondPlayerStrategy()}.
      * @return Массив вероятностей использования стратегий второго игрока.
      */
     public ArrayList<Double> getSecondPlayerResultArray() {
+        if(secondPlayerResultArray==null)
+        {
+            secondPlayerResultArray = toList(secondPlayerStrategy);
+        }
         return secondPlayerResultArray;
     }
 
+    /**
+     * Получить вероятности использования стратегий первого игрока.
+     * @return Копия массива вероятностей длиной в количество строк.
+     */
+    public double[] getFirstPlayerStrategy() {
+        return firstPlayerStrategy.clone();
+    }
+
+    /**
+     * Получить вероятности использования стратегий второго игрока.
+     * @return Копия массива вероятностей длиной в количество столбцов.
+     */
+    public double[] getSecondPlayerStrategy() {
+        return secondPlayerStrategy.clone();
+    }
+
+    /**
+     * Получить вероятность использования стратегии первого игрока.
+     * @param i Номер стратегии (строки).
+     * @return Вероятность.
+     */
+    public double getFirstPlayerProbability(int i) {
+        return firstPlayerStrategy[i];
+    }
+
+    /**
+     * Получить вероятность использования стратегии второго игрока.
+     * @param j Номер стратегии (столбца).
+     * @return Вероятность.
+     */
+    public double getSecondPlayerProbability(int j) {
+        return secondPlayerStrategy[j];
+    }
+
+    /**
+     * Получить количество стратегий первого игрока.
+     * @return Количество строк.
+     */
+    public int getFirstPlayerStrategyCount() {
+        return firstPlayerStrategy.length;
+    }
+
+    /**
+     * Получить количество стратегий второго игрока.
+     * @return Количество столбцов.
+     */
+    public int getSecondPlayerStrategyCount() {
+        return secondPlayerStrategy.length;
+    }
+
     /**
      * Получить цену игры.
      * @return Цена игры.
@@ -36,6 +98,43 @@ public final class Result {
         return gameValue;
     }
 
+    /**
+     * Получить нижнюю границу цены игры, гарантированную найденной стратегией первого игрока:
+     * минимальный выигрыш стратегии {@link #getFirstPlayerStrategy()} против чистых стратегий второго игрока.
+     * @return Нижняя граница цены игры.
+     */
+    public double getGameValueLowerBound() {
+        return gameValueLowerBound;
+    }
+
+    /**
+     * Получить верхнюю границу цены игры, гарантированную найденной стратегией второго игрока:
+     * максимальный проигрыш стратегии {@link #getSecondPlayerStrategy()} против чистых стратегий первого игрока.
+     * @return Верхняя граница цены игры.
+     */
+    public double getGameValueUpperBound() {
+        return gameValueUpperBound;
+    }
+
+    /**
+     * Получить зазор двойственности: разность верхней и нижней границ цены игры.
+     * Все методы решения возвращают границы, гарантированные стратегиями результата, поэтому зазор равен
+     * сумме проигрышей обоих игроков от лучших ответов на эти стратегии, и по нему можно сравнивать точность
+     * разных методов решения за одинаковое время.
+     * @return Зазор двойственности. Для точного решения равен нулю.
+     */
+    public double getDualityGap() {
+        return gameValueUpperBound - gameValueLowerBound;
+    }
+
+    /**
+     * Получить количество выполненных итераций. Для решения по седловой точке равно нулю.
+     * @return Количество выполненных итераций.
+     */
+    public int getNumberOfIterations() {
+        return numberOfIterations;
+    }
+
     /**
      * Преобразовать результат в строку с указанным числовым форматом.
      * @param decimalFormatString Формат вывода чисел.
@@ -44,14 +143,14 @@ public final class Result {
     public String toString(String decimalFormatString) {
         StringBuilder result = new StringBuilder("");
         DecimalFormat decimalFormat = new DecimalFormat(decimalFormatString);
-        for(int i=0;i< firstPlayerResultArray.size();i++)
+        for(int i=0;i< firstPlayerStrategy.length;i++)
         {
-            result.append("p").append(i).append("=").append(decimalFormat.format(firstPlayerResultArray.get(i))).append("; ");
+            result.append("p").append(i).append("=").append(decimalFormat.format(firstPlayerStrategy[i])).append("; ");
         }
         result.append("\n");
-        for(int i=0;i< secondPlayerResultArray.size();i++)
+        for(int i=0;i< secondPlayerStrategy.length;i++)
         {
-            result.append("q").append(i).append("=").append(decimalFormat.format(secondPlayerResultArray.get(i))).append("; ");
+            result.append("q").append(i).append("=").append(decimalFormat.format(secondPlayerStrategy[i])).append("; ");
         }
         result.append("\n").append(decimalFormat.format(getGameValue()));
         return result.toString();
@@ -72,14 +171,31 @@ public final class Result {
 
     /**
      * Конструктор.
-     * @param firstPlayerResultArray Массив вероятностей использования стратегий первого игрока.
-     * @param secondPlayerResultArray Массив вероятностей использования стратегий первого игрока.
+     * @param firstPlayerStrategy Массив вероятностей использования стратегий первого игрока. Массив не копируется.
+     * @param secondPlayerStrategy Массив вероятностей использования стратегий второго игрока. Массив не копируется.
      * @param gameValue Цена игры.
      */
-     Result(ArrayList<Double> firstPlayerResultArray, ArrayList<Double> secondPlayerResultArray, double gameValue) {
-        this.firstPlayerResultArray = firstPlayerResultArray;
-        this.secondPlayerResultArray = secondPlayerResultArray;
+     Result(double[] firstPlayerStrategy, double[] secondPlayerStrategy, double gameValue) {
+        this(firstPlayerStrategy, secondPlayerStrategy, gameValue, gameValue, gameValue, 0);
+    }
+
+    /**
+     * Конструктор с границами цены игры.
+     * @param firstPlayerStrategy Массив вероятностей использования стратегий первого игрока. Массив не копируется.
+     * @param secondPlayerStrategy Массив вероятностей использования стратегий второго игрока. Массив не копируется.
+     * @param gameValue Цена игры.
+     * @param gameValueLowerBound Нижняя граница цены игры.
+     * @param gameValueUpperBound Верхняя граница цены игры.
+     * @param numberOfIterations Количество выполненных итераций.
+     */
+    Result(double[] firstPlayerStrategy, double[] secondPlayerStrategy, double gameValue,
+           double gameValueLowerBound, double gameValueUpperBound, int numberOfIterations) {
+        this.firstPlayerStrategy = firstPlayerStrategy;
+        this.secondPlayerStrategy = secondPlayerStrategy;
         this.gameValue = gameValue;
+        this.gameValueLowerBound = gameValueLowerBound;
+        this.gameValueUpperBound = gameValueUpperBound;
+        this.numberOfIterations = numberOfIterations;
     }
 
     /**
@@ -90,17 +206,14 @@ public final class Result {
      */
     Result(SaddlePoint saddle_point, int number_of_rows, int number_of_columns) {
 
-        firstPlayerResultArray = new ArrayList<Double>();
-        for(int i=0;i<number_of_rows;i++)
-        {
-            if(i==(int)saddle_point.getX()) firstPlayerResultArray.add(1d); else firstPlayerResultArray.add(0d);
-        }
-        secondPlayerResultArray = new ArrayList<Double>();
-        for(int j=0;j<number_of_columns;j++)
-        {
-            if(j==(int)saddle_point.getY()) secondPlayerResultArray.add(1d); else secondPlayerResultArray.add(0d);
-        }
+        firstPlayerStrategy = new double[number_of_rows];
+        firstPlayerStrategy[(int)saddle_point.getX()] = 1;
+        secondPlayerStrategy = new double[number_of_columns];
+        secondPlayerStrategy[(int)saddle_point.getY()] = 1;
         gameValue = saddle_point.getValue();
+        gameValueLowerBound = gameValue;
+        gameValueUpperBound = gameValue;
+        numberOfIterations = 0;
     }
 
     /*
@@ -108,17 +221,56 @@ public final class Result {
      */
 
     /**
-     * Массив вероятностей использования стратегий первого игрока.
+     * Преобразовать массив вероятностей в список.
+     * @param strategy Массив вероятностей.
+     * @return Список вероятностей.
      */
-    private final ArrayList<Double> firstPlayerResultArray;
+    private static ArrayList<Double> toList(double[] strategy) {
+        ArrayList<Double> list = new ArrayList<Double>(strategy.length);
+        for(double probability : strategy)
+        {
+            list.add(probability);
+        }
+        return list;
+    }
 
     /**
      * Массив вероятностей использования стратегий первого игрока.
      */
-    private final ArrayList<Double> secondPlayerResultArray;
+    private final double[] firstPlayerStrategy;
+
+    /**
+     * Массив вероятностей использования стратегий второго игрока.
+     */
+    private final double[] secondPlayerStrategy;
+
+    /**
+     * Список вероятностей использования стратегий первого игрока или null, если он еще не запрашивался.
+     */
+    private ArrayList<Double> firstPlayerResultArray;
+
+    /**
+     * Список вероятностей использования стратегий второго игрока или null, если он еще не запрашивался.
+     */
+    private ArrayList<Double> secondPlayerResultArray;
 
     /**
      * Цена игры.
      */
     private final double gameValue;
+
+    /**
+     * Нижняя граница цены игры.
+     */
+    private final double gameValueLowerBound;
+
+    /**
+     * Верхняя граница цены игры.
+     */
+    private final double gameValueUpperBound;
+
+    /**
+     * Количество выполненных итераций.
+     */
+    private final int numberOfIterations;
 }
@@ -0,0 +1,343 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Кэш результатов игр по канонической форме платежной матрицы (см. {@link CanonicalMatrix}).
+ * Игра, которая отличается от решенной ранее перестановкой строк и столбцов, положительным множителем
+ * или прибавленным числом, не решается заново: результат берется из кэша, вероятности переставляются
+ * в порядок строк и столбцов матрицы, а цена игры и ее границы пересчитываются в ее масштаб.
+ * Совпадение проверяется поэлементно, поэтому совпадение хэшей разных матриц не дает чужого результата.
+ * Количество записей и их размер в памяти ограничены; лишние записи вытесняются по выбранной политике.
+ * Результат зависит от метода решения, поэтому один кэш следует использовать с методами с одинаковыми настройками.
+ * Кэш можно использовать из нескольких потоков, например в методах, создаваемых {@link BatchSolver}.
+ */
+public final class ResultCache {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Политика вытеснения записей.
+     */
+    public enum EvictionPolicy {
+        /**
+         * Вытесняется запись, которая дольше всех не использовалась.
+         */
+        LEAST_RECENTLY_USED,
+        /**
+         * Вытесняется запись с наименьшим количеством попаданий, а из таких - дольше всех не использовавшаяся.
+         */
+        LEAST_FREQUENTLY_USED
+    }
+
+    /**
+     * Конструктор кэша с вытеснением давно не использовавшихся записей.
+     * @param maxEntries Максимальное количество записей.
+     * @param maxMemorySize Максимальный размер записей в байтах.
+     */
+    public ResultCache(int maxEntries, long maxMemorySize) {
+        this(maxEntries, maxMemorySize, EvictionPolicy.LEAST_RECENTLY_USED);
+    }
+
+    /**
+     * Конструктор.
+     * @param maxEntries Максимальное количество записей.
+     * @param maxMemorySize Максимальный размер записей в байтах. Результаты матриц, не помещающихся в кэш, не сохраняются.
+     * @param evictionPolicy Политика вытеснения записей.
+     */
+    public ResultCache(int maxEntries, long maxMemorySize, EvictionPolicy evictionPolicy) {
+        if(maxEntries<1)
+        {
+            throw new IllegalArgumentException("Number of entries must be a positive number");
+        }
+        if(maxMemorySize<1)
+        {
+            throw new IllegalArgumentException("Memory size must be a positive number");
+        }
+        this.maxEntries = maxEntries;
+        this.maxMemorySize = maxMemorySize;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    /**
+     * Получить результат игры из кэша или решить игру указанным методом и сохранить результат.
+     * @param payoffMatrix Платежная матрица.
+     * @param solver Метод решения игры при отсутствии результата в кэше.
+     * @return Результат игры в индексах и масштабе переданной матрицы. Для результата из кэша количество итераций равно нулю.
+     */
+    public Result solve(Matrix payoffMatrix, Solver solver) {
+        //matrices that can never fit are not canonicalized at all
+        if((long) payoffMatrix.getRowDimension() * payoffMatrix.getColumnDimension() * Double.BYTES>maxMemorySize)
+        {
+            countMiss();
+            return solver.solve(payoffMatrix);
+        }
+        CanonicalMatrix canonical = CanonicalMatrix.of(payoffMatrix);
+        Result cached = get(canonical);
+        if(cached!=null)
+        {
+            return cached;
+        }
+        Result result = solver.solve(payoffMatrix);
+        put(canonical, result);
+        return result;
+    }
+
+    /**
+     * Удалить все записи. Статистика не сбрасывается.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        memorySize = 0;
+    }
+
+    /**
+     * Получить количество записей.
+     * @return Количество записей.
+     */
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Получить размер записей в памяти.
+     * @return Приблизительный размер в байтах.
+     */
+    public synchronized long getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Получить количество попаданий.
+     * @return Количество игр, результат которых взят из кэша.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Получить количество промахов.
+     * @return Количество игр, решенных методом.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Получить долю попаданий.
+     * @return Отношение количества попаданий к количеству запросов или 0, если запросов не было.
+     */
+    public synchronized double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests>0 ? (double) hitCount / requests : 0;
+    }
+
+    /**
+     * Получить количество вытесненных записей.
+     * @return Количество вытесненных записей.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d entries, %d bytes, %d hits, %d misses, %d evictions",
+                entries.size(), memorySize, hitCount, missCount, evictionCount);
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Запись кэша: результат в каноническом порядке и масштабе.
+     */
+    private static final class Entry {
+
+        Entry(CanonicalMatrix canonical, double[] firstPlayerStrategy, double[] secondPlayerStrategy, double gameValue,
+              double gameValueLowerBound, double gameValueUpperBound) {
+            this.canonical = canonical;
+            this.firstPlayerStrategy = firstPlayerStrategy;
+            this.secondPlayerStrategy = secondPlayerStrategy;
+            this.gameValue = gameValue;
+            this.gameValueLowerBound = gameValueLowerBound;
+            this.gameValueUpperBound = gameValueUpperBound;
+            this.memorySize = canonical.getMemorySize()
+                    + (long) (firstPlayerStrategy.length + secondPlayerStrategy.length) * Double.BYTES + ENTRY_OVERHEAD;
+        }
+
+        final CanonicalMatrix canonical;
+        final double[] firstPlayerStrategy;
+        final double[] secondPlayerStrategy;
+        final double gameValue;
+        final double gameValueLowerBound;
+        final double gameValueUpperBound;
+        final long memorySize;
+        long hitCount;
+    }
+
+    /**
+     * Найти результат по канонической форме.
+     * @param canonical Каноническая форма матрицы.
+     * @return Результат в индексах и масштабе матрицы или null при промахе.
+     */
+    private Result get(CanonicalMatrix canonical) {
+        Entry entry;
+        synchronized(this)
+        {
+            entry = entries.get(canonical.getHash());
+            if(entry==null || !entry.canonical.matches(canonical))
+            {
+                missCount++;
+                return null;
+            }
+            entry.hitCount++;
+            hitCount++;
+        }
+        //the entry is immutable, so it is remapped outside the lock
+        int[] rowOrder = canonical.getRowOrder();
+        int[] columnOrder = canonical.getColumnOrder();
+        double[] p = new double[rowOrder.length];
+        double[] q = new double[columnOrder.length];
+        for(int r=0;r<rowOrder.length;r++)
+        {
+            p[rowOrder[r]] = entry.firstPlayerStrategy[r];
+        }
+        for(int s=0;s<columnOrder.length;s++)
+        {
+            q[columnOrder[s]] = entry.secondPlayerStrategy[s];
+        }
+        double scale = canonical.getScale();
+        double shift = canonical.getShift();
+        return new Result(p, q, entry.gameValue * scale + shift,
+                entry.gameValueLowerBound * scale + shift, entry.gameValueUpperBound * scale + shift, 0);
+    }
+
+    /**
+     * Сохранить результат и вытеснить лишние записи.
+     * @param canonical Каноническая форма матрицы.
+     * @param result Результат в индексах и масштабе матрицы.
+     */
+    private void put(CanonicalMatrix canonical, Result result) {
+        int[] rowOrder = canonical.getRowOrder();
+        int[] columnOrder = canonical.getColumnOrder();
+        double[] p = new double[rowOrder.length];
+        double[] q = new double[columnOrder.length];
+        for(int r=0;r<rowOrder.length;r++)
+        {
+            p[r] = result.getFirstPlayerProbability(rowOrder[r]);
+        }
+        for(int s=0;s<columnOrder.length;s++)
+        {
+            q[s] = result.getSecondPlayerProbability(columnOrder[s]);
+        }
+        double scale = canonical.getScale();
+        double shift = canonical.getShift();
+        Entry entry = new Entry(canonical, p, q, (result.getGameValue() - shift) / scale,
+                (result.getGameValueLowerBound() - shift) / scale, (result.getGameValueUpperBound() - shift) / scale);
+        if(entry.memorySize>maxMemorySize)
+        {
+            return;
+        }
+        synchronized(this)
+        {
+            //an entry with the same hash is replaced, whether it is the same game or a collision
+            Entry previous = entries.put(canonical.getHash(), entry);
+            if(previous!=null)
+            {
+                memorySize -= previous.memorySize;
+            }
+            memorySize += entry.memorySize;
+            while(entries.size()>maxEntries || memorySize>maxMemorySize)
+            {
+                evict(entry);
+            }
+        }
+    }
+
+    /**
+     * Вытеснить одну запись по политике вытеснения. Только что добавленная запись не вытесняется.
+     * @param added Только что добавленная запись.
+     */
+    private void evict(Entry added) {
+        //entries are in access order, so the first one is the least recently used
+        Map.Entry<Long, Entry> victim = null;
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while(iterator.hasNext())
+        {
+            Map.Entry<Long, Entry> candidate = iterator.next();
+            if(candidate.getValue()==added)
+            {
+                continue;
+            }
+            if(victim==null || candidate.getValue().hitCount<victim.getValue().hitCount)
+            {
+                victim = candidate;
+            }
+            if(evictionPolicy==EvictionPolicy.LEAST_RECENTLY_USED)
+            {
+                break;
+            }
+        }
+        entries.remove(victim.getKey());
+        memorySize -= victim.getValue().memorySize;
+        evictionCount++;
+    }
+
+    /**
+     * Учесть промах без обращения к записям.
+     */
+    private synchronized void countMiss() {
+        missCount++;
+    }
+
+    /**
+     * Приблизительный размер записи без массивов в байтах.
+     */
+    private static final long ENTRY_OVERHEAD = 128;
+
+    /**
+     * Максимальное количество записей.
+     */
+    private final int maxEntries;
+
+    /**
+     * Максимальный размер записей в байтах.
+     */
+    private final long maxMemorySize;
+
+    /**
+     * Политика вытеснения записей.
+     */
+    private final EvictionPolicy evictionPolicy;
+
+    /**
+     * Записи по хэшу канонической формы в порядке использования.
+     */
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true);
+
+    /**
+     * Размер записей в байтах.
+     */
+    private long memorySize;
+
+    /**
+     * Количество попаданий.
+     */
+    private long hitCount;
+
+    /**
+     * Количество промахов.
+     */
+    private long missCount;
+
+    /**
+     * Количество вытесненных записей.
+     */
+    private long evictionCount;
+}
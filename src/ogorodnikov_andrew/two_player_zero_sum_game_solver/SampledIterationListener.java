@@ -0,0 +1,48 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Слушатель, передающий другому слушателю только каждую N-ю итерацию.
+ */
+public final class SampledIterationListener implements IterationListener {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Конструктор.
+     * @param period Период: передаются итерации с номерами, кратными периоду.
+     * @param listener Слушатель, которому передаются итерации.
+     * @exception IllegalArgumentException Период должен быть положительным.
+     */
+    public SampledIterationListener(int period, IterationListener listener) {
+        if(period<1)
+        {
+            throw new IllegalArgumentException("Period must be a positive number");
+        }
+        this.period = period;
+        this.listener = listener;
+    }
+
+    @Override
+    public void iterationCompleted(IterationView iteration) {
+        if(iteration.getIterationNumber() % period == 0)
+        {
+            listener.iterationCompleted(iteration);
+        }
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Период.
+     */
+    private final int period;
+
+    /**
+     * Слушатель, которому передаются итерации.
+     */
+    private final IterationListener listener;
+}
@@ -0,0 +1,80 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Последовательное ядро итерации.
+ */
+final class ScalarIterationKernel implements IterationKernel {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Единственный экземпляр ядра.
+     */
+    static final ScalarIterationKernel INSTANCE = new ScalarIterationKernel();
+
+    @Override
+    public int addRowAndFindMin(Matrix payoffMatrix, int rowPosition, double[] gains) {
+        payoffMatrix.addRowTo(rowPosition, gains);
+        return findMin(gains, 0, gains.length);
+    }
+
+    @Override
+    public int addColumnAndFindMax(Matrix payoffMatrix, int columnPosition, double[] losses) {
+        payoffMatrix.addColumnTo(columnPosition, losses);
+        return findMax(losses, 0, losses.length);
+    }
+
+    /**
+     * Найти номер первого минимального элемента в части массива.
+     * @param array Массив.
+     * @param from Начало части, включительно.
+     * @param to Конец части, не включительно.
+     * @return Номер первого минимального элемента.
+     */
+    static int findMin(double[] array, int from, int to) {
+        double min = array[from];
+        int minIndex = from;
+        for(int k=from+1;k<to;k++)
+        {
+            if(min>array[k])
+            {
+                min=array[k];
+                minIndex=k;
+            }
+        }
+        return minIndex;
+    }
+
+    /**
+     * Найти номер первого максимального элемента в части массива.
+     * @param array Массив.
+     * @param from Начало части, включительно.
+     * @param to Конец части, не включительно.
+     * @return Номер первого максимального элемента.
+     */
+    static int findMax(double[] array, int from, int to) {
+        double max = array[from];
+        int maxIndex = from;
+        for(int k=from+1;k<to;k++)
+        {
+            if(max<array[k])
+            {
+                max=array[k];
+                maxIndex=k;
+            }
+        }
+        return maxIndex;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Закрытый конструктор.
+     */
+    private ScalarIterationKernel() {
+    }
+}
@@ -0,0 +1,230 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+
+/**
+ * Точный метод решения игры сведением к задаче линейного программирования.
+ * К элементам матрицы прибавляется число, делающее наименьший элемент равным 1, поэтому для полученной матрицы A
+ * цена игры положительна. Для нее решается прямая задача
+ * max sum(y) при A*y &lt;= 1, y &gt;= 0 симплекс-методом; решение двойственной задачи
+ * min sum(x) при A^T*x &gt;= 1, x &gt;= 0 читается из последней симплекс-таблицы.
+ * Тогда цена игры v = 1/sum(y), q = v*y, p = v*x, а цена исходной игры меньше v на прибавленное число.
+ * Число прибавляется при построении таблицы, и каждая строка матрицы читается один раз,
+ * поэтому метод решает и матрицы, вычисляемые по запросу ({@link Matrix#fromOracle(PayoffOracle, long)}).
+ */
+public class SimplexSolver implements Solver {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Решить игру симплекс-методом.
+     * @param payoffMatrix Платежная матрица.
+     * @exception IllegalArgumentException В матрице есть бесконечные элементы или NaN.
+     * @return Результат игры. Количество итераций равно количеству замен базиса.
+     */
+    @Override
+    public Result solve(Matrix payoffMatrix) {
+        int rowDimension = payoffMatrix.getRowDimension();
+        int columnDimension = payoffMatrix.getColumnDimension();
+        int width = columnDimension + rowDimension + 1;
+        int rightHandSide = width - 1;
+
+        //rows 0..m-1 are constraints A*y + s = 1, row m is the objective row of reduced costs
+        double[] tableau = new double[(rowDimension + 1) * width];
+        int[] basis = new int[rowDimension];
+        double min = Double.POSITIVE_INFINITY;
+        for(int i=0;i<rowDimension;i++)
+        {
+            double[] row = payoffMatrix.getRow(i);
+            for(int j=0;j<columnDimension;j++)
+            {
+                if(!Double.isFinite(row[j]))
+                {
+                    throw new IllegalArgumentException("Payoff matrix must contain finite elements");
+                }
+                min = Math.min(min, row[j]);
+            }
+            System.arraycopy(row, 0, tableau, i * width, columnDimension);
+            tableau[i * width + columnDimension + i] = 1;
+            tableau[i * width + rightHandSide] = 1;
+            basis[i] = columnDimension + i;
+        }
+        //the shift is applied to the copied rows, so an on-demand matrix is read only once
+        double shift = 1 - min;
+        if(shift!=0)
+        {
+            for(int i=0;i<rowDimension;i++)
+            {
+                for(int j=0;j<columnDimension;j++)
+                {
+                    tableau[i * width + j] += shift;
+                }
+            }
+        }
+        int objective = rowDimension * width;
+        for(int j=0;j<columnDimension;j++)
+        {
+            tableau[objective + j] = 1;
+        }
+
+        int numberOfPivots = 0;
+        while(true)
+        {
+            int entering = -1;
+            double maxReducedCost = TOLERANCE;
+            for(int j=0;j<rightHandSide;j++)
+            {
+                if(tableau[objective + j]>maxReducedCost)
+                {
+                    entering = j;
+                    maxReducedCost = tableau[objective + j];
+                }
+            }
+            if(entering<0)
+            {
+                break;
+            }
+
+            double minRatio = Double.POSITIVE_INFINITY;
+            for(int i=0;i<rowDimension;i++)
+            {
+                double a = tableau[i * width + entering];
+                if(a>PIVOT_TOLERANCE)
+                {
+                    minRatio = Math.min(minRatio, tableau[i * width + rightHandSide] / a);
+                }
+            }
+            if(minRatio==Double.POSITIVE_INFINITY)
+            {
+                throw new IllegalStateException("Simplex tableau is unbounded");
+            }
+            //ties of the ratio test are broken lexicographically, which rules out cycling on degenerate matrices
+            int leaving = -1;
+            for(int i=0;i<rowDimension;i++)
+            {
+                double a = tableau[i * width + entering];
+                if(a>PIVOT_TOLERANCE && tableau[i * width + rightHandSide] / a<=minRatio + TOLERANCE
+                        && (leaving<0
+                            || isLexicographicallySmaller(tableau, width, columnDimension, rowDimension, i, leaving, entering)))
+                {
+                    leaving = i;
+                }
+            }
+
+            pivot(tableau, rowDimension + 1, width, leaving, entering);
+            basis[leaving] = entering;
+            //right hand sides stay non-negative in exact arithmetic, rounding errors below zero would break the ratio test
+            for(int i=0;i<rowDimension;i++)
+            {
+                if(tableau[i * width + rightHandSide]<0)
+                {
+                    tableau[i * width + rightHandSide] = 0;
+                }
+            }
+            numberOfPivots++;
+        }
+
+        //z = sum(y), the objective row keeps -z in the right hand side column
+        double sum = -tableau[objective + rightHandSide];
+        double shiftedGameValue = 1 / sum;
+
+        double[] y = new double[columnDimension];
+        for(int i=0;i<rowDimension;i++)
+        {
+            if(basis[i]<columnDimension)
+            {
+                y[basis[i]] = tableau[i * width + rightHandSide];
+            }
+        }
+
+        double[] p = new double[rowDimension];
+        double[] q = new double[columnDimension];
+        for(int i=0;i<rowDimension;i++)
+        {
+            //dual variable x_i is the negated reduced cost of the slack variable s_i
+            p[i] = Math.max(0, -tableau[objective + columnDimension + i]) * shiftedGameValue;
+        }
+        for(int j=0;j<columnDimension;j++)
+        {
+            q[j] = Math.max(0, y[j]) * shiftedGameValue;
+        }
+        double gameValue = shiftedGameValue - shift;
+        return new Result(p, q, gameValue, gameValue, gameValue, numberOfPivots);
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Выполнить замену базиса по указанному ведущему элементу.
+     * @param tableau Симплекс-таблица.
+     * @param height Количество строк таблицы.
+     * @param width Количество столбцов таблицы.
+     * @param pivotRow Ведущая строка.
+     * @param pivotColumn Ведущий столбец.
+     */
+    private static void pivot(double[] tableau, int height, int width, int pivotRow, int pivotColumn) {
+        int pivotOffset = pivotRow * width;
+        double pivotElement = tableau[pivotOffset + pivotColumn];
+        for(int j=0;j<width;j++)
+        {
+            tableau[pivotOffset + j] /= pivotElement;
+        }
+        tableau[pivotOffset + pivotColumn] = 1;
+        for(int i=0;i<height;i++)
+        {
+            int offset = i * width;
+            double factor = tableau[offset + pivotColumn];
+            if(i==pivotRow || factor==0)
+            {
+                continue;
+            }
+            for(int j=0;j<width;j++)
+            {
+                tableau[offset + j] -= factor * tableau[pivotOffset + j];
+            }
+            tableau[offset + pivotColumn] = 0;
+        }
+    }
+
+    /**
+     * Сравнить строки таблицы, деленные на элементы ведущего столбца, лексикографически по столбцам
+     * дополнительных переменных. Эти столбцы образуют обратную матрицу базиса, поэтому строки не равны.
+     * @param tableau Симплекс-таблица.
+     * @param width Количество столбцов таблицы.
+     * @param from Номер первого столбца дополнительных переменных.
+     * @param count Количество дополнительных переменных.
+     * @param first Номер первой строки.
+     * @param second Номер второй строки.
+     * @param pivotColumn Ведущий столбец.
+     * @return Меньше ли первая строка второй.
+     */
+    private static boolean isLexicographicallySmaller(double[] tableau, int width, int from, int count,
+                                                      int first, int second, int pivotColumn) {
+        double firstPivot = tableau[first * width + pivotColumn];
+        double secondPivot = tableau[second * width + pivotColumn];
+        for(int k=from;k<from + count;k++)
+        {
+            double x = tableau[first * width + k] / firstPivot;
+            double y = tableau[second * width + k] / secondPivot;
+            if(Math.abs(x - y)>TOLERANCE)
+            {
+                return x<y;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Точность сравнения элементов симплекс-таблицы с нулем.
+     */
+    private static final double TOLERANCE = 1e-10;
+
+    /**
+     * Наименьший допустимый ведущий элемент. Замена базиса по меньшему элементу на вырожденных матрицах
+     * накапливает ошибки округления.
+     */
+    private static final double PIVOT_TOLERANCE = 1e-9;
+}
@@ -0,0 +1,160 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Срок решения игры. Итеративные методы проверяют срок и прекращают итерации, когда он истек
+ * или решение отменено из другого потока, и возвращают результат последней итерации с наилучшими найденными границами цены игры.
+ * Чтобы проверка не замедляла итерации, срок проверяется не на каждой итерации, а раз в несколько итераций:
+ * чем больше матрица, тем чаще (см. {@link #getCheckMask(int, int)}). Хотя бы одна итерация выполняется всегда.
+ */
+public final class SolveDeadline {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Создать срок, истекающий через указанное время.
+     * @param timeLimit Время на решение.
+     * @return Срок.
+     */
+    public static SolveDeadline after(Duration timeLimit) {
+        long nanos = timeLimit.isNegative() ? 0 : saturatedNanos(timeLimit);
+        //nanoTime differences are only meaningful below 2^63, so a deadline that far away never expires
+        if(nanos>=Long.MAX_VALUE / 2)
+        {
+            return never();
+        }
+        return new SolveDeadline(System.nanoTime() + nanos, false);
+    }
+
+    /**
+     * Создать срок, истекающий в указанный момент.
+     * @param deadline Момент истечения срока.
+     * @return Срок.
+     */
+    public static SolveDeadline at(Instant deadline) {
+        return after(Duration.between(Instant.now(), deadline));
+    }
+
+    /**
+     * Создать срок, который не истекает, но решение по нему можно отменить.
+     * @return Срок.
+     */
+    public static SolveDeadline never() {
+        return new SolveDeadline(Long.MAX_VALUE, true);
+    }
+
+    /**
+     * Отменить решение. Итерации прекратятся при ближайшей проверке срока.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Проверить, отменено ли решение.
+     * @return true, если решение отменено.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Проверить, истек ли срок или отменено ли решение.
+     * @return true, если итерации нужно прекратить.
+     */
+    public boolean isExpired() {
+        return cancelled || !unlimited && System.nanoTime() - deadlineNanos>=0;
+    }
+
+    /**
+     * Получить оставшееся время.
+     * @return Оставшееся время; нулевое, если срок истек или решение отменено.
+     */
+    public Duration getRemaining() {
+        if(cancelled)
+        {
+            return Duration.ZERO;
+        }
+        if(unlimited)
+        {
+            return Duration.ofNanos(Long.MAX_VALUE);
+        }
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Получить маску номера итерации для проверки срока: срок проверяется на итерациях, номер которых не пересекается с маской.
+     * Период проверки - степень двойки, при которой между проверками читается около {@link #CHECK_ELEMENTS} элементов матрицы.
+     * @param rowDimension Количество строк.
+     * @param columnDimension Количество столбцов.
+     * @return Маска, на единицу меньшая периода.
+     */
+    static int getCheckMask(int rowDimension, int columnDimension) {
+        long elementsPerIteration = Math.max(1, (long) rowDimension + columnDimension);
+        long period = Math.max(1, CHECK_ELEMENTS / elementsPerIteration);
+        return Integer.highestOneBit((int) Math.min(period, MAX_CHECK_PERIOD)) - 1;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Конструктор.
+     * @param deadlineNanos Момент истечения срока по {@link System#nanoTime()}.
+     * @param unlimited Не истекает ли срок.
+     */
+    private SolveDeadline(long deadlineNanos, boolean unlimited) {
+        this.deadlineNanos = deadlineNanos;
+        this.unlimited = unlimited;
+    }
+
+    /**
+     * Перевести время в наносекунды с насыщением при переполнении.
+     * @param duration Неотрицательное время.
+     * @return Время в наносекундах, не больше Long.MAX_VALUE.
+     */
+    private static long saturatedNanos(Duration duration) {
+        try
+        {
+            return duration.toNanos();
+        }
+        catch(ArithmeticException e)
+        {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Количество элементов матрицы, читаемых итерациями между проверками срока.
+     */
+    private static final long CHECK_ELEMENTS = 1 << 16;
+
+    /**
+     * Наибольший период проверки срока в итерациях.
+     */
+    private static final long MAX_CHECK_PERIOD = 1 << 12;
+
+    /**
+     * Момент истечения срока по {@link System#nanoTime()}.
+     */
+    private final long deadlineNanos;
+
+    /**
+     * Не истекает ли срок.
+     */
+    private final boolean unlimited;
+
+    /**
+     * Отменено ли решение.
+     */
+    private volatile boolean cancelled;
+}
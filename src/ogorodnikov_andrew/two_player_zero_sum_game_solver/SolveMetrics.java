@@ -0,0 +1,173 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.text.DecimalFormat;
+
+/**
+ * Метрики решения одной игры: время этапов решения, количество итераций,
+ * количество удаленных доминируемых стратегий и границы цены игры в конце решения.
+ * Метрики последнего решения доступны через {@link Game#getLastSolveMetrics()},
+ * суммы по всем решениям - через {@link SolverMetrics}.
+ */
+public final class SolveMetrics {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Получить время поиска седловой точки в наносекундах.
+     * @return Время в наносекундах.
+     */
+    public long getSaddlePointNanos() {
+        return saddlePointNanos;
+    }
+
+    /**
+     * Получить время прибавления числа к платежной матрице в наносекундах.
+     * @return Время в наносекундах.
+     */
+    public long getAddValueNanos() {
+        return addValueNanos;
+    }
+
+    /**
+     * Получить время удаления доминируемых стратегий в наносекундах.
+     * @return Время в наносекундах.
+     */
+    public long getDominanceReductionNanos() {
+        return dominanceReductionNanos;
+    }
+
+    /**
+     * Получить время работы метода решения в наносекундах. Для игры с седловой точкой равно нулю.
+     * @return Время в наносекундах.
+     */
+    public long getSolverNanos() {
+        return solverNanos;
+    }
+
+    /**
+     * Получить количество итераций метода решения.
+     * @return Количество итераций.
+     */
+    public int getNumberOfIterations() {
+        return numberOfIterations;
+    }
+
+    /**
+     * Получить скорость метода решения: количество итераций в секунду.
+     * @return Количество итераций в секунду.
+     */
+    public double getIterationsPerSecond() {
+        return solverNanos > 0 ? numberOfIterations * 1e9 / solverNanos : 0;
+    }
+
+    /**
+     * Получить количество удаленных доминируемых строк.
+     * @return Количество строк.
+     */
+    public int getRemovedRows() {
+        return removedRows;
+    }
+
+    /**
+     * Получить количество удаленных доминируемых столбцов.
+     * @return Количество столбцов.
+     */
+    public int getRemovedColumns() {
+        return removedColumns;
+    }
+
+    /**
+     * Получить зазор между границами цены игры в конце решения.
+     * @return Разность верхней и нижней границ.
+     */
+    public double getDualityGap() {
+        return dualityGap;
+    }
+
+    /**
+     * Преобразовать метрики в строку.
+     * @return Метрики в виде строки.
+     */
+    @Override
+    public String toString() {
+        DecimalFormat decimalFormat = new DecimalFormat("#0.000");
+        return "saddle point " + decimalFormat.format(saddlePointNanos / 1e6) + " ms, add value "
+                + decimalFormat.format(addValueNanos / 1e6) + " ms, dominance " + decimalFormat.format(dominanceReductionNanos / 1e6)
+                + " ms (" + removedRows + " rows, " + removedColumns + " columns removed), solver "
+                + decimalFormat.format(solverNanos / 1e6) + " ms (" + numberOfIterations + " iterations), gap "
+                + dualityGap;
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор.
+     * @param saddlePointNanos Время поиска седловой точки.
+     * @param addValueNanos Время прибавления числа.
+     * @param dominanceReductionNanos Время удаления доминируемых стратегий.
+     * @param solverNanos Время работы метода решения.
+     * @param numberOfIterations Количество итераций.
+     * @param removedRows Количество удаленных строк.
+     * @param removedColumns Количество удаленных столбцов.
+     * @param dualityGap Зазор между границами цены игры.
+     */
+    SolveMetrics(long saddlePointNanos, long addValueNanos, long dominanceReductionNanos, long solverNanos,
+                 int numberOfIterations, int removedRows, int removedColumns, double dualityGap) {
+        this.saddlePointNanos = saddlePointNanos;
+        this.addValueNanos = addValueNanos;
+        this.dominanceReductionNanos = dominanceReductionNanos;
+        this.solverNanos = solverNanos;
+        this.numberOfIterations = numberOfIterations;
+        this.removedRows = removedRows;
+        this.removedColumns = removedColumns;
+        this.dualityGap = dualityGap;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Время поиска седловой точки в наносекундах.
+     */
+    private final long saddlePointNanos;
+
+    /**
+     * Время прибавления числа в наносекундах.
+     */
+    private final long addValueNanos;
+
+    /**
+     * Время удаления доминируемых стратегий в наносекундах.
+     */
+    private final long dominanceReductionNanos;
+
+    /**
+     * Время работы метода решения в наносекундах.
+     */
+    private final long solverNanos;
+
+    /**
+     * Количество итераций.
+     */
+    private final int numberOfIterations;
+
+    /**
+     * Количество удаленных строк.
+     */
+    private final int removedRows;
+
+    /**
+     * Количество удаленных столбцов.
+     */
+    private final int removedColumns;
+
+    /**
+     * Зазор между границами цены игры.
+     */
+    private final double dualityGap;
+}
@@ -0,0 +1,36 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JDK Flight Recorder для этапа решения игры. Пока запись не ведется, событие не сохраняется,
+ * и его создание и отметки времени почти ничего не стоят.
+ */
+@Name("ogorodnikov_andrew.SolvePhase")
+@Label("Solve Phase")
+@Category("Game Solver")
+@Description("A phase of solving a matrix game")
+final class SolvePhaseEvent extends Event {
+
+    /**
+     * Этап: saddle point, add value, dominance reduction или solver.
+     */
+    @Label("Phase")
+    String phase;
+
+    /**
+     * Количество строк матрицы, с которой работает этап.
+     */
+    @Label("Rows")
+    int rows;
+
+    /**
+     * Количество столбцов матрицы, с которой работает этап.
+     */
+    @Label("Columns")
+    int columns;
+}
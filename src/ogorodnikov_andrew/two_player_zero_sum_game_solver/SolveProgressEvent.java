@@ -0,0 +1,58 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JDK Flight Recorder с границами цены игры во время итераций.
+ * Итеративные методы создают его раз в {@link #PERIOD} итераций, поэтому по записи видно, как сходятся границы.
+ */
+@Name("ogorodnikov_andrew.SolveProgress")
+@Label("Solve Progress")
+@Category("Game Solver")
+@Description("Game value bounds during iterations")
+final class SolveProgressEvent extends Event {
+
+    /**
+     * Период событий в итерациях. Степень двойки.
+     */
+    static final int PERIOD = 1 << 10;
+
+    /**
+     * Сохранить событие, если запись ведется.
+     * @param solver Название метода решения.
+     * @param iterationNumber Номер итерации.
+     * @param lowerBound Нижняя граница цены игры.
+     * @param upperBound Верхняя граница цены игры.
+     */
+    static void commit(String solver, int iterationNumber, double lowerBound, double upperBound) {
+        SolveProgressEvent event = new SolveProgressEvent();
+        if(event.shouldCommit())
+        {
+            event.solver = solver;
+            event.iterationNumber = iterationNumber;
+            event.lowerBound = lowerBound;
+            event.upperBound = upperBound;
+            event.dualityGap = upperBound - lowerBound;
+            event.commit();
+        }
+    }
+
+    @Label("Solver")
+    String solver;
+
+    @Label("Iteration")
+    int iterationNumber;
+
+    @Label("Lower Bound")
+    double lowerBound;
+
+    @Label("Upper Bound")
+    double upperBound;
+
+    @Label("Duality Gap")
+    double dualityGap;
+}
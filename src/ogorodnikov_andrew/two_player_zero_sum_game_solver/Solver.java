@@ -0,0 +1,16 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Интерфейс метода решения матричной игры.
+ * {@link Game} передает методу матрицу без седловой точки и доминируемых стратегий,
+ * все элементы которой неотрицательны, а цена игры положительна.
+ */
+public interface Solver {
+
+    /**
+     * Решить игру с указанной платежной матрицей.
+     * @param payoffMatrix Платежная матрица.
+     * @return Результат игры в индексах переданной матрицы.
+     */
+    Result solve(Matrix payoffMatrix);
+}
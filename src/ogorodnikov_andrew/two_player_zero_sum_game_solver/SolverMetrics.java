@@ -0,0 +1,212 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Метрики решения игр, накопленные по всем объектам {@link Game} процесса.
+ * По умолчанию метрики не собираются, и решение игры не тратит на них времени, кроме чтения одного флага.
+ * {@link #register()} включает сбор и публикует метрики через JMX.
+ * Метрики безопасно обновляются из нескольких потоков, например при решении пакета игр {@link BatchSolver}.
+ */
+public final class SolverMetrics implements SolverMetricsMXBean {
+
+    /*
+    * PUBLIC
+    * */
+
+    /**
+     * Имя объекта JMX.
+     */
+    public static final String OBJECT_NAME = "ogorodnikov_andrew.two_player_zero_sum_game_solver:type=SolverMetrics";
+
+    /**
+     * Получить метрики процесса.
+     * @return Метрики процесса.
+     */
+    public static SolverMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Включить сбор метрик и зарегистрировать их в платформенном сервере JMX, если они еще не зарегистрированы.
+     * @return Имя объекта JMX.
+     * @throws JMException Ошибка регистрации.
+     */
+    public static synchronized ObjectName register() throws JMException {
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if(!server.isRegistered(name))
+        {
+            server.registerMBean(INSTANCE, name);
+        }
+        setEnabled(true);
+        return name;
+    }
+
+    /**
+     * Включить или выключить сбор метрик.
+     * @param enabled Собирать ли метрики.
+     */
+    public static void setEnabled(boolean enabled) {
+        SolverMetrics.enabled = enabled;
+    }
+
+    /**
+     * Проверить, собираются ли метрики.
+     * @return true, если метрики собираются.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public long getSolveCount() {
+        return solveCount.sum();
+    }
+
+    @Override
+    public long getSaddlePointCount() {
+        return saddlePointCount.sum();
+    }
+
+    @Override
+    public long getSaddlePointNanos() {
+        return saddlePointNanos.sum();
+    }
+
+    @Override
+    public long getAddValueNanos() {
+        return addValueNanos.sum();
+    }
+
+    @Override
+    public long getDominanceReductionNanos() {
+        return dominanceReductionNanos.sum();
+    }
+
+    @Override
+    public long getSolverNanos() {
+        return solverNanos.sum();
+    }
+
+    @Override
+    public long getNumberOfIterations() {
+        return numberOfIterations.sum();
+    }
+
+    @Override
+    public double getIterationsPerSecond() {
+        long nanos = solverNanos.sum();
+        return nanos > 0 ? numberOfIterations.sum() * 1e9 / nanos : 0;
+    }
+
+    @Override
+    public long getRemovedRows() {
+        return removedRows.sum();
+    }
+
+    @Override
+    public long getRemovedColumns() {
+        return removedColumns.sum();
+    }
+
+    @Override
+    public double getLastDualityGap() {
+        return lastDualityGap;
+    }
+
+    @Override
+    public synchronized double getMaxDualityGap() {
+        return maxDualityGap;
+    }
+
+    @Override
+    public synchronized void reset() {
+        solveCount.reset();
+        saddlePointCount.reset();
+        saddlePointNanos.reset();
+        addValueNanos.reset();
+        dominanceReductionNanos.reset();
+        solverNanos.reset();
+        numberOfIterations.reset();
+        removedRows.reset();
+        removedColumns.reset();
+        lastDualityGap = 0;
+        maxDualityGap = 0;
+    }
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Добавить метрики решения игры.
+     * @param metrics Метрики решения.
+     * @param saddlePoint Решена ли игра по седловой точке.
+     */
+    void record(SolveMetrics metrics, boolean saddlePoint) {
+        solveCount.increment();
+        if(saddlePoint)
+        {
+            saddlePointCount.increment();
+        }
+        saddlePointNanos.add(metrics.getSaddlePointNanos());
+        addValueNanos.add(metrics.getAddValueNanos());
+        dominanceReductionNanos.add(metrics.getDominanceReductionNanos());
+        solverNanos.add(metrics.getSolverNanos());
+        numberOfIterations.add(metrics.getNumberOfIterations());
+        removedRows.add(metrics.getRemovedRows());
+        removedColumns.add(metrics.getRemovedColumns());
+        double dualityGap = metrics.getDualityGap();
+        lastDualityGap = dualityGap;
+        synchronized(this)
+        {
+            if(dualityGap>maxDualityGap)
+            {
+                maxDualityGap = dualityGap;
+            }
+        }
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    private SolverMetrics() {
+    }
+
+    /**
+     * Метрики процесса.
+     */
+    private static final SolverMetrics INSTANCE = new SolverMetrics();
+
+    /**
+     * Собираются ли метрики.
+     */
+    private static volatile boolean enabled = false;
+
+    private final LongAdder solveCount = new LongAdder();
+    private final LongAdder saddlePointCount = new LongAdder();
+    private final LongAdder saddlePointNanos = new LongAdder();
+    private final LongAdder addValueNanos = new LongAdder();
+    private final LongAdder dominanceReductionNanos = new LongAdder();
+    private final LongAdder solverNanos = new LongAdder();
+    private final LongAdder numberOfIterations = new LongAdder();
+    private final LongAdder removedRows = new LongAdder();
+    private final LongAdder removedColumns = new LongAdder();
+
+    /**
+     * Зазор последнего решения.
+     */
+    private volatile double lastDualityGap;
+
+    /**
+     * Наибольший зазор.
+     */
+    private double maxDualityGap;
+}
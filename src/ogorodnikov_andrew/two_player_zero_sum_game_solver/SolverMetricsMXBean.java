@@ -0,0 +1,84 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Интерфейс JMX для метрик решения игр, накопленных с момента включения или сброса (см. {@link SolverMetrics}).
+ */
+public interface SolverMetricsMXBean {
+
+    /**
+     * Получить количество решенных игр.
+     * @return Количество игр.
+     */
+    long getSolveCount();
+
+    /**
+     * Получить количество игр, решенных по седловой точке.
+     * @return Количество игр.
+     */
+    long getSaddlePointCount();
+
+    /**
+     * Получить суммарное время поиска седловой точки в наносекундах.
+     * @return Время в наносекундах.
+     */
+    long getSaddlePointNanos();
+
+    /**
+     * Получить суммарное время прибавления числа к платежной матрице в наносекундах.
+     * @return Время в наносекундах.
+     */
+    long getAddValueNanos();
+
+    /**
+     * Получить суммарное время удаления доминируемых стратегий в наносекундах.
+     * @return Время в наносекундах.
+     */
+    long getDominanceReductionNanos();
+
+    /**
+     * Получить суммарное время работы методов решения в наносекундах.
+     * @return Время в наносекундах.
+     */
+    long getSolverNanos();
+
+    /**
+     * Получить суммарное количество итераций.
+     * @return Количество итераций.
+     */
+    long getNumberOfIterations();
+
+    /**
+     * Получить среднюю скорость методов решения: количество итераций в секунду.
+     * @return Количество итераций в секунду.
+     */
+    double getIterationsPerSecond();
+
+    /**
+     * Получить суммарное количество удаленных доминируемых строк.
+     * @return Количество строк.
+     */
+    long getRemovedRows();
+
+    /**
+     * Получить суммарное количество удаленных доминируемых столбцов.
+     * @return Количество столбцов.
+     */
+    long getRemovedColumns();
+
+    /**
+     * Получить зазор между границами цены игры в конце последнего решения.
+     * @return Зазор последнего решения.
+     */
+    double getLastDualityGap();
+
+    /**
+     * Получить наибольший зазор между границами цены игры в конце решения.
+     * @return Наибольший зазор.
+     */
+    double getMaxDualityGap();
+
+    /**
+     * Сбросить накопленные метрики.
+     */
+    void reset();
+}
@@ -0,0 +1,561 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Разреженное хранилище элементов: хранятся только ненулевые элементы, одновременно по строкам (CSR) и по столбцам (CSC).
+ * Прибавление строки или столбца, поиск минимумов строк и максимумов столбцов проходят только по ненулевым элементам.
+ * Число, добавленное к элементам, хранится отдельно, чтобы нули оставались неявными.
+ */
+final class SparseMatrixStorage extends MatrixStorage {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор хранилища по ненулевым элементам в произвольном порядке.
+     * Элементы с одинаковыми координатами складываются, нулевые элементы не хранятся.
+     * @param rowDimension Количество строк.
+     * @param columnDimension Количество столбцов.
+     * @param rowPositions Номера строк элементов.
+     * @param columnPositions Номера столбцов элементов.
+     * @param values Значения элементов.
+     */
+    SparseMatrixStorage(int rowDimension, int columnDimension, int[] rowPositions, int[] columnPositions, double[] values)
+    {
+        if(rowPositions.length!=values.length || columnPositions.length!=values.length)
+        {
+            throw new IllegalArgumentException("Position and value arrays must have the same length.");
+        }
+        for(int k=0;k<values.length;k++)
+        {
+            Objects.checkIndex(rowPositions[k], rowDimension);
+            Objects.checkIndex(columnPositions[k], columnDimension);
+        }
+        this.rowDimension = rowDimension;
+        this.columnDimension = columnDimension;
+
+        //Устойчивая сортировка подсчетом сначала по столбцам, затем по строкам упорядочивает элементы по строкам и столбцам
+        int[] order = new int[values.length];
+        Arrays.setAll(order, k -> k);
+        order = sortByKey(order, columnPositions, columnDimension);
+        order = sortByKey(order, rowPositions, rowDimension);
+
+        //Складываем повторяющиеся элементы и отбрасываем нули
+        rowPointers = new int[rowDimension + 1];
+        int[] columnIndexes = new int[values.length];
+        double[] rowValues = new double[values.length];
+        int size = 0;
+        for(int t=0;t<order.length;)
+        {
+            int i = rowPositions[order[t]];
+            int j = columnPositions[order[t]];
+            double value = 0;
+            for(;t<order.length && rowPositions[order[t]]==i && columnPositions[order[t]]==j;t++)
+            {
+                value += values[order[t]];
+            }
+            if(value!=0)
+            {
+                columnIndexes[size] = j;
+                rowValues[size] = value;
+                rowPointers[i + 1]++;
+                size++;
+            }
+        }
+        for(int i=0;i<rowDimension;i++)
+        {
+            rowPointers[i + 1] += rowPointers[i];
+        }
+        this.columnIndexes = Arrays.copyOf(columnIndexes, size);
+        this.rowValues = Arrays.copyOf(rowValues, size);
+
+        //Строим хранение по столбцам: проход по строкам по возрастанию дает упорядоченные номера строк в каждом столбце
+        columnPointers = new int[columnDimension + 1];
+        for(int k=0;k<size;k++)
+        {
+            columnPointers[this.columnIndexes[k] + 1]++;
+        }
+        for(int j=0;j<columnDimension;j++)
+        {
+            columnPointers[j + 1] += columnPointers[j];
+        }
+        rowIndexes = new int[size];
+        columnValues = new double[size];
+        int[] next = Arrays.copyOf(columnPointers, columnDimension);
+        for(int i=0;i<rowDimension;i++)
+        {
+            for(int k=rowPointers[i];k<rowPointers[i + 1];k++)
+            {
+                int position = next[this.columnIndexes[k]]++;
+                rowIndexes[position] = i;
+                columnValues[position] = this.rowValues[k];
+            }
+        }
+    }
+
+    @Override
+    int getRowDimension()
+    {
+        return rowDimension;
+    }
+
+    @Override
+    int getColumnDimension()
+    {
+        return columnDimension;
+    }
+
+    @Override
+    double get(int rowPosition, int columnPosition)
+    {
+        return getWithoutShift(rowPosition, columnPosition) + shift;
+    }
+
+    /**
+     * Получить элемент без добавленного числа.
+     * @param rowPosition Номер строки.
+     * @param columnPosition Номер столбца.
+     * @return Хранимый элемент или 0.
+     */
+    double getWithoutShift(int rowPosition, int columnPosition)
+    {
+        int k = Arrays.binarySearch(columnIndexes, rowPointers[rowPosition], rowPointers[rowPosition + 1], columnPosition);
+        return k>=0 ? rowValues[k] : 0;
+    }
+
+    /**
+     * Прибавить часть строки. Если к элементам добавлено число, оно прибавляется ко всей части,
+     * иначе проходятся только ненулевые элементы.
+     */
+    @Override
+    void addRowTo(int rowPosition, double[] target, int from, int to)
+    {
+        int end = rowPointers[rowPosition + 1];
+        int k = from==0 ? rowPointers[rowPosition] : lowerBound(columnIndexes, rowPointers[rowPosition], end, from);
+        if(shift==0)
+        {
+            for(;k<end && columnIndexes[k]<to;k++)
+            {
+                target[columnIndexes[k]] += rowValues[k];
+            }
+        }
+        else
+        {
+            for(int j=from;j<to;j++)
+            {
+                if(k<end && columnIndexes[k]==j)
+                {
+                    target[j] += rowValues[k++] + shift;
+                }
+                else
+                {
+                    target[j] += shift;
+                }
+            }
+        }
+    }
+
+    /**
+     * Прибавить часть столбца. Если к элементам добавлено число, оно прибавляется ко всей части,
+     * иначе проходятся только ненулевые элементы.
+     */
+    @Override
+    void addColumnTo(int columnPosition, double[] target, int from, int to)
+    {
+        int end = columnPointers[columnPosition + 1];
+        int k = from==0 ? columnPointers[columnPosition] : lowerBound(rowIndexes, columnPointers[columnPosition], end, from);
+        if(shift==0)
+        {
+            for(;k<end && rowIndexes[k]<to;k++)
+            {
+                target[rowIndexes[k]] += columnValues[k];
+            }
+        }
+        else
+        {
+            for(int i=from;i<to;i++)
+            {
+                if(k<end && rowIndexes[k]==i)
+                {
+                    target[i] += columnValues[k++] + shift;
+                }
+                else
+                {
+                    target[i] += shift;
+                }
+            }
+        }
+    }
+
+    @Override
+    void copyRowTo(int rowPosition, double[] target)
+    {
+        Arrays.fill(target, shift);
+        for(int k=rowPointers[rowPosition];k<rowPointers[rowPosition + 1];k++)
+        {
+            target[columnIndexes[k]] = rowValues[k] + shift;
+        }
+    }
+
+    /**
+     * Сводка разреженной матрицы вычисляется по ненулевым элементам строк и столбцов,
+     * неявные нули учитываются по количеству ненулевых элементов.
+     */
+    @Override
+    MatrixSummary summarize()
+    {
+        double[] minima = new double[rowDimension];
+        for(int i=0;i<rowDimension;i++)
+        {
+            //Неявный ноль есть, если в строке меньше ненулевых элементов, чем столбцов
+            double min = rowPointers[i + 1] - rowPointers[i]<columnDimension ? 0 : Double.POSITIVE_INFINITY;
+            for(int k=rowPointers[i];k<rowPointers[i + 1];k++)
+            {
+                if(rowValues[k]<min)
+                {
+                    min = rowValues[k];
+                }
+            }
+            minima[i] = min + shift;
+        }
+        double[] maxima = new double[columnDimension];
+        for(int j=0;j<columnDimension;j++)
+        {
+            double max = columnPointers[j + 1] - columnPointers[j]<rowDimension ? 0 : Double.NEGATIVE_INFINITY;
+            for(int k=columnPointers[j];k<columnPointers[j + 1];k++)
+            {
+                if(columnValues[k]>max)
+                {
+                    max = columnValues[k];
+                }
+            }
+            maxima[j] = max + shift;
+        }
+        return new MatrixSummary(minima, maxima);
+    }
+
+    /**
+     * Умножить вектор-строку на матрицу по ненулевым элементам. Добавленное число умножается на сумму вектора.
+     */
+    @Override
+    void multiplyLeft(double[] vector, double[] target)
+    {
+        double sum = 0;
+        for(double element : vector)
+        {
+            sum += element;
+        }
+        Arrays.fill(target, shift * sum);
+        for(int i=0;i<rowDimension;i++)
+        {
+            double weight = vector[i];
+            if(weight!=0)
+            {
+                for(int k=rowPointers[i];k<rowPointers[i + 1];k++)
+                {
+                    target[columnIndexes[k]] += weight * rowValues[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * Умножить матрицу на вектор-столбец по ненулевым элементам. Добавленное число умножается на сумму вектора.
+     */
+    @Override
+    void multiplyRight(double[] vector, double[] target)
+    {
+        double sum = 0;
+        for(double element : vector)
+        {
+            sum += element;
+        }
+        for(int i=0;i<rowDimension;i++)
+        {
+            double product = shift * sum;
+            for(int k=rowPointers[i];k<rowPointers[i + 1];k++)
+            {
+                product += rowValues[k] * vector[columnIndexes[k]];
+            }
+            target[i] = product;
+        }
+    }
+
+    @Override
+    long getMemorySize()
+    {
+        return (long) (rowValues.length + columnValues.length) * (Double.BYTES + Integer.BYTES)
+                + (long) (rowPointers.length + columnPointers.length) * Integer.BYTES;
+    }
+
+    @Override
+    void addConstValue(double value)
+    {
+        shift += value;
+    }
+
+    @Override
+    MatrixStorage removeRow(int rowPosition)
+    {
+        return subStorage(rangeWithout(rowDimension, rowPosition), rangeWithout(columnDimension, -1));
+    }
+
+    @Override
+    MatrixStorage removeColumn(int columnPosition)
+    {
+        return subStorage(rangeWithout(rowDimension, -1), rangeWithout(columnDimension, columnPosition));
+    }
+
+    @Override
+    MatrixStorage subStorage(int[] rowPositions, int[] columnPositions)
+    {
+        int[] newColumnPositions = new int[columnDimension];
+        Arrays.fill(newColumnPositions, -1);
+        for(int t=0;t<columnPositions.length;t++)
+        {
+            newColumnPositions[columnPositions[t]] = t;
+        }
+        int size = 0;
+        for(int i : rowPositions)
+        {
+            size += rowPointers[i + 1] - rowPointers[i];
+        }
+        int[] subRowPositions = new int[size];
+        int[] subColumnPositions = new int[size];
+        double[] subValues = new double[size];
+        size = 0;
+        for(int t=0;t<rowPositions.length;t++)
+        {
+            int i = rowPositions[t];
+            for(int k=rowPointers[i];k<rowPointers[i + 1];k++)
+            {
+                int j = newColumnPositions[columnIndexes[k]];
+                if(j>=0)
+                {
+                    subRowPositions[size] = t;
+                    subColumnPositions[size] = j;
+                    subValues[size] = rowValues[k];
+                    size++;
+                }
+            }
+        }
+        SparseMatrixStorage result = new SparseMatrixStorage(rowPositions.length, columnPositions.length,
+                Arrays.copyOf(subRowPositions, size), Arrays.copyOf(subColumnPositions, size), Arrays.copyOf(subValues, size));
+        result.shift = shift;
+        return result;
+    }
+
+    /**
+     * Получить начала строк в массивах ненулевых элементов по строкам. Строка i занимает позиции с rowPointers[i] по rowPointers[i+1].
+     * @return Массив длиной в количество строк плюс один. Не копируется.
+     */
+    int[] getRowPointers()
+    {
+        return rowPointers;
+    }
+
+    /**
+     * Получить номера столбцов ненулевых элементов по строкам.
+     * @return Номера столбцов. Не копируются.
+     */
+    int[] getColumnIndexes()
+    {
+        return columnIndexes;
+    }
+
+    /**
+     * Получить ненулевые элементы по строкам без добавленного числа.
+     * @return Элементы. Не копируются.
+     */
+    double[] getRowValues()
+    {
+        return rowValues;
+    }
+
+    /**
+     * Получить начала столбцов в массивах ненулевых элементов по столбцам.
+     * @return Массив длиной в количество столбцов плюс один. Не копируется.
+     */
+    int[] getColumnPointers()
+    {
+        return columnPointers;
+    }
+
+    /**
+     * Получить номера строк ненулевых элементов по столбцам.
+     * @return Номера строк. Не копируются.
+     */
+    int[] getRowIndexes()
+    {
+        return rowIndexes;
+    }
+
+    /**
+     * Получить ненулевые элементы по столбцам без добавленного числа.
+     * @return Элементы. Не копируются.
+     */
+    double[] getColumnValues()
+    {
+        return columnValues;
+    }
+
+    /**
+     * Получить число, добавленное ко всем элементам.
+     * @return Добавленное число.
+     */
+    double getShift()
+    {
+        return shift;
+    }
+
+    /**
+     * Получить количество хранимых ненулевых элементов.
+     * @return Количество ненулевых элементов.
+     */
+    int getNumberOfNonZeros()
+    {
+        return rowValues.length;
+    }
+
+    /**
+     * Проверить слиянием ненулевых элементов, равен ли разреженный вектор другому, умноженному на знак.
+     * Номера, которых нет в одном из векторов, соответствуют нулевым элементам.
+     * @param indexes Номера ненулевых элементов первого вектора по возрастанию.
+     * @param values Ненулевые элементы первого вектора.
+     * @param from Начало первого вектора.
+     * @param to Конец первого вектора.
+     * @param otherIndexes Номера ненулевых элементов второго вектора по возрастанию.
+     * @param otherValues Ненулевые элементы второго вектора.
+     * @param otherFrom Начало второго вектора.
+     * @param otherTo Конец второго вектора.
+     * @param sign Множитель второго вектора: 1 или -1.
+     * @param active Учитываемые номера или null, если учитываются все.
+     * @return true, если векторы равны на учитываемых номерах.
+     */
+    static boolean vectorsEqual(int[] indexes, double[] values, int from, int to,
+                                int[] otherIndexes, double[] otherValues, int otherFrom, int otherTo, double sign, BitSet active)
+    {
+        int s = from;
+        int t = otherFrom;
+        while(s<to || t<otherTo)
+        {
+            int index;
+            double a = 0;
+            double b = 0;
+            if(t>=otherTo || (s<to && indexes[s]<otherIndexes[t]))
+            {
+                index = indexes[s];
+                a = values[s++];
+            }
+            else if(s>=to || otherIndexes[t]<indexes[s])
+            {
+                index = otherIndexes[t];
+                b = otherValues[t++];
+            }
+            else
+            {
+                index = indexes[s];
+                a = values[s++];
+                b = otherValues[t++];
+            }
+            if((active==null || active.get(index)) && a!=sign * b)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Устойчиво отсортировать номера элементов подсчетом по ключу.
+     * @param order Номера элементов.
+     * @param keys Ключи элементов.
+     * @param keyRange Ключи лежат от 0 до keyRange-1.
+     * @return Отсортированные номера элементов.
+     */
+    private static int[] sortByKey(int[] order, int[] keys, int keyRange)
+    {
+        int[] start = new int[keyRange + 1];
+        for(int k : order)
+        {
+            start[keys[k] + 1]++;
+        }
+        for(int key=0;key<keyRange;key++)
+        {
+            start[key + 1] += start[key];
+        }
+        int[] result = new int[order.length];
+        for(int k : order)
+        {
+            result[start[keys[k]]++] = k;
+        }
+        return result;
+    }
+
+    /**
+     * Найти первую позицию части упорядоченного массива, элемент в которой не меньше указанного значения.
+     * @param array Упорядоченный массив.
+     * @param from Начало части, включительно.
+     * @param to Конец части, не включительно.
+     * @param value Значение.
+     * @return Найденная позиция или to.
+     */
+    private static int lowerBound(int[] array, int from, int to, int value)
+    {
+        int k = Arrays.binarySearch(array, from, to, value);
+        return k>=0 ? k : -k - 1;
+    }
+
+    /**
+     * Количество строк.
+     */
+    private final int rowDimension;
+
+    /**
+     * Количество столбцов.
+     */
+    private final int columnDimension;
+
+    /**
+     * Начала строк в массивах columnIndexes и rowValues.
+     */
+    private final int[] rowPointers;
+
+    /**
+     * Номера столбцов ненулевых элементов, упорядоченные по строкам, внутри строки - по возрастанию.
+     */
+    private final int[] columnIndexes;
+
+    /**
+     * Ненулевые элементы, упорядоченные по строкам.
+     */
+    private final double[] rowValues;
+
+    /**
+     * Начала столбцов в массивах rowIndexes и columnValues.
+     */
+    private final int[] columnPointers;
+
+    /**
+     * Номера строк ненулевых элементов, упорядоченные по столбцам, внутри столбца - по возрастанию.
+     */
+    private final int[] rowIndexes;
+
+    /**
+     * Ненулевые элементы, упорядоченные по столбцам.
+     */
+    private final double[] columnValues;
+
+    /**
+     * Число, добавленное ко всем элементам, включая неявные нули.
+     */
+    private double shift;
+}
@@ -0,0 +1,106 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+/**
+ * Дерево турнира над массивом: номер первого минимального или максимального элемента
+ * после изменения одного элемента находится за логарифмическое время.
+ * Используется итерацией по разреженной матрице, где за шаг меняются только элементы на местах ненулевых элементов.
+ */
+final class TournamentTree {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Конструктор дерева. Массив не копируется: после изменения его элемента нужно вызвать {@link #update(int)}.
+     * @param values Массив.
+     * @param maximum true - искать максимум, false - минимум.
+     */
+    TournamentTree(double[] values, boolean maximum) {
+        this.values = values;
+        this.maximum = maximum;
+        int leaves = 1;
+        while(leaves<values.length)
+        {
+            leaves <<= 1;
+        }
+        this.leaves = leaves;
+        this.winners = new int[2 * leaves];
+        rebuild();
+    }
+
+    /**
+     * Пересчитать дерево целиком после изменения многих элементов.
+     */
+    void rebuild() {
+        for(int k=0;k<leaves;k++)
+        {
+            winners[leaves + k] = k<values.length ? k : -1;
+        }
+        for(int node=leaves-1;node>0;node--)
+        {
+            winners[node] = play(winners[2 * node], winners[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Пересчитать дерево после изменения одного элемента.
+     * @param position Номер измененного элемента.
+     */
+    void update(int position) {
+        for(int node=(leaves + position)>>1;node>0;node>>=1)
+        {
+            winners[node] = play(winners[2 * node], winners[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Получить номер первого минимального или максимального элемента.
+     * @return Номер элемента.
+     */
+    int getWinner() {
+        return winners[1];
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Выбрать лучший из двух элементов. Левый элемент имеет меньший номер и побеждает при равенстве.
+     * @param left Номер левого элемента или -1.
+     * @param right Номер правого элемента или -1.
+     * @return Номер лучшего элемента.
+     */
+    private int play(int left, int right) {
+        if(right<0)
+        {
+            return left;
+        }
+        if(maximum)
+        {
+            return values[right]>values[left] ? right : left;
+        }
+        return values[right]<values[left] ? right : left;
+    }
+
+    /**
+     * Массив.
+     */
+    private final double[] values;
+
+    /**
+     * Искать ли максимум.
+     */
+    private final boolean maximum;
+
+    /**
+     * Количество листьев: наименьшая степень двойки, не меньшая длины массива.
+     */
+    private final int leaves;
+
+    /**
+     * Номера победителей: узел k - победитель узлов 2k и 2k+1, листья начинаются с номера leaves.
+     */
+    private final int[] winners;
+}
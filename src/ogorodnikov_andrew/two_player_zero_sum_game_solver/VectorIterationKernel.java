@@ -0,0 +1,184 @@
+package ogorodnikov_andrew.two_player_zero_sum_game_solver;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Векторное ядро итерации на основе jdk.incubator.vector.
+ * Для компиляции и запуска нужен параметр --add-modules jdk.incubator.vector;
+ * без него {@link IterationKernel#vector()} возвращает последовательное ядро.
+ * Строка прибавляется к выигрышам векторно вместе с поиском минимума. Строки матрицы хранятся непрерывно,
+ * а столбец читается с шагом в длину строки, поэтому он прибавляется поэлементно, и векторно ищется только максимум.
+ * В двойной раскладке (см. {@link Matrix#dualLayout(Matrix)}) столбцы тоже хранятся непрерывно и прибавляются векторно.
+ * Если элементы хранятся не в куче (см. {@link MatrixFile}), строка тоже прибавляется через матрицу, и векторно ищется только минимум.
+ * Номер экстремума ищется вторым проходом как первый элемент, равный найденному значению,
+ * поэтому результат совпадает с последовательным ядром.
+ */
+final class VectorIterationKernel implements IterationKernel {
+
+    /*
+    * PACKAGE PRIVATE
+    * */
+
+    /**
+     * Единственный экземпляр ядра.
+     */
+    static final VectorIterationKernel INSTANCE = new VectorIterationKernel();
+
+    @Override
+    public int addRowAndFindMin(Matrix payoffMatrix, int rowPosition, double[] gains) {
+        double[] elements = payoffMatrix.getElements();
+        if(elements==null)
+        {
+            payoffMatrix.addRowTo(rowPosition, gains);
+            return findMin(gains);
+        }
+        return addAndFindMin(elements, rowPosition * payoffMatrix.getColumnDimension(), gains);
+    }
+
+    @Override
+    public int addColumnAndFindMax(Matrix payoffMatrix, int columnPosition, double[] losses) {
+        double[] columnMajorElements = payoffMatrix.getColumnMajorElements();
+        if(columnMajorElements==null)
+        {
+            payoffMatrix.addColumnTo(columnPosition, losses);
+            return findMax(losses);
+        }
+        return addAndFindMax(columnMajorElements, columnPosition * payoffMatrix.getRowDimension(), losses);
+    }
+
+    /*
+    * PRIVATE
+    * */
+
+    /**
+     * Прибавить к массиву непрерывный участок элементов векторно вместе с поиском минимума.
+     * @param elements Элементы матрицы.
+     * @param offset Начало участка.
+     * @param array Массив.
+     * @return Номер первого минимального элемента.
+     */
+    private static int addAndFindMin(double[] elements, int offset, double[] array) {
+        int length = array.length;
+        DoubleVector minVector = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        int upperBound = SPECIES.loopBound(length);
+        int j = 0;
+        for(;j<upperBound;j+=SPECIES.length())
+        {
+            DoubleVector sum = DoubleVector.fromArray(SPECIES, array, j).add(DoubleVector.fromArray(SPECIES, elements, offset + j));
+            sum.intoArray(array, j);
+            minVector = minVector.min(sum);
+        }
+        double min = minVector.reduceLanes(VectorOperators.MIN);
+        for(;j<length;j++)
+        {
+            array[j] += elements[offset + j];
+            min = Math.min(min, array[j]);
+        }
+        int index = findFirst(array, min);
+        return index>=0 ? index : ScalarIterationKernel.findMin(array, 0, length);
+    }
+
+    /**
+     * Прибавить к массиву непрерывный участок элементов векторно вместе с поиском максимума.
+     * @param elements Элементы матрицы.
+     * @param offset Начало участка.
+     * @param array Массив.
+     * @return Номер первого максимального элемента.
+     */
+    private static int addAndFindMax(double[] elements, int offset, double[] array) {
+        int length = array.length;
+        DoubleVector maxVector = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+        int upperBound = SPECIES.loopBound(length);
+        int i = 0;
+        for(;i<upperBound;i+=SPECIES.length())
+        {
+            DoubleVector sum = DoubleVector.fromArray(SPECIES, array, i).add(DoubleVector.fromArray(SPECIES, elements, offset + i));
+            sum.intoArray(array, i);
+            maxVector = maxVector.max(sum);
+        }
+        double max = maxVector.reduceLanes(VectorOperators.MAX);
+        for(;i<length;i++)
+        {
+            array[i] += elements[offset + i];
+            max = Math.max(max, array[i]);
+        }
+        int index = findFirst(array, max);
+        return index>=0 ? index : ScalarIterationKernel.findMax(array, 0, length);
+    }
+
+    /**
+     * Найти номер первого минимального элемента массива векторным поиском минимума.
+     * @param array Массив.
+     * @return Номер первого минимального элемента.
+     */
+    private static int findMin(double[] array) {
+        int length = array.length;
+        DoubleVector minVector = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        int upperBound = SPECIES.loopBound(length);
+        int j = 0;
+        for(;j<upperBound;j+=SPECIES.length())
+        {
+            minVector = minVector.min(DoubleVector.fromArray(SPECIES, array, j));
+        }
+        double min = minVector.reduceLanes(VectorOperators.MIN);
+        for(;j<length;j++)
+        {
+            min = Math.min(min, array[j]);
+        }
+        int index = findFirst(array, min);
+        return index>=0 ? index : ScalarIterationKernel.findMin(array, 0, length);
+    }
+
+    /**
+     * Найти номер первого максимального элемента массива векторным поиском максимума.
+     * @param array Массив.
+     * @return Номер первого максимального элемента.
+     */
+    private static int findMax(double[] array) {
+        int length = array.length;
+        DoubleVector maxVector = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+        int upperBound = SPECIES.loopBound(length);
+        int i = 0;
+        for(;i<upperBound;i+=SPECIES.length())
+        {
+            maxVector = maxVector.max(DoubleVector.fromArray(SPECIES, array, i));
+        }
+        double max = maxVector.reduceLanes(VectorOperators.MAX);
+        for(;i<length;i++)
+        {
+            max = Math.max(max, array[i]);
+        }
+        int index = findFirst(array, max);
+        return index>=0 ? index : ScalarIterationKernel.findMax(array, 0, length);
+    }
+
+    /**
+     * Найти номер первого элемента массива, равного указанному значению.
+     * @param array Массив.
+     * @param value Значение.
+     * @return Номер первого равного элемента или -1, если такого нет (в массиве есть NaN).
+     */
+    private static int findFirst(double[] array, double value) {
+        for(int k=0;k<array.length;k++)
+        {
+            if(array[k]==value)
+            {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Закрытый конструктор.
+     */
+    private VectorIterationKernel() {
+    }
+
+    /**
+     * Предпочтительная для процессора длина вектора.
+     */
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+}